@@ -22,24 +22,40 @@ package org.zaproxy.zap.extension.api;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.parosproxy.paros.common.AbstractParam;
 
 public class ApiGenerator {
 
-    private static final String CONF_FILE = "apigen.properties";
+    private static final Logger LOGGER = LogManager.getLogger(ApiGenerator.class);
 
-    private static Path baseDir;
+    private static final String CONF_FILE = "apigen.properties";
 
     private enum Generator {
         ALL(null, null),
@@ -63,20 +79,23 @@ public class ApiGenerator {
             this.outputDir = outputDir;
         }
 
-        List<ApiGeneratorWrapper> createApiGenerators() {
+        List<ApiGeneratorWrapper> createApiGenerators(
+                Path baseDir, Path stateDir, BiPredicate<Path, Path> sameContents) {
             if (this == ALL) {
                 EnumSet<Generator> generators = EnumSet.allOf(Generator.class);
                 generators.remove(ALL);
                 return generators.stream()
-                        .map(Generator::createWrapper)
+                        .map(e -> e.createWrapper(baseDir, stateDir, sameContents))
                         .collect(Collectors.toList());
             }
 
-            return Collections.singletonList(createWrapper());
+            return Collections.singletonList(createWrapper(baseDir, stateDir, sameContents));
         }
 
-        private ApiGeneratorWrapper createWrapper() {
-            return new ApiGeneratorWrapper(clazz, baseDir.resolve(outputDir));
+        private ApiGeneratorWrapper createWrapper(
+                Path baseDir, Path stateDir, BiPredicate<Path, Path> sameContents) {
+            return new ApiGeneratorWrapper(
+                    clazz, baseDir.resolve(outputDir), stateDir, sameContents);
         }
 
         static Generator from(String value) {
@@ -87,7 +106,6 @@ public class ApiGenerator {
         }
     }
 
-    @SuppressWarnings("unchecked")
     public static void main(String[] args) throws Exception {
         Path confFile = Paths.get(CONF_FILE);
         if (Files.notExists(confFile)) {
@@ -100,9 +118,82 @@ public class ApiGenerator {
             conf.load(in);
         }
 
-        baseDir = getBaseDir(conf);
+        String stateDir = conf.getProperty("statedir");
+        generate(
+                getBaseDir(conf.getProperty("basedir")),
+                stateDir != null && !stateDir.isEmpty() ? Paths.get(stateDir) : null,
+                conf.getProperty("api"),
+                conf.getProperty("options"),
+                conf.getProperty("language"));
+    }
+
+    /**
+     * Generates the API client files of the given API.
+     *
+     * <p>Allows to generate the files without the configuration file, for example, when called
+     * from an already running JVM.
+     *
+     * <p>Only the files that changed are written. The state directory keeps the files generated,
+     * per generator, to remove the ones no longer generated in later runs.
+     *
+     * @param baseDir the base directory, where the client repositories are located.
+     * @param stateDir the directory to keep the state of the generators, might be {@code null}.
+     * @param classNameApi the class name of the {@code ApiImplementor}.
+     * @param classNameOptions the class name of the options, might be {@code null} or empty.
+     * @param language the language, {@code null} or empty for all languages.
+     * @throws Exception if an error occurred while creating the API or generating the files.
+     */
+    public static void generate(
+            Path baseDir,
+            Path stateDir,
+            String classNameApi,
+            String classNameOptions,
+            String language)
+            throws Exception {
+        generate(
+                baseDir,
+                stateDir,
+                classNameApi,
+                classNameOptions,
+                language,
+                ApiGenerator::hasSameContents);
+    }
+
+    /**
+     * Generates the API client files of the given API, comparing the files with the given
+     * predicate.
+     *
+     * <p>Allows the caller to share its own comparison of the files, for example, the plugin.
+     *
+     * @param baseDir the base directory, where the client repositories are located.
+     * @param stateDir the directory to keep the state of the generators, might be {@code null}.
+     * @param classNameApi the class name of the {@code ApiImplementor}.
+     * @param classNameOptions the class name of the options, might be {@code null} or empty.
+     * @param language the language, {@code null} or empty for all languages.
+     * @param sameContents tells whether or not the generated file (first argument) has the same
+     *     contents as the file in the base directory (second argument).
+     * @throws Exception if an error occurred while creating the API or generating the files.
+     */
+    public static void generate(
+            Path baseDir,
+            Path stateDir,
+            String classNameApi,
+            String classNameOptions,
+            String language,
+            BiPredicate<Path, Path> sameContents)
+            throws Exception {
+        if (!Files.isDirectory(baseDir)) {
+            throw new IllegalArgumentException(
+                    "The base directory is not a directory or does not exist: " + baseDir);
+        }
+        generate(
+                Generator.from(language).createApiGenerators(baseDir, stateDir, sameContents),
+                createApi(classNameApi, classNameOptions));
+    }
 
-        String classNameApi = conf.getProperty("api");
+    @SuppressWarnings("unchecked")
+    private static ApiImplementor createApi(String classNameApi, String classNameOptions)
+            throws Exception {
         if (classNameApi == null || classNameApi.isEmpty()) {
             throw new IllegalArgumentException("The property api is null or empty.");
         }
@@ -111,18 +202,15 @@ public class ApiGenerator {
                 (Class<ApiImplementor>) Class.forName(classNameApi);
         ApiImplementor api = classApiImplementor.getDeclaredConstructor().newInstance();
 
-        String classNameOptions = conf.getProperty("options");
         if (classNameOptions != null && !classNameOptions.isEmpty()) {
             Class<AbstractParam> classAbstractParam =
                     (Class<AbstractParam>) Class.forName(classNameOptions);
             api.addApiOptions(classAbstractParam.getDeclaredConstructor().newInstance());
         }
-
-        generate(Generator.from(conf.getProperty("language")).createApiGenerators(), api);
+        return api;
     }
 
-    private static Path getBaseDir(Properties conf) {
-        String path = conf.getProperty("basedir");
+    private static Path getBaseDir(String path) {
         if (path == null || path.isEmpty()) {
             throw new IllegalArgumentException("The property basedir is null or empty.");
         }
@@ -135,6 +223,37 @@ public class ApiGenerator {
         return dir;
     }
 
+    /**
+     * Tells whether or not the target has the same contents as the source, used when not provided
+     * by the caller, as the {@code apigen.jar} can also run standalone.
+     */
+    private static boolean hasSameContents(Path source, Path target) {
+        try {
+            if (!Files.isRegularFile(target)) {
+                return false;
+            }
+            if (Files.isSameFile(source, target)) {
+                return true;
+            }
+            if (Files.size(source) != Files.size(target)) {
+                return false;
+            }
+            return MessageDigest.isEqual(hash(source), hash(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        return digest.digest(Files.readAllBytes(file));
+    }
+
     private static void generate(List<ApiGeneratorWrapper> generators, ApiImplementor api) {
         ResourceBundle bundle =
                 ResourceBundle.getBundle(
@@ -144,42 +263,187 @@ public class ApiGenerator {
                         ResourceBundle.Control.getControl(
                                 ResourceBundle.Control.FORMAT_PROPERTIES));
 
-        generators.forEach(generator -> generator.generate(api, bundle));
+        if (generators.size() == 1) {
+            generators.get(0).generate(api, bundle);
+            return;
+        }
+
+        int threads = Math.min(generators.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>(generators.size());
+            for (ApiGeneratorWrapper generator : generators) {
+                results.add(executor.submit(() -> generator.generate(api, bundle)));
+            }
+            waitForResults(generators, results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for all the generators to finish, in the order of the generators, so that the reported
+     * error is always the one of the first failed generator with the others suppressed.
+     */
+    private static void waitForResults(
+            List<ApiGeneratorWrapper> generators, List<Future<?>> results) {
+        RuntimeException error = null;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while generating the API files.", e);
+            } catch (ExecutionException e) {
+                RuntimeException failure =
+                        new RuntimeException(
+                                "Failed to generate the API files with "
+                                        + generators.get(i).getName()
+                                        + ": "
+                                        + e.getCause(),
+                                e.getCause());
+                if (error == null) {
+                    error = failure;
+                } else {
+                    error.addSuppressed(failure);
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
     }
 
     private static class ApiGeneratorWrapper {
 
         private final Class<? extends AbstractAPIGenerator> clazz;
-        private final String outputDir;
+        private final Path outputDir;
+        private final Path stateFile;
+        private final BiPredicate<Path, Path> sameContents;
 
-        public ApiGeneratorWrapper(Class<? extends AbstractAPIGenerator> clazz, Path outputDir) {
+        public ApiGeneratorWrapper(
+                Class<? extends AbstractAPIGenerator> clazz,
+                Path outputDir,
+                Path stateDir,
+                BiPredicate<Path, Path> sameContents) {
             this.clazz = clazz;
-            this.outputDir = outputDir.toAbsolutePath().toString();
+            this.outputDir = outputDir.toAbsolutePath();
+            this.stateFile = stateDir != null ? stateDir.resolve(getName() + ".txt") : null;
+            this.sameContents = sameContents;
         }
 
+        public String getName() {
+            return clazz.getSimpleName();
+        }
+
+        /**
+         * Generates the files into a temporary directory and then writes to the output directory
+         * only the files that changed, to not touch the ones that are the same.
+         *
+         * <p>The files generated previously, and no longer generated, are removed if there's a
+         * state file. Other files of the output directory are kept, they belong to other APIs.
+         */
         public void generate(ApiImplementor api, ResourceBundle bundle) {
+            Path tempDir = null;
+            try {
+                tempDir = Files.createTempDirectory("zap-apigen");
+                generate(api, bundle, tempDir);
+                sync(tempDir);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                deleteDir(tempDir);
+            }
+        }
+
+        private void generate(ApiImplementor api, ResourceBundle bundle, Path dir)
+                throws IOException {
             AbstractAPIGenerator generator;
             try {
-                generator = createInstance(bundle);
+                generator = createInstance(bundle, dir.toString());
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
 
+            generator.generateAPIFiles(Arrays.asList(api));
+        }
+
+        private void sync(Path generatedDir) throws IOException {
+            List<String> generatedFiles;
+            try (Stream<Path> stream = Files.walk(generatedDir)) {
+                generatedFiles =
+                        stream.filter(Files::isRegularFile)
+                                .map(file -> generatedDir.relativize(file).toString())
+                                .sorted()
+                                .collect(Collectors.toList());
+            }
+
+            int written = 0;
+            int unchanged = 0;
+            for (String file : generatedFiles) {
+                Path source = generatedDir.resolve(file);
+                Path target = outputDir.resolve(file);
+                if (sameContents.test(source, target)) {
+                    unchanged++;
+                    continue;
+                }
+                Files.createDirectories(target.getParent());
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                written++;
+            }
+
+            int removed = 0;
+            if (stateFile != null) {
+                if (Files.isRegularFile(stateFile)) {
+                    Set<String> currentFiles = new HashSet<>(generatedFiles);
+                    for (String file : Files.readAllLines(stateFile, StandardCharsets.UTF_8)) {
+                        if (!file.isEmpty()
+                                && !currentFiles.contains(file)
+                                && Files.deleteIfExists(outputDir.resolve(file))) {
+                            removed++;
+                        }
+                    }
+                }
+                Files.createDirectories(stateFile.getParent());
+                Files.write(stateFile, generatedFiles, StandardCharsets.UTF_8);
+            }
+
+            LOGGER.info(
+                    "{}: {} written, {} unchanged, {} removed.",
+                    getName(),
+                    written,
+                    unchanged,
+                    removed);
+        }
+
+        private static void deleteDir(Path dir) {
+            if (dir == null) {
+                return;
+            }
+            try (Stream<Path> stream = Files.walk(dir)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(ApiGeneratorWrapper::delete);
+            } catch (IOException e) {
+                // Ignore, it's a temporary directory.
+            }
+        }
+
+        private static void delete(Path path) {
             try {
-                generator.generateAPIFiles(Arrays.asList(api));
+                Files.deleteIfExists(path);
             } catch (IOException e) {
-                throw new UncheckedIOException(e);
+                // Ignore, it's a temporary file.
             }
         }
 
-        private AbstractAPIGenerator createInstance(ResourceBundle bundle) throws Exception {
+        private AbstractAPIGenerator createInstance(ResourceBundle bundle, String dir)
+                throws Exception {
             try {
                 return clazz.getDeclaredConstructor(
                                 String.class, boolean.class, ResourceBundle.class)
-                        .newInstance(outputDir, true, bundle);
+                        .newInstance(dir, true, bundle);
             } catch (NoSuchMethodException e) {
                 return clazz.getDeclaredConstructor(String.class, boolean.class)
-                        .newInstance(outputDir, true);
+                        .newInstance(dir, true);
             }
         }
     }
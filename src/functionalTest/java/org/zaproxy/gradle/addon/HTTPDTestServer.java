@@ -23,11 +23,12 @@ import fi.iki.elonen.NanoHTTPD;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class HTTPDTestServer extends NanoHTTPD {
 
     private List<NanoServerHandler> handlers = new ArrayList<>();
-    private List<Request> requests = new ArrayList<>();
+    private List<Request> requests = new CopyOnWriteArrayList<>();
 
     private NanoServerHandler handler404 =
             new NanoServerHandler("") {
@@ -0,0 +1,170 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.apigen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class GenerateApiClientFilesFunctionalTest extends FunctionalTest {
+
+    private static final String GENERATE_TASK = ":generateZapApiClientFiles";
+    private static final String GENERATE_PYTHON_TASK = ":generatePythonZapApiClientFiles";
+    private static final String PYTHON_DIR = "clients/zap-api-python/src/zapv2";
+    private static final String GO_DIR = "clients/zap-api-go/zap";
+    private static final String JAVA_DIR =
+            "clients/zap-api-java/subprojects/zap-clientapi/src/main/java/org/zaproxy/clientapi/gen";
+
+    @BeforeEach
+    void setup() throws Exception {
+        buildFile(
+                """
+                plugins {
+                    java
+                    id("org.zaproxy.add-on")
+                }
+                repositories {
+                    mavenCentral()
+                }
+                zapAddOn {
+                    addOnId.set("test")
+                    addOnName.set("Test Add-On")
+                    zapVersion.set("2.16.0")
+                    apiClientGen {
+                        api.set("org.zaproxy.addon.test.TestApi")
+                        baseDir.set(file("clients"))
+                    }
+                }
+                """);
+        createApi("test");
+        createFile(
+                "test.api.desc = Test API.\ntest.api.view.status = The status.\n",
+                projectDir.resolve(
+                        "src/main/resources/org/zaproxy/addon/test/resources/Messages.properties"));
+        Files.createDirectories(projectDir.resolve("clients"));
+    }
+
+    @Test
+    void shouldGenerateFilesInWorkerWithCachedApiGenJar() throws Exception {
+        // When
+        BuildResult result = build(GENERATE_PYTHON_TASK);
+
+        // Then
+        assertTaskSuccess(result, GENERATE_PYTHON_TASK);
+        assertThat(projectDir.resolve(PYTHON_DIR).resolve("test.py")).exists();
+        Path taskTemporaryDir = projectDir.resolve("build/tmp/generatePythonZapApiClientFiles");
+        assertThat(taskTemporaryDir.resolve("apigen.jar")).doesNotExist();
+        assertThat(taskTemporaryDir.resolve("apigen.properties")).doesNotExist();
+        assertThat(projectDir.resolve("build/zapAddOn/apigen/generatePythonZapApiClientFiles"))
+                .isDirectory();
+    }
+
+    @Test
+    void shouldBeUpToDateIfApiNotChanged() throws Exception {
+        // Given
+        build(GENERATE_PYTHON_TASK);
+
+        // When
+        BuildResult result = build(GENERATE_PYTHON_TASK);
+
+        // Then
+        assertTaskUpToDate(result, GENERATE_PYTHON_TASK);
+    }
+
+    @Test
+    void shouldWriteOnlyChangedFilesAndRemoveFilesNoLongerGenerated() throws Exception {
+        // Given
+        createFile("# Other API.\n", projectDir.resolve(PYTHON_DIR).resolve("other.py"));
+        build(GENERATE_PYTHON_TASK);
+        Path generatedFile = projectDir.resolve(PYTHON_DIR).resolve("test.py");
+        FileTime lastModified = FileTime.fromMillis(1_000_000_000L);
+        Files.setLastModifiedTime(generatedFile, lastModified);
+
+        // When
+        BuildResult result = build(GENERATE_PYTHON_TASK, "--rerun");
+
+        // Then
+        assertTaskSuccess(result, GENERATE_PYTHON_TASK);
+        assertThat(Files.getLastModifiedTime(generatedFile)).isEqualTo(lastModified);
+
+        // Given
+        createApi("renamed");
+        createFile(
+                "renamed.api.desc = Renamed API.\n",
+                projectDir.resolve(
+                        "src/main/resources/org/zaproxy/addon/test/resources/Messages.properties"));
+
+        // When
+        result = build(GENERATE_PYTHON_TASK);
+
+        // Then
+        assertTaskSuccess(result, GENERATE_PYTHON_TASK);
+        assertThat(projectDir.resolve(PYTHON_DIR).resolve("renamed.py")).exists();
+        assertThat(generatedFile).doesNotExist();
+        assertThat(projectDir.resolve(PYTHON_DIR).resolve("other.py")).exists();
+    }
+
+    @Test
+    void shouldReportAllLanguagesThatFailedToGenerate() throws Exception {
+        // Given
+        createFile("Not a directory.", projectDir.resolve(PYTHON_DIR));
+        createFile("Not a directory.", projectDir.resolve(GO_DIR));
+
+        // When
+        BuildResult result = buildAndFail(GENERATE_TASK);
+
+        // Then
+        assertTaskFailed(result, GENERATE_TASK);
+        assertThat(result.getOutput())
+                .contains("Failed to generate the Go API client files")
+                .contains("Failed to generate the Python API client files");
+        assertThat(projectDir.resolve(JAVA_DIR)).isDirectory();
+    }
+
+    private void createApi(String prefix) throws Exception {
+        createFile(
+                """
+                package org.zaproxy.addon.test;
+
+                import org.zaproxy.zap.extension.api.ApiImplementor;
+                import org.zaproxy.zap.extension.api.ApiView;
+
+                public class TestApi extends ApiImplementor {
+
+                    public TestApi() {
+                        addApiView(new ApiView("status"));
+                    }
+
+                    @Override
+                    public String getPrefix() {
+                        return "%s";
+                    }
+                }
+                """
+                        .formatted(prefix),
+                projectDir.resolve("src/main/java/org/zaproxy/addon/test/TestApi.java"));
+    }
+}
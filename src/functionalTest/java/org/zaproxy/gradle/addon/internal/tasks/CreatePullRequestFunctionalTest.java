@@ -0,0 +1,307 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Method;
+import fi.iki.elonen.NanoHTTPD.Response;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.ConfigConstants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.URIish;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zaproxy.gradle.addon.FunctionalTest;
+import org.zaproxy.gradle.addon.HTTPDTestServer;
+import org.zaproxy.gradle.addon.NanoServerHandler;
+
+class CreatePullRequestFunctionalTest extends FunctionalTest {
+
+    private static final String CREATE_PULL_REQUEST_TASK = ":createPullRequest";
+    private static final String REPO_URI = "/repos/owner/repo";
+    private static final String BRANCH = "release";
+    private static final String BRANCH_REF = "refs/heads/" + BRANCH;
+    private static final PersonIdent AUTHOR = new PersonIdent("Author", "author@example.com");
+
+    @TempDir private Path remoteDir;
+    @TempDir private Path cloneDir;
+
+    private HTTPDTestServer gitHubServer;
+    private String apiUrl;
+    private Git git;
+    private RevCommit initialCommit;
+
+    @BeforeEach
+    void setup() throws Exception {
+        gitHubServer = new HTTPDTestServer(0);
+        gitHubServer.start();
+        apiUrl = "http://localhost:" + gitHubServer.getListeningPort();
+
+        buildFile(
+                """
+                import org.zaproxy.gradle.addon.internal.model.GitHubRepo
+                import org.zaproxy.gradle.addon.internal.model.GitHubUser
+                import org.zaproxy.gradle.addon.internal.tasks.CreatePullRequest
+                plugins {
+                    id("org.zaproxy.add-on") apply false
+                }
+                tasks.register<CreatePullRequest>("createPullRequest") {
+                    apiUrl.set("%s")
+                    remoteUrl.set("%s")
+                    user.set(GitHubUser("user", "user@example.com", "token"))
+                    repo.set(GitHubRepo("owner/repo", rootDir))
+                    branchName.set("%s")
+                    commitSummary.set("Release version 1.0.0")
+                    commitDescription.set("Update changelog.")
+                    files.from("CHANGELOG.md")
+                }
+                """
+                        .formatted(apiUrl, remoteDir.toUri(), BRANCH));
+        createFile("build/\n.gradle/\n", projectDir.resolve(".gitignore"));
+        createFile("## Unreleased\n", projectDir.resolve("CHANGELOG.md"));
+        createFile("Readme.\n", projectDir.resolve("README.md"));
+
+        Git.init().setBare(true).setDirectory(remoteDir.toFile()).call().close();
+        git = Git.init().setDirectory(projectDir.toFile()).setInitialBranch("main").call();
+        git.add().addFilepattern(".").call();
+        initialCommit =
+                git.commit()
+                        .setMessage("Initial commit.")
+                        .setAuthor(AUTHOR)
+                        .setCommitter(AUTHOR)
+                        .setSign(false)
+                        .call();
+        git.remoteAdd().setName("origin").setUri(new URIish(remoteDir.toUri().toURL())).call();
+        git.push().setRemote("origin").add("main").call();
+        git.fetch().setRemote("origin").call();
+
+        gitHubServer.addHandler(
+                new NanoServerHandler(REPO_URI + "/pulls") {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        String json = Method.POST.equals(session.getMethod()) ? pullJson() : "[]";
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.OK, "application/json", json);
+                    }
+                });
+        gitHubServer.addHandler(
+                new NanoServerHandler(REPO_URI) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.OK, "application/json", repoJson());
+                    }
+                });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        git.close();
+        gitHubServer.stop();
+    }
+
+    @Test
+    void shouldPushJustTheFilesOnTopOfBaseBranchAndCreatePullRequest() throws Exception {
+        // Given
+        createFile("## 1.0.0\n", projectDir.resolve("CHANGELOG.md"));
+        createFile("Other change.\n", projectDir.resolve("README.md"));
+
+        // When
+        BuildResult result = build(CREATE_PULL_REQUEST_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_PULL_REQUEST_TASK);
+        try (Git remote = Git.open(remoteDir.toFile())) {
+            Repository repository = remote.getRepository();
+            try (RevWalk walk = new RevWalk(repository)) {
+                RevCommit commit = walk.parseCommit(repository.resolve(BRANCH_REF));
+                assertThat(commit.getParents()).containsExactly(initialCommit);
+                assertThat(commit.getFullMessage())
+                        .startsWith("Release version 1.0.0\n\nUpdate changelog.");
+                assertThat(fileContents(repository, commit, "CHANGELOG.md"))
+                        .isEqualTo("## 1.0.0\n");
+                assertThat(fileContents(repository, commit, "README.md")).isEqualTo("Readme.\n");
+            }
+        }
+        assertThat(git.getRepository().getBranch()).isEqualTo("main");
+        assertThat(gitHubServer.getRequests())
+                .anySatisfy(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(REPO_URI + "/pulls");
+                            assertThat(request.method()).isEqualTo("POST");
+                            assertThat(request.body()).contains("\"head\":\"user:" + BRANCH + "\"");
+                        });
+    }
+
+    @Test
+    void shouldNotPushIfRemoteBranchAlreadyUpToDate() throws Exception {
+        // Given
+        createFile("## 1.0.0\n", projectDir.resolve("CHANGELOG.md"));
+        build(CREATE_PULL_REQUEST_TASK);
+        ObjectId remoteCommit = remoteBranchCommit();
+
+        // When
+        BuildResult result = build(CREATE_PULL_REQUEST_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_PULL_REQUEST_TASK);
+        assertThat(result.getOutput()).contains("Branch " + BRANCH + " already up to date.");
+        assertThat(remoteBranchCommit()).isEqualTo(remoteCommit);
+    }
+
+    @Test
+    void shouldNotPushIfRemoteBranchPushedElsewhereAlreadyUpToDate() throws Exception {
+        // Given
+        try (Git clone =
+                Git.cloneRepository()
+                        .setURI(remoteDir.toUri().toString())
+                        .setDirectory(cloneDir.toFile())
+                        .call()) {
+            createFile("## 1.0.0\n", cloneDir.resolve("CHANGELOG.md"));
+            clone.commit()
+                    .setAll(true)
+                    .setMessage("Release version 1.0.0")
+                    .setAuthor(AUTHOR)
+                    .setCommitter(AUTHOR)
+                    .setSign(false)
+                    .call();
+            clone.push().setRemote("origin").add("main:" + BRANCH).call();
+        }
+        ObjectId remoteCommit = remoteBranchCommit();
+        createFile("## 1.0.0\n", projectDir.resolve("CHANGELOG.md"));
+
+        // When
+        BuildResult result = build(CREATE_PULL_REQUEST_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_PULL_REQUEST_TASK);
+        assertThat(result.getOutput()).contains("Branch " + BRANCH + " already up to date.");
+        assertThat(remoteBranchCommit()).isEqualTo(remoteCommit);
+        assertThat(git.getRepository().findRef("refs/zap/pull-request-branch")).isNull();
+    }
+
+    @Test
+    void shouldCommitFilesAsGitWouldAddThem() throws Exception {
+        // Given
+        StoredConfig config = git.getRepository().getConfig();
+        config.setString(
+                ConfigConstants.CONFIG_CORE_SECTION,
+                null,
+                ConfigConstants.CONFIG_KEY_AUTOCRLF,
+                "true");
+        config.save();
+        createFile("## 1.0.0\r\n", projectDir.resolve("CHANGELOG.md"));
+
+        // When
+        BuildResult result = build(CREATE_PULL_REQUEST_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_PULL_REQUEST_TASK);
+        try (Git remote = Git.open(remoteDir.toFile())) {
+            Repository repository = remote.getRepository();
+            try (RevWalk walk = new RevWalk(repository)) {
+                RevCommit commit = walk.parseCommit(repository.resolve(BRANCH_REF));
+                assertThat(fileContents(repository, commit, "CHANGELOG.md"))
+                        .isEqualTo("## 1.0.0\n");
+            }
+        }
+    }
+
+    @Test
+    void shouldReplaceRemoteBranchWithDifferentContents() throws Exception {
+        // Given
+        createFile("## 0.9.0\n", projectDir.resolve("CHANGELOG.md"));
+        build(CREATE_PULL_REQUEST_TASK);
+        ObjectId previousCommit = remoteBranchCommit();
+        createFile("## 1.0.0\n", projectDir.resolve("CHANGELOG.md"));
+
+        // When
+        BuildResult result = build(CREATE_PULL_REQUEST_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_PULL_REQUEST_TASK);
+        try (Git remote = Git.open(remoteDir.toFile())) {
+            Repository repository = remote.getRepository();
+            try (RevWalk walk = new RevWalk(repository)) {
+                RevCommit commit = walk.parseCommit(repository.resolve(BRANCH_REF));
+                assertThat(commit.getId()).isNotEqualTo(previousCommit);
+                assertThat(commit.getParents()).containsExactly(initialCommit);
+                assertThat(fileContents(repository, commit, "CHANGELOG.md"))
+                        .isEqualTo("## 1.0.0\n");
+            }
+        }
+    }
+
+    @Test
+    void shouldDoNothingIfFilesNotChanged() throws Exception {
+        // Given
+        createFile("Other change.\n", projectDir.resolve("README.md"));
+
+        // When
+        BuildResult result = build(CREATE_PULL_REQUEST_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_PULL_REQUEST_TASK);
+        assertThat(remoteBranchCommit()).isNull();
+        assertThat(gitHubServer.getRequests()).isEmpty();
+    }
+
+    private ObjectId remoteBranchCommit() throws Exception {
+        try (Git remote = Git.open(remoteDir.toFile())) {
+            return remote.getRepository().resolve(BRANCH_REF);
+        }
+    }
+
+    private static String fileContents(Repository repository, RevCommit commit, String path)
+            throws Exception {
+        try (TreeWalk treeWalk = TreeWalk.forPath(repository, path, commit.getTree())) {
+            return new String(
+                    repository.open(treeWalk.getObjectId(0)).getBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String repoJson() {
+        return """
+                {"id":1,"name":"repo","full_name":"owner/repo","owner":{"login":"owner"},\
+                "url":"%s%s","html_url":"https://github.com/owner/repo"}"""
+                .formatted(apiUrl, REPO_URI);
+    }
+
+    private String pullJson() {
+        return """
+                {"id":1,"number":1,"url":"%s%s/pulls/1",\
+                "html_url":"https://github.com/owner/repo/pull/1"}"""
+                .formatted(apiUrl, REPO_URI);
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Method;
+import fi.iki.elonen.NanoHTTPD.Response;
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.transport.URIish;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zaproxy.gradle.addon.AddOnStatus;
+import org.zaproxy.gradle.addon.FunctionalTest;
+import org.zaproxy.gradle.addon.HTTPDTestServer;
+import org.zaproxy.gradle.addon.NanoServerHandler;
+
+class CreateTagsAndGitHubReleasesFunctionalTest extends FunctionalTest {
+
+    private static final String CREATE_RELEASES_TASK = ":createReleases";
+    private static final String REPO_URI = "/repos/owner/repo";
+    private static final String RELEASE_URI = REPO_URI + "/releases/1";
+    private static final String ADD_ON_VERSION = "1.0.0";
+    private static final String TAG = "v" + ADD_ON_VERSION;
+    private static final PersonIdent AUTHOR = new PersonIdent("Author", "author@example.com");
+
+    @TempDir private Path remoteDir;
+
+    private HTTPDTestServer gitHubServer;
+    private String apiUrl;
+
+    @BeforeEach
+    void setup() throws Exception {
+        gitHubServer = new HTTPDTestServer(0);
+        gitHubServer.start();
+        apiUrl = "http://localhost:" + gitHubServer.getListeningPort();
+
+        settingsFile("include(\"addon-a\", \"addon-b\")");
+        buildFile(
+                """
+                import org.zaproxy.gradle.addon.internal.model.GitHubRepo
+                import org.zaproxy.gradle.addon.internal.model.GitHubUser
+                import org.zaproxy.gradle.addon.internal.tasks.CreateTagsAndGitHubReleases
+                plugins {
+                    id("org.zaproxy.add-on")
+                }
+                dependencies {
+                    zapAddOns(project(":addon-a"))
+                    zapAddOns(project(":addon-b"))
+                }
+                tasks.register<CreateTagsAndGitHubReleases>("createReleases") {
+                    apiUrl.set("%s")
+                    user.set(GitHubUser("user", "user@example.com", "token"))
+                    repo.set(GitHubRepo("owner/repo", null))
+                    remoteUrl.set("%s")
+                }
+                """
+                        .formatted(apiUrl, remoteDir.toUri()));
+        for (String name : new String[] {"addon-a", "addon-b"}) {
+            createFile(
+                    """
+                    plugins {
+                        java
+                        id("org.zaproxy.add-on")
+                    }
+                    repositories {
+                        mavenCentral()
+                    }
+                    version = "%s"
+                    zapAddOn {
+                        addOnName.set("Test Add-On")
+                    }
+                    """
+                            .formatted(ADD_ON_VERSION),
+                    projectDir.resolve(name).resolve("build.gradle.kts"));
+            createFile(
+                    """
+                    # Changelog
+
+                    ## [%s] - 2026-10-19
+                    ### Added
+                    - First version.
+
+                    [%s]: https://github.com/owner/repo/releases/%s
+                    """
+                            .formatted(ADD_ON_VERSION, ADD_ON_VERSION, TAG),
+                    projectDir.resolve(name).resolve("CHANGELOG.md"));
+        }
+
+        createFile("build/\n.gradle/\n", projectDir.resolve(".gitignore"));
+        Git.init().setBare(true).setDirectory(remoteDir.toFile()).call().close();
+        try (Git git = Git.init().setDirectory(projectDir.toFile()).call()) {
+            git.add().addFilepattern(".").call();
+            git.commit()
+                    .setMessage("Initial commit.")
+                    .setAuthor(AUTHOR)
+                    .setCommitter(AUTHOR)
+                    .setSign(false)
+                    .call();
+            git.remoteAdd().setName("origin").setUri(new URIish(remoteDir.toUri().toURL())).call();
+        }
+
+        addJsonHandler(REPO_URI + "/git/refs/tags/" + TAG, refJson());
+        addNotFoundHandler(REPO_URI + "/releases/tags/" + TAG);
+        addJsonHandler(RELEASE_URI + "/assets", "[]");
+        addJsonHandler(RELEASE_URI, releaseJson());
+        gitHubServer.addHandler(
+                new NanoServerHandler(REPO_URI + "/releases") {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        String json =
+                                Method.POST.equals(session.getMethod()) ? releaseJson() : "[]";
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.OK, "application/json", json);
+                    }
+                });
+        addJsonHandler("/uploads", assetJson());
+        addJsonHandler(REPO_URI, repoJson());
+    }
+
+    @AfterEach
+    void stopGitHubServer() {
+        gitHubServer.stop();
+    }
+
+    @Test
+    void shouldTagAndReleaseJustTheAddOnsWithNewReleaseState() throws Exception {
+        // Given
+        releaseState("addon-a", true);
+        releaseState("addon-b", false);
+
+        // When
+        BuildResult result = build(CREATE_RELEASES_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_RELEASES_TASK);
+        assertTaskSuccess(result, ":addon-a:jarZapAddOn");
+        assertTaskSuccess(result, ":addon-b:jarZapAddOn");
+        assertThat(remoteTags()).containsExactly(TAG);
+        assertThat(gitHubServer.getRequests())
+                .anySatisfy(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(REPO_URI + "/releases");
+                            assertThat(request.method()).isEqualTo("POST");
+                            assertThat(request.body()).contains("\"tag_name\":\"" + TAG + "\"");
+                        })
+                .anySatisfy(
+                        request -> {
+                            assertThat(request.uri()).startsWith("/uploads/");
+                            assertThat(request.parameters())
+                                    .containsEntry("name", List.of(addOnFile("addon-a")));
+                        })
+                .noneSatisfy(
+                        request ->
+                                assertThat(request.parameters())
+                                        .containsEntry("name", List.of(addOnFile("addon-b"))));
+    }
+
+    @Test
+    void shouldNotTagNorReleaseIfNoAddOnHasNewReleaseState() throws Exception {
+        // Given
+        releaseState("addon-a", false);
+
+        // When
+        BuildResult result = build(CREATE_RELEASES_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_RELEASES_TASK);
+        assertThat(result.getOutput())
+                .contains("No add-ons released, not creating the tags nor the releases.");
+        assertThat(remoteTags()).isEmpty();
+        assertThat(gitHubServer.getRequests()).isEmpty();
+    }
+
+    private void releaseState(String project, boolean newRelease) throws Exception {
+        createFile(
+                "{\"current_release\":" + newRelease + "}",
+                projectDir.resolve(project).resolve("build/release_state_last_commit.json"));
+    }
+
+    private List<String> remoteTags() throws Exception {
+        try (Git git = Git.open(remoteDir.toFile())) {
+            return git.tagList().call().stream()
+                    .map(ref -> ref.getName().substring("refs/tags/".length()))
+                    .toList();
+        }
+    }
+
+    private static String addOnFile(String id) {
+        return id + "-" + AddOnStatus.ALPHA + "-" + ADD_ON_VERSION + ".zap";
+    }
+
+    private void addJsonHandler(String uri, String json) {
+        gitHubServer.addHandler(
+                new NanoServerHandler(uri) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.OK, "application/json", json);
+                    }
+                });
+    }
+
+    private void addNotFoundHandler(String uri) {
+        gitHubServer.addHandler(
+                new NanoServerHandler(uri) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.NOT_FOUND,
+                                "application/json",
+                                "{\"message\":\"Not Found\"}");
+                    }
+                });
+    }
+
+    private String repoJson() {
+        return """
+                {"id":1,"name":"repo","full_name":"owner/repo","owner":{"login":"owner"},\
+                "url":"%s%s","html_url":"https://github.com/owner/repo"}"""
+                .formatted(apiUrl, REPO_URI);
+    }
+
+    private String refJson() {
+        return """
+                {"ref":"refs/tags/%s","url":"%s%s/git/refs/tags/%s",\
+                "object":{"type":"tag","sha":"0123456789abcdef0123456789abcdef01234567"}}"""
+                .formatted(TAG, apiUrl, REPO_URI, TAG);
+    }
+
+    private String releaseJson() {
+        return """
+                {"id":1,"tag_name":"%s","name":"%s","draft":true,"url":"%s%s",\
+                "html_url":"https://github.com/owner/repo/releases/tag/%s",\
+                "upload_url":"%s/uploads%s/assets{?name,label}"}"""
+                .formatted(TAG, TAG, apiUrl, RELEASE_URI, TAG, apiUrl, RELEASE_URI);
+    }
+
+    private String assetJson() {
+        return """
+                {"id":10,"name":"%s","size":1,"state":"uploaded",\
+                "content_type":"application/octet-stream"}"""
+                .formatted(addOnFile("addon-a"));
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.MergeCommand;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+import org.zaproxy.gradle.addon.internal.model.ReleaseState;
+
+class GenerateReleaseStateLastCommitFunctionalTest extends FunctionalTest {
+
+    private static final String RELEASE_STATE_TASK = ":releaseState";
+    private static final String BASE_REF = "base";
+    private static final PersonIdent AUTHOR = new PersonIdent("Author", "author@example.com");
+
+    private Git git;
+
+    @BeforeEach
+    void setup() throws Exception {
+        settingsFile("include(\"addon-a\", \"addon-b\")");
+        buildFile(
+                """
+                import org.zaproxy.gradle.addon.internal.model.ProjectInfo
+                import org.zaproxy.gradle.addon.internal.tasks.GenerateReleaseStateLastCommit
+                plugins {
+                    id("org.zaproxy.add-on") apply false
+                }
+                tasks.register<GenerateReleaseStateLastCommit>("releaseState") {
+                    projects.add(ProjectInfo.from(project(":addon-a")))
+                    projects.add(ProjectInfo.from(project(":addon-b")))
+                }
+                """);
+        createFile("build/\n.gradle/\n", projectDir.resolve(".gitignore"));
+        git = Git.init().setDirectory(projectDir.toFile()).setInitialBranch("main").call();
+
+        properties("addon-a", "1.0.0", false);
+        properties("addon-b", "1.0.0", false);
+        commit("Initial commit.");
+        git.tag().setName(BASE_REF).setAnnotated(false).call();
+    }
+
+    @AfterEach
+    void closeGit() {
+        git.close();
+    }
+
+    @Test
+    void shouldGenerateReleaseStateOfLastCommit() throws Exception {
+        // Given
+        properties("addon-a", "1.0.0", true);
+        commit("Release add-on A.");
+
+        // When
+        BuildResult result = build(RELEASE_STATE_TASK);
+
+        // Then
+        assertTaskSuccess(result, RELEASE_STATE_TASK);
+        ReleaseState addOnA = releaseState("addon-a");
+        assertThat(addOnA.isNewRelease()).isTrue();
+        assertThat(addOnA.getTransitions()).isEmpty();
+        assertThat(releaseState("addon-b").isNewRelease()).isFalse();
+    }
+
+    @Test
+    void shouldReadBothProjectsChangedInLastCommit() throws Exception {
+        // Given
+        properties("addon-a", "1.0.0", true);
+        properties("addon-b", "1.1.0", false);
+        commit("Release add-on A and update add-on B.");
+
+        // When
+        BuildResult result = build(RELEASE_STATE_TASK);
+
+        // Then
+        assertTaskSuccess(result, RELEASE_STATE_TASK);
+        assertThat(releaseState("addon-a").isNewRelease()).isTrue();
+        ReleaseState addOnB = releaseState("addon-b");
+        assertThat(addOnB.isNewRelease()).isFalse();
+        assertThat(addOnB.getPreviousVersion()).isEqualTo("1.0.0");
+        assertThat(addOnB.getCurrentVersion()).isEqualTo("1.1.0");
+    }
+
+    @Test
+    void shouldFailIfPropertiesFileNotInLastCommit() throws Exception {
+        // Given
+        git.rm().addFilepattern("addon-b/gradle.properties").call();
+        commit("Remove add-on B.");
+        // Keep the project directory, the file is read from the commit.
+        properties("addon-b", "1.0.0", false);
+
+        // When
+        BuildResult result = buildAndFail(RELEASE_STATE_TASK);
+
+        // Then
+        assertTaskFailed(result, RELEASE_STATE_TASK);
+        assertThat(result.getOutput())
+                .contains("File not found in the current commit: addon-b/gradle.properties");
+    }
+
+    @Test
+    void shouldReadReleaseInTheMiddleOfTheBaseRefRange() throws Exception {
+        // Given
+        properties("addon-a", "1.0.0", true);
+        RevCommit release = commit("Release add-on A.");
+        properties("addon-a", "2.0.0", false);
+        RevCommit nextDevIter = commit("Prepare next dev iteration of add-on A.");
+
+        // When
+        BuildResult result = build(RELEASE_STATE_TASK, "--base-ref", BASE_REF);
+
+        // Then
+        assertTaskSuccess(result, RELEASE_STATE_TASK);
+        ReleaseState addOnA = releaseState("addon-a");
+        assertThat(addOnA.isNewRelease()).isFalse();
+        List<ReleaseState> transitions = addOnA.getTransitions();
+        assertThat(transitions).hasSize(2);
+        assertThat(transitions.get(0).getCommit()).isEqualTo(release.getName());
+        assertThat(transitions.get(0).isNewRelease()).isTrue();
+        assertThat(transitions.get(1).getCommit()).isEqualTo(nextDevIter.getName());
+        assertThat(transitions.get(1).getCurrentVersion()).isEqualTo("2.0.0");
+        assertThat(transitions.get(1).isNewRelease()).isFalse();
+        assertThat(releaseState("addon-b").getTransitions()).isEmpty();
+    }
+
+    @Test
+    void shouldReadReleaseOfFileAddedInTheBaseRefRange() throws Exception {
+        // Given
+        settingsFile("include(\"addon-a\", \"addon-b\", \"addon-c\")");
+        buildFile(
+                """
+                import org.zaproxy.gradle.addon.internal.model.ProjectInfo
+                import org.zaproxy.gradle.addon.internal.tasks.GenerateReleaseStateLastCommit
+                plugins {
+                    id("org.zaproxy.add-on") apply false
+                }
+                tasks.register<GenerateReleaseStateLastCommit>("releaseState") {
+                    projects.add(ProjectInfo.from(project(":addon-c")))
+                }
+                """);
+        properties("addon-c", "1.0.0", true);
+        RevCommit added = commit("Add add-on C.");
+
+        // When
+        BuildResult result = build(RELEASE_STATE_TASK, "--base-ref", BASE_REF);
+
+        // Then
+        assertTaskSuccess(result, RELEASE_STATE_TASK);
+        ReleaseState addOnC = releaseState("addon-c");
+        assertThat(addOnC.isNewRelease()).isFalse();
+        assertThat(addOnC.getTransitions()).hasSize(1);
+        assertThat(addOnC.getTransitions().get(0).isNewRelease()).isTrue();
+        assertThat(addOnC.getTransitions().get(0).getCommit()).isEqualTo(added.getName());
+        assertThat(addOnC.getTransitions().get(0).getPreviousVersion()).isNull();
+    }
+
+    @Test
+    void shouldReadReleaseOfMergedBranchJustOnceInTheBaseRefRange() throws Exception {
+        // Given
+        git.checkout().setCreateBranch(true).setName("feature").call();
+        properties("addon-a", "1.0.0", true);
+        RevCommit release = commit("Release add-on A.");
+        git.checkout().setName("main").call();
+        properties("addon-b", "1.1.0", false);
+        commit("Update add-on B.");
+        merge("feature");
+
+        // When
+        BuildResult result = build(RELEASE_STATE_TASK, "--base-ref", BASE_REF);
+
+        // Then
+        assertTaskSuccess(result, RELEASE_STATE_TASK);
+        ReleaseState addOnA = releaseState("addon-a");
+        assertThat(addOnA.isNewRelease()).isTrue();
+        assertThat(addOnA.getTransitions()).hasSize(1);
+        assertThat(addOnA.getTransitions().get(0).getCommit()).isEqualTo(release.getName());
+        ReleaseState addOnB = releaseState("addon-b");
+        assertThat(addOnB.isNewRelease()).isFalse();
+        assertThat(addOnB.getTransitions()).isEmpty();
+    }
+
+    @Test
+    void shouldCompareMergeCommitWithMergeBase() throws Exception {
+        // Given
+        git.checkout().setCreateBranch(true).setName("feature").call();
+        properties("addon-a", "1.0.0", true);
+        commit("Release add-on A.");
+        git.checkout().setName("main").call();
+        properties("addon-b", "1.1.0", false);
+        commit("Update add-on B.");
+        merge("feature");
+
+        // When
+        BuildResult result = build(RELEASE_STATE_TASK);
+
+        // Then
+        assertTaskSuccess(result, RELEASE_STATE_TASK);
+        assertThat(releaseState("addon-a").isNewRelease()).isTrue();
+        ReleaseState addOnB = releaseState("addon-b");
+        assertThat(addOnB.isNewRelease()).isFalse();
+        assertThat(addOnB.getPreviousVersion()).isEqualTo("1.0.0");
+        assertThat(addOnB.getCurrentVersion()).isEqualTo("1.1.0");
+    }
+
+    private void properties(String project, String version, boolean release) throws Exception {
+        createFile(
+                "version=" + version + "\nrelease=" + release + "\n",
+                projectDir.resolve(project).resolve("gradle.properties"));
+    }
+
+    private RevCommit commit(String message) throws Exception {
+        git.add().addFilepattern(".").call();
+        return git.commit()
+                .setMessage(message)
+                .setAuthor(AUTHOR)
+                .setCommitter(AUTHOR)
+                .setSign(false)
+                .call();
+    }
+
+    private RevCommit merge(String branch) throws Exception {
+        git.merge()
+                .include(git.getRepository().resolve(branch))
+                .setFastForward(MergeCommand.FastForwardMode.NO_FF)
+                .setCommit(false)
+                .call();
+        return commit("Merge " + branch + ".");
+    }
+
+    private ReleaseState releaseState(String project) {
+        Path file = projectDir.resolve(project).resolve("build/release_state_last_commit.json");
+        return ReleaseState.read(file.toFile());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Response;
+import java.nio.file.Files;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+import org.zaproxy.gradle.addon.HTTPDTestServer;
+import org.zaproxy.gradle.addon.NanoServerHandler;
+
+class HandleReleaseFunctionalTest extends FunctionalTest {
+
+    private static final String HANDLE_RELEASE_TASK = ":handleRelease";
+    private static final String DISPATCHES_URI = "/repos/owner/repo/dispatches";
+    private static final String ADD_ON_CONTENTS = "add-on";
+
+    private HTTPDTestServer gitHubServer;
+
+    @BeforeEach
+    void setup() throws Exception {
+        gitHubServer = new HTTPDTestServer(0);
+        gitHubServer.start();
+
+        createFile(ADD_ON_CONTENTS, projectDir.resolve("addon.zap"));
+        gitHubServer.addHandler(
+                new NanoServerHandler(DISPATCHES_URI) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.NO_CONTENT, "application/json", "");
+                    }
+                });
+    }
+
+    @AfterEach
+    void stopGitHubServer() {
+        gitHubServer.stop();
+    }
+
+    private void handleReleaseBuildFile(String downloadUrl, String algorithm) throws Exception {
+        buildFile(
+                """
+                import org.zaproxy.gradle.addon.internal.model.AddOnRelease
+                import org.zaproxy.gradle.addon.internal.model.GitHubRepo
+                import org.zaproxy.gradle.addon.internal.model.GitHubUser
+                import org.zaproxy.gradle.addon.internal.tasks.HandleRelease
+                plugins {
+                    id("org.zaproxy.add-on") apply false
+                }
+                tasks.register<HandleRelease>("handleRelease") {
+                    apiUrl.set("http://localhost:%d")
+                    user.set(GitHubUser("user", "user@example.com", "token"))
+                    repo.set(GitHubRepo("owner/repo", null))
+                    checksumAlgorithm.set("%s")
+                    clientPayload.put("extra", "value")
+                    addOns.add(objects.newInstance<AddOnRelease>().apply {
+                        addOn.set(layout.projectDirectory.file("addon.zap"))
+                        downloadUrl.set("%s")
+                    })
+                }
+                """
+                        .formatted(gitHubServer.getListeningPort(), algorithm, downloadUrl));
+    }
+
+    @Test
+    void shouldSendChecksumOfTheAddOnWithConfiguredPayload() throws Exception {
+        // Given
+        handleReleaseBuildFile("https://example.com/addon.zap", "SHA-256");
+        String checksum = DigestUtils.sha256Hex(ADD_ON_CONTENTS);
+
+        // When
+        BuildResult result = build(HANDLE_RELEASE_TASK);
+
+        // Then
+        assertTaskSuccess(result, HANDLE_RELEASE_TASK);
+        assertThat(gitHubServer.getRequests())
+                .singleElement()
+                .satisfies(
+                        request ->
+                                assertThat(request.body())
+                                        .contains("\"event_type\":\"add-on-release\"")
+                                        .contains("\"extra\":\"value\"")
+                                        .contains("\"url\":\"https://example.com/addon.zap\"")
+                                        .contains("\"checksum\":\"" + checksum + "\""));
+        assertThat(Files.readString(projectDir.resolve("build/zapAddOn/release-checksums.json")))
+                .contains("\"algorithm\" : \"SHA-256\"")
+                .contains("\"file\" : \"addon.zap\"")
+                .contains("\"url\" : \"https://example.com/addon.zap\"")
+                .contains("\"checksum\" : \"" + checksum + "\"");
+    }
+
+    @Test
+    void shouldSendChecksumWithConfiguredAlgorithm() throws Exception {
+        // Given
+        handleReleaseBuildFile("https://example.com/addon.zap", "SHA-512");
+
+        // When
+        BuildResult result = build(HANDLE_RELEASE_TASK);
+
+        // Then
+        assertTaskSuccess(result, HANDLE_RELEASE_TASK);
+        assertThat(gitHubServer.getRequests())
+                .singleElement()
+                .satisfies(
+                        request ->
+                                assertThat(request.body())
+                                        .contains(
+                                                "\"checksum\":\""
+                                                        + DigestUtils.sha512Hex(ADD_ON_CONTENTS)
+                                                        + "\""));
+    }
+
+    @Test
+    void shouldFailWithoutSendingIfDownloadUrlIsNotHttps() throws Exception {
+        // Given
+        handleReleaseBuildFile("http://example.com/addon.zap", "SHA-256");
+
+        // When
+        BuildResult result = buildAndFail(HANDLE_RELEASE_TASK);
+
+        // Then
+        assertTaskFailed(result, HANDLE_RELEASE_TASK);
+        assertThat(result.getOutput()).contains("The provided URL does not use HTTPS scheme");
+        assertThat(gitHubServer.getRequests()).isEmpty();
+    }
+}
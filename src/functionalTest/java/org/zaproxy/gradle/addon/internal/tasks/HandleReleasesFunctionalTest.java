@@ -0,0 +1,192 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Response;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.AddOnStatus;
+import org.zaproxy.gradle.addon.FunctionalTest;
+import org.zaproxy.gradle.addon.HTTPDTestServer;
+import org.zaproxy.gradle.addon.NanoServerHandler;
+
+class HandleReleasesFunctionalTest extends FunctionalTest {
+
+    private static final String HANDLE_RELEASES_TASK = ":handleReleases";
+    private static final String DISPATCHES_URI = "/repos/owner/repo/dispatches";
+    private static final String ADD_ON_VERSION = "1.0.0";
+
+    private HTTPDTestServer gitHubServer;
+
+    @BeforeEach
+    void setup() throws Exception {
+        gitHubServer = new HTTPDTestServer(0);
+        gitHubServer.start();
+
+        settingsFile("include(\"addon-a\", \"addon-b\")");
+        buildFile(
+                """
+                import org.zaproxy.gradle.addon.internal.model.GitHubRepo
+                import org.zaproxy.gradle.addon.internal.model.GitHubUser
+                import org.zaproxy.gradle.addon.internal.tasks.HandleReleases
+                plugins {
+                    id("org.zaproxy.add-on")
+                }
+                dependencies {
+                    zapAddOns(project(":addon-a"))
+                    zapAddOns(project(":addon-b"))
+                }
+                tasks.register<HandleReleases>("handleReleases") {
+                    apiUrl.set("http://localhost:%d")
+                    user.set(GitHubUser("user", "user@example.com", "token"))
+                    repo.set(GitHubRepo("owner/repo", null))
+                }
+                """
+                        .formatted(gitHubServer.getListeningPort()));
+        for (String name : new String[] {"addon-a", "addon-b"}) {
+            createFile(
+                    """
+                    plugins {
+                        java
+                        id("org.zaproxy.add-on")
+                    }
+                    repositories {
+                        mavenCentral()
+                    }
+                    version = "%s"
+                    zapAddOn {
+                        addOnName.set("Test Add-On")
+                    }
+                    """
+                            .formatted(ADD_ON_VERSION),
+                    projectDir.resolve(name).resolve("build.gradle.kts"));
+        }
+
+        gitHubServer.addHandler(
+                new NanoServerHandler(DISPATCHES_URI) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.NO_CONTENT, "application/json", "");
+                    }
+                });
+    }
+
+    @AfterEach
+    void stopGitHubServer() {
+        gitHubServer.stop();
+    }
+
+    @Test
+    void shouldSendOneDispatchWithAllTheAddOnsWithNewReleaseState() throws Exception {
+        // Given
+        releaseState("addon-a", true);
+        releaseState("addon-b", true);
+
+        // When
+        BuildResult result = build(HANDLE_RELEASES_TASK);
+
+        // Then
+        assertTaskSuccess(result, HANDLE_RELEASES_TASK);
+        String checksumA = checksum("addon-a");
+        String checksumB = checksum("addon-b");
+        assertThat(gitHubServer.getRequests())
+                .singleElement()
+                .satisfies(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(DISPATCHES_URI);
+                            assertThat(request.body())
+                                    .contains("\"event_type\":\"add-on-release\"")
+                                    .contains(downloadPath("addon-a"))
+                                    .contains("\"checksum\":\"" + checksumA + "\"")
+                                    .contains(downloadPath("addon-b"))
+                                    .contains("\"checksum\":\"" + checksumB + "\"");
+                        });
+        assertThat(Files.readString(projectDir.resolve("build/zapAddOn/release-checksums.json")))
+                .contains("\"algorithm\" : \"SHA-256\"")
+                .contains("\"file\" : \"" + addOnFile("addon-a") + "\"")
+                .contains("\"checksum\" : \"" + checksumA + "\"")
+                .contains("\"file\" : \"" + addOnFile("addon-b") + "\"")
+                .contains("\"checksum\" : \"" + checksumB + "\"");
+    }
+
+    @Test
+    void shouldSendJustTheAddOnsWithNewReleaseState() throws Exception {
+        // Given
+        releaseState("addon-a", false);
+        releaseState("addon-b", true);
+
+        // When
+        BuildResult result = build(HANDLE_RELEASES_TASK);
+
+        // Then
+        assertTaskSuccess(result, HANDLE_RELEASES_TASK);
+        assertThat(gitHubServer.getRequests())
+                .singleElement()
+                .satisfies(
+                        request ->
+                                assertThat(request.body())
+                                        .doesNotContain(downloadPath("addon-a"))
+                                        .contains(downloadPath("addon-b")));
+    }
+
+    @Test
+    void shouldNotSendDispatchIfNoAddOnHasNewReleaseState() throws Exception {
+        // Given
+        releaseState("addon-a", false);
+
+        // When
+        BuildResult result = build(HANDLE_RELEASES_TASK);
+
+        // Then
+        assertTaskSuccess(result, HANDLE_RELEASES_TASK);
+        assertThat(result.getOutput())
+                .contains("No add-ons released, not sending the repository dispatch.");
+        assertThat(gitHubServer.getRequests()).isEmpty();
+    }
+
+    private void releaseState(String project, boolean newRelease) throws Exception {
+        createFile(
+                "{\"current_release\":" + newRelease + "}",
+                projectDir.resolve(project).resolve("build/release_state_last_commit.json"));
+    }
+
+    private String checksum(String id) throws Exception {
+        Path addOn = projectDir.resolve(id).resolve("build/zapAddOn/bin").resolve(addOnFile(id));
+        return DigestUtils.sha256Hex(Files.readAllBytes(addOn));
+    }
+
+    private static String downloadPath(String id) {
+        return "/releases/download/v" + ADD_ON_VERSION + "/" + addOnFile(id) + "\"";
+    }
+
+    private static String addOnFile(String id) {
+        return id + "-" + AddOnStatus.ALPHA + "-" + ADD_ON_VERSION + ".zap";
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Response;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+import org.zaproxy.gradle.addon.HTTPDTestServer;
+import org.zaproxy.gradle.addon.NanoServerHandler;
+
+class SendRepositoryDispatchFunctionalTest extends FunctionalTest {
+
+    private static final String SEND_DISPATCH_TASK = ":sendDispatch";
+    private static final String DISPATCHES_URI = "/repos/owner/repo/dispatches";
+
+    private HTTPDTestServer gitHubServer;
+
+    @BeforeEach
+    void setup() throws Exception {
+        gitHubServer = new HTTPDTestServer(0);
+        gitHubServer.start();
+
+        buildFile(
+                """
+                import org.zaproxy.gradle.addon.internal.model.GitHubRepo
+                import org.zaproxy.gradle.addon.internal.model.GitHubUser
+                import org.zaproxy.gradle.addon.internal.tasks.SendRepositoryDispatch
+                plugins {
+                    id("org.zaproxy.add-on") apply false
+                }
+                tasks.register<SendRepositoryDispatch>("sendDispatch") {
+                    apiUrl.set("http://localhost:%d")
+                    user.set(GitHubUser("user", "user@example.com", "token"))
+                    repo.set(GitHubRepo("owner/repo", null))
+                    eventType.set("test-event")
+                    maxAttempts.set(2)
+                }
+                """
+                        .formatted(gitHubServer.getListeningPort()));
+    }
+
+    @AfterEach
+    void stopGitHubServer() {
+        gitHubServer.stop();
+    }
+
+    @Test
+    void shouldRetryOnServerErrorAndReportTheAttempts() throws Exception {
+        // Given
+        addDispatchesHandler(Response.Status.SERVICE_UNAVAILABLE, Response.Status.NO_CONTENT);
+
+        // When
+        BuildResult result = build(SEND_DISPATCH_TASK);
+
+        // Then
+        assertTaskSuccess(result, SEND_DISPATCH_TASK);
+        assertThat(gitHubServer.getRequests())
+                .hasSize(2)
+                .allSatisfy(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(DISPATCHES_URI);
+                            assertThat(request.body()).contains("\"event_type\":\"test-event\"");
+                        });
+        assertThat(
+                        Files.readString(
+                                projectDir.resolve("build/reports/zapAddOn/github-requests.json")))
+                .contains("\"operation\" : \"repository dispatch\"")
+                .contains("\"statusCode\" : 204")
+                .contains("\"attempts\" : 2");
+    }
+
+    @Test
+    void shouldFailAfterMaxAttempts() throws Exception {
+        // Given
+        addDispatchesHandler(Response.Status.INTERNAL_ERROR, Response.Status.INTERNAL_ERROR);
+
+        // When
+        BuildResult result = buildAndFail(SEND_DISPATCH_TASK);
+
+        // Then
+        assertTaskFailed(result, SEND_DISPATCH_TASK);
+        assertThat(result.getOutput()).contains("expected status code 204 received 500");
+        assertThat(gitHubServer.getRequests()).hasSize(2);
+    }
+
+    @Test
+    void shouldNotRetryOnClientError() throws Exception {
+        // Given
+        addDispatchesHandler(Response.Status.BAD_REQUEST);
+
+        // When
+        BuildResult result = buildAndFail(SEND_DISPATCH_TASK);
+
+        // Then
+        assertTaskFailed(result, SEND_DISPATCH_TASK);
+        assertThat(result.getOutput()).contains("expected status code 204 received 400");
+        assertThat(gitHubServer.getRequests()).hasSize(1);
+    }
+
+    private void addDispatchesHandler(Response.Status... statuses) {
+        AtomicInteger count = new AtomicInteger();
+        gitHubServer.addHandler(
+                new NanoServerHandler(DISPATCHES_URI) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        Response.Status status =
+                                statuses[Math.min(count.getAndIncrement(), statuses.length - 1)];
+                        String body =
+                                status == Response.Status.NO_CONTENT ? "" : status.getDescription();
+                        return NanoHTTPD.newFixedLengthResponse(status, "application/json", body);
+                    }
+                });
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.jh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class ConvertMarkdownHelpFunctionalTest extends FunctionalTest {
+
+    private static final String CONVERT_TASK = ":convertMarkdownHelp";
+    private static final String HELP_DIR = "org/zaproxy/addon/test/resources/help";
+
+    private Path srcHelpDir;
+    private Path outputHelpDir;
+
+    @BeforeEach
+    void setup() throws Exception {
+        buildFile(
+                """
+                plugins {
+                    java
+                    id("org.zaproxy.add-on")
+                }
+                repositories {
+                    mavenCentral()
+                }
+                zapAddOn {
+                    addOnId.set("test")
+                    addOnName.set("Test Add-On")
+                }
+                """);
+        srcHelpDir = projectDir.resolve("src/main/javahelp-markdown").resolve(HELP_DIR);
+        outputHelpDir = projectDir.resolve("build/zapAddOn/javahelp-markdown").resolve(HELP_DIR);
+        createFile("<helpset xml:lang=\"en-GB\"></helpset>", srcHelpDir.resolve("helpset.hs"));
+        createFile("# Test Page\n\nSome *text*.\n", srcHelpDir.resolve("contents/test.md"));
+        createFile("# Other & More\n", srcHelpDir.resolve("contents/other/page.md"));
+    }
+
+    @Test
+    void shouldConvertPagesAndGenerateMapAndToc() throws Exception {
+        // When
+        BuildResult result = build(CONVERT_TASK);
+
+        // Then
+        assertTaskSuccess(result, CONVERT_TASK);
+        assertThat(outputHelpDir.resolve("helpset.hs")).exists();
+        assertThat(Files.readString(outputHelpDir.resolve("contents/test.html")))
+                .contains("<TITLE>Test Page</TITLE>")
+                .contains("<h1>Test Page</h1>")
+                .contains("<p>Some <em>text</em>.</p>");
+        assertThat(Files.readString(outputHelpDir.resolve("map.jhm")))
+                .contains(
+                        "<mapID target=\"addon.test.other.page\" url=\"contents/other/page.html\" />")
+                .contains("<mapID target=\"addon.test.test\" url=\"contents/test.html\" />");
+        assertThat(Files.readString(outputHelpDir.resolve("toc.xml")))
+                .contains("<tocitem text=\"Other &amp; More\" target=\"addon.test.other.page\"/>")
+                .contains("<tocitem text=\"Test Page\" target=\"addon.test.test\"/>");
+    }
+
+    @Test
+    void shouldOnlyConvertChangedPages() throws Exception {
+        // Given
+        build(CONVERT_TASK);
+        FileTime lastModified =
+                Files.getLastModifiedTime(outputHelpDir.resolve("contents/test.html"));
+        createFile("# Other Changed\n", srcHelpDir.resolve("contents/other/page.md"));
+
+        // When
+        BuildResult result = build(CONVERT_TASK);
+
+        // Then
+        assertTaskSuccess(result, CONVERT_TASK);
+        assertThat(Files.getLastModifiedTime(outputHelpDir.resolve("contents/test.html")))
+                .isEqualTo(lastModified);
+        assertThat(Files.readString(outputHelpDir.resolve("contents/other/page.html")))
+                .contains("<h1>Other Changed</h1>");
+    }
+
+    @Test
+    void shouldRemoveOutputOfRemovedPages() throws Exception {
+        // Given
+        build(CONVERT_TASK);
+        Files.delete(srcHelpDir.resolve("contents/other/page.md"));
+
+        // When
+        BuildResult result = build(CONVERT_TASK);
+
+        // Then
+        assertTaskSuccess(result, CONVERT_TASK);
+        assertThat(outputHelpDir.resolve("contents/other/page.html")).doesNotExist();
+        assertThat(Files.readString(outputHelpDir.resolve("map.jhm")))
+                .doesNotContain("addon.test.other.page");
+    }
+
+    @Test
+    void shouldRemoveGeneratedMapAndTocIfAllPagesRemoved() throws Exception {
+        // Given
+        build(CONVERT_TASK);
+        Files.delete(srcHelpDir.resolve("contents/test.md"));
+        Files.delete(srcHelpDir.resolve("contents/other/page.md"));
+
+        // When
+        BuildResult result = build(CONVERT_TASK);
+
+        // Then
+        assertTaskSuccess(result, CONVERT_TASK);
+        assertThat(outputHelpDir.resolve("helpset.hs")).exists();
+        assertThat(outputHelpDir.resolve("map.jhm")).doesNotExist();
+        assertThat(outputHelpDir.resolve("toc.xml")).doesNotExist();
+    }
+}
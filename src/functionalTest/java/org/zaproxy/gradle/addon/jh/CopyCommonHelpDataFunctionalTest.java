@@ -0,0 +1,115 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.jh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class CopyCommonHelpDataFunctionalTest extends FunctionalTest {
+
+    private static final String COPY_TASK = ":copyCommonHelpData";
+    private static final String HELP_DIR = "src/main/javahelp/org/zaproxy/addon/test/resources";
+
+    private Path mainHelpDir;
+    private Path translatedHelpDir;
+
+    @BeforeEach
+    void setup() throws Exception {
+        buildFile(
+                """
+                plugins {
+                    java
+                    id("org.zaproxy.add-on")
+                }
+                repositories {
+                    mavenCentral()
+                }
+                zapAddOn {
+                    addOnName.set("Test Add-On")
+                }
+                """);
+        mainHelpDir = projectDir.resolve(HELP_DIR).resolve("help");
+        createFile("<helpset xml:lang=\"en-GB\"></helpset>", mainHelpDir.resolve("helpset.hs"));
+        createFile("<map></map>", mainHelpDir.resolve("map.jhm"));
+        createFile("image", mainHelpDir.resolve("contents/images/image.png"));
+        translatedHelpDir = projectDir.resolve(HELP_DIR).resolve("help_es_ES");
+        createFile(
+                "<helpset xml:lang=\"es-ES\"></helpset>",
+                translatedHelpDir.resolve("helpset_es_ES.hs"));
+    }
+
+    @Test
+    void shouldCopyCommonDataToTranslatedHelp() throws Exception {
+        // When
+        BuildResult result = build(COPY_TASK);
+
+        // Then
+        assertTaskSuccess(result, COPY_TASK);
+        assertThat(translatedHelpDir.resolve("map.jhm")).hasContent("<map></map>");
+        assertThat(translatedHelpDir.resolve("contents/images/image.png")).hasContent("image");
+    }
+
+    @Test
+    void shouldHardLinkCommonDataIfEnabled() throws Exception {
+        // When
+        BuildResult result = build(COPY_TASK, "--hard-link", "true");
+
+        // Then
+        assertTaskSuccess(result, COPY_TASK);
+        assertThat(
+                        Files.isSameFile(
+                                mainHelpDir.resolve("map.jhm"),
+                                translatedHelpDir.resolve("map.jhm")))
+                .isTrue();
+    }
+
+    @Test
+    void shouldBeUpToDateIfCommonDataNotChanged() throws Exception {
+        // Given
+        build(COPY_TASK);
+
+        // When
+        BuildResult result = build(COPY_TASK);
+
+        // Then
+        assertTaskUpToDate(result, COPY_TASK);
+    }
+
+    @Test
+    void shouldCopyAgainChangedCommonData() throws Exception {
+        // Given
+        build(COPY_TASK);
+        createFile("image changed", mainHelpDir.resolve("contents/images/image.png"));
+
+        // When
+        BuildResult result = build(COPY_TASK);
+
+        // Then
+        assertTaskSuccess(result, COPY_TASK);
+        assertThat(translatedHelpDir.resolve("contents/images/image.png"))
+                .hasContent("image changed");
+    }
+}
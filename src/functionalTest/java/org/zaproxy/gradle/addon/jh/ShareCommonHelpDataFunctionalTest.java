@@ -0,0 +1,120 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.jh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipFile;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.AddOnStatus;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class ShareCommonHelpDataFunctionalTest extends FunctionalTest {
+
+    private static final String REPORT_TASK = ":reportZapAddOnDuplicatedContents";
+    private static final String HELP_DIR = "org/zaproxy/addon/test/resources/";
+    private static final String PAGE = "<img src=\"images/image.png\">\n";
+
+    private Path report;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Path srcDir = projectDir.resolve("src/main/javahelp").resolve(HELP_DIR);
+        for (String locale : new String[] {"", "_es_ES"}) {
+            Path helpDir = srcDir.resolve("help" + locale);
+            createFile(
+                    "<helpset xml:lang=\"en-GB\"></helpset>",
+                    helpDir.resolve("helpset" + locale + ".hs"));
+            createFile("image", helpDir.resolve("contents/images/image.png"));
+            createFile(PAGE, helpDir.resolve("contents/page.html"));
+        }
+        report = projectDir.resolve("build/reports/zapAddOn/duplicated-contents.md");
+    }
+
+    @Test
+    void shouldReportDuplicatedContents() throws Exception {
+        // Given
+        buildFile(false);
+
+        // When
+        BuildResult result = build(REPORT_TASK);
+
+        // Then
+        assertTaskSuccess(result, REPORT_TASK);
+        assertThat(Files.readString(report))
+                .contains("- " + HELP_DIR + "help/contents/images/image.png\n")
+                .contains("- " + HELP_DIR + "help_es_ES/contents/images/image.png\n");
+    }
+
+    @Test
+    void shouldShareCommonHelpDataIfEnabled() throws Exception {
+        // Given
+        buildFile(true);
+
+        // When
+        BuildResult result = build(REPORT_TASK);
+
+        // Then
+        assertTaskSuccess(result, REPORT_TASK);
+        assertThat(Files.readString(report)).doesNotContain("image.png");
+        try (ZipFile addOn = new ZipFile(addOnFile().toFile())) {
+            assertThat(addOn.getEntry(HELP_DIR + "help/contents/images/image.png")).isNotNull();
+            assertThat(addOn.getEntry(HELP_DIR + "help_es_ES/contents/images/image.png"))
+                    .isNull();
+            String page =
+                    new String(
+                            addOn.getInputStream(
+                                            addOn.getEntry(
+                                                    HELP_DIR + "help_es_ES/contents/page.html"))
+                                    .readAllBytes(),
+                            StandardCharsets.UTF_8);
+            assertThat(page).isEqualTo("<img src=\"../../help/contents/images/image.png\">\n");
+        }
+    }
+
+    private void buildFile(boolean share) throws Exception {
+        buildFile(
+                """
+                plugins {
+                    java
+                    id("org.zaproxy.add-on")
+                }
+                repositories {
+                    mavenCentral()
+                }
+                version = "1"
+                zapAddOn {
+                    addOnId.set("test")
+                    addOnName.set("Test Add-On")
+                    shareCommonHelpData.set(%s)
+                }
+                """
+                        .formatted(share));
+    }
+
+    private Path addOnFile() {
+        return projectDir.resolve("build/zapAddOn/bin/test-" + AddOnStatus.ALPHA + "-1.zap");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.jh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class UpdateHelpSetXmlLangAttrFunctionalTest extends FunctionalTest {
+
+    private static final String UPDATE_TASK = ":updateHelpSetXmlLangAttr";
+    private static final String HELP_DIR = "src/main/javahelp/org/zaproxy/addon/test/resources";
+
+    private static final String HELPSET =
+            """
+            <?xml version="1.0" encoding="ISO-8859-1" ?>
+            <!DOCTYPE helpset
+              PUBLIC "-//Sun Microsystems Inc.//DTD JavaHelp HelpSet Version 2.0//EN"
+              "http://java.sun.com/products/javahelp/helpset_2_0.dtd">
+            <helpset version="2.0" xml:lang="%s">
+              <title>Test Add-On</title>
+            </helpset>
+            """;
+
+    private Path helpSet;
+    private Path helpSetDefaultLocale;
+
+    @BeforeEach
+    void setup() throws Exception {
+        buildFile(
+                """
+                plugins {
+                    java
+                    id("org.zaproxy.add-on")
+                }
+                repositories {
+                    mavenCentral()
+                }
+                zapAddOn {
+                    addOnName.set("Test Add-On")
+                }
+                """);
+        helpSet = projectDir.resolve(HELP_DIR).resolve("help_es_ES/helpset_es_ES.hs");
+        createFile(HELPSET.formatted("en-GB"), helpSet);
+        helpSetDefaultLocale = projectDir.resolve(HELP_DIR).resolve("help/helpset.hs");
+        createFile(HELPSET.formatted("en-GB"), helpSetDefaultLocale);
+    }
+
+    @Test
+    void shouldUpdateOnlyTheLangAttribute() throws Exception {
+        // When
+        BuildResult result = build(UPDATE_TASK);
+
+        // Then
+        assertTaskSuccess(result, UPDATE_TASK);
+        assertThat(helpSet).hasContent(HELPSET.formatted("es-ES"));
+        assertThat(helpSetDefaultLocale).hasContent(HELPSET.formatted("en-GB"));
+    }
+
+    @Test
+    void shouldNotWriteHelpSetsAlreadyUpdated() throws Exception {
+        // Given
+        build(UPDATE_TASK);
+        FileTime lastModified = Files.getLastModifiedTime(helpSet);
+
+        // When
+        build(UPDATE_TASK);
+        BuildResult result = build(UPDATE_TASK);
+
+        // Then
+        assertTaskUpToDate(result, UPDATE_TASK);
+        assertThat(Files.getLastModifiedTime(helpSet)).isEqualTo(lastModified);
+    }
+}
@@ -168,6 +168,103 @@ class ConvertMarkdownToHtmlFunctionalTest extends FunctionalTest {
         assertThat(result.getOutput()).contains("'html'");
     }
 
+    @Test
+    void shouldConvertMarkdownFileAndConversions() throws Exception {
+        // Given
+        writeMarkdown("### Added\n- Feature A.\n");
+        createFile("### Fixed\n- ~~Bug~~ B.\n", projectDir.resolve("b/latest-changes.md"));
+        buildFile(
+                """
+                tasks.named<org.zaproxy.gradle.addon.misc.ConvertMarkdownToHtml>("convertMarkdownToHtml") {
+                    addConversion("b/latest-changes.md", layout.buildDirectory.file("b/changes.html"))
+                }
+                """);
+
+        // When
+        BuildResult result = build(CONVERT_TASK);
+
+        // Then
+        assertTaskSuccess(result, CONVERT_TASK);
+        assertThat(readHtml()).isEqualTo("<h3>Added</h3>\n<ul>\n<li>Feature A.</li>\n</ul>\n");
+        assertThat(Files.readString(projectDir.resolve("build/b/changes.html")))
+                .isEqualTo("<h3>Fixed</h3>\n<ul>\n<li><del>Bug</del> B.</li>\n</ul>\n");
+    }
+
+    @Test
+    void shouldConvertJustConversions() throws Exception {
+        // Given
+        createFile("Hello", projectDir.resolve("a.md"));
+        createFile(
+                """
+                plugins {
+                    id("org.zaproxy.add-on")
+                }
+
+                tasks.register<org.zaproxy.gradle.addon.misc.ConvertMarkdownToHtml>("convertMarkdownToHtml") {
+                    addConversion("a.md", layout.buildDirectory.file("a.html"))
+                }
+                """,
+                projectDir.resolve("build.gradle.kts"));
+
+        // When
+        BuildResult result = build(CONVERT_TASK);
+
+        // Then
+        assertTaskSuccess(result, CONVERT_TASK);
+        assertThat(Files.readString(projectDir.resolve("build/a.html")))
+                .isEqualTo("<p>Hello</p>\n");
+    }
+
+    @Test
+    void shouldBeUpToDateWithJustConversionsIfNotChanged() throws Exception {
+        // Given
+        createFile("Hello", projectDir.resolve("a.md"));
+        createFile(
+                """
+                plugins {
+                    id("org.zaproxy.add-on")
+                }
+
+                tasks.register<org.zaproxy.gradle.addon.misc.ConvertMarkdownToHtml>("convertMarkdownToHtml") {
+                    addConversion("a.md", layout.buildDirectory.file("a.html"))
+                }
+                """,
+                projectDir.resolve("build.gradle.kts"));
+        build(CONVERT_TASK);
+
+        // When
+        BuildResult result = build(CONVERT_TASK);
+
+        // Then
+        assertTaskUpToDate(result, CONVERT_TASK);
+    }
+
+    @Test
+    void shouldFailWhenHtmlPropertyIsNotSetWithConversions() throws Exception {
+        // Given
+        writeMarkdown("Hello");
+        createFile("Hello", projectDir.resolve("a.md"));
+        createFile(
+                """
+                plugins {
+                    id("org.zaproxy.add-on")
+                }
+
+                tasks.register<org.zaproxy.gradle.addon.misc.ConvertMarkdownToHtml>("convertMarkdownToHtml") {
+                    markdown.set(layout.projectDirectory.file("input.md"))
+                    addConversion("a.md", layout.buildDirectory.file("a.html"))
+                }
+                """,
+                projectDir.resolve("build.gradle.kts"));
+
+        // When
+        BuildResult result = buildAndFail(CONVERT_TASK);
+
+        // Then
+        assertTaskFailed(result, CONVERT_TASK);
+        assertThat(result.getOutput()).contains("'html'");
+    }
+
     @ParameterizedTest
     @MethodSource("headingMarkdowns")
     void shouldConvertHeadingToHtml(String markdown, String expectedHtml) throws Exception {
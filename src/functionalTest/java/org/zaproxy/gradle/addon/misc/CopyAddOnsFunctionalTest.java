@@ -0,0 +1,182 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.AddOnStatus;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class CopyAddOnsFunctionalTest extends FunctionalTest {
+
+    private static final String COPY_ADD_ONS_TASK = ":copyZapAddOns";
+    private static final String ADD_ON_VERSION = "1";
+
+    private Path destDir;
+
+    @BeforeEach
+    void setup() throws Exception {
+        destDir = Files.createDirectories(projectDir.resolve("dest"));
+
+        settingsFile("include(\"addon-a\", \"addon-b\")");
+        buildFile(
+                """
+                plugins {
+                    id("org.zaproxy.add-on")
+                }
+                dependencies {
+                    zapAddOns(project(":addon-a"))
+                    zapAddOns(project(":addon-b"))
+                }
+                tasks.register<org.zaproxy.gradle.addon.misc.CopyAddOns>("copyZapAddOns")
+                """);
+        for (String name : new String[] {"addon-a", "addon-b"}) {
+            createFile(
+                    """
+                    plugins {
+                        java
+                        id("org.zaproxy.add-on")
+                    }
+                    repositories {
+                        mavenCentral()
+                    }
+                    version = "%s"
+                    zapAddOn {
+                        addOnName.set("Test Add-On")
+                    }
+                    """
+                            .formatted(ADD_ON_VERSION),
+                    projectDir.resolve(name).resolve("build.gradle.kts"));
+        }
+    }
+
+    @Test
+    void shouldCopyAllAddOns() throws Exception {
+        // When
+        BuildResult result = runCopyAddOns();
+
+        // Then
+        assertTaskSuccess(result, COPY_ADD_ONS_TASK);
+        assertThat(destDir.resolve(addOnFile("addon-a"))).exists();
+        assertThat(destDir.resolve(addOnFile("addon-b"))).exists();
+    }
+
+    @Test
+    void shouldCopyJustTheDeclaredAddOns() throws Exception {
+        // Given
+        buildFile(
+                """
+                plugins {
+                    id("org.zaproxy.add-on")
+                }
+                dependencies {
+                    zapAddOns(project(":addon-b"))
+                }
+                tasks.register<org.zaproxy.gradle.addon.misc.CopyAddOns>("copyZapAddOns")
+                """);
+
+        // When
+        BuildResult result = runCopyAddOns();
+
+        // Then
+        assertTaskSuccess(result, COPY_ADD_ONS_TASK);
+        assertThat(result.task(":addon-a:jarZapAddOn")).isNull();
+        assertThat(destDir.resolve(addOnFile("addon-a"))).doesNotExist();
+        assertThat(destDir.resolve(addOnFile("addon-b"))).exists();
+    }
+
+    @Test
+    void shouldDeleteExistingAddOnsWithSameIdBeforeCopying() throws Exception {
+        // Given
+        Files.createFile(destDir.resolve("addon-a-0.zap"));
+        Files.createFile(destDir.resolve("addon-c-0.zap"));
+
+        // When
+        BuildResult result = runCopyAddOns();
+
+        // Then
+        assertTaskSuccess(result, COPY_ADD_ONS_TASK);
+        assertThat(destDir.resolve("addon-a-0.zap")).doesNotExist();
+        assertThat(destDir.resolve("addon-c-0.zap")).exists();
+        assertThat(destDir.resolve(addOnFile("addon-a"))).exists();
+    }
+
+    @Test
+    void shouldBeUpToDateIfAddOnsNotChanged() throws Exception {
+        // Given
+        runCopyAddOns();
+
+        // When
+        BuildResult result = runCopyAddOns();
+
+        // Then
+        assertTaskUpToDate(result, COPY_ADD_ONS_TASK);
+    }
+
+    @Test
+    void shouldCopyAgainIfCopiedAddOnDeleted() throws Exception {
+        // Given
+        runCopyAddOns();
+        Path addOn = destDir.resolve(addOnFile("addon-a"));
+        Files.delete(addOn);
+
+        // When
+        BuildResult result = runCopyAddOns();
+
+        // Then
+        assertTaskSuccess(result, COPY_ADD_ONS_TASK);
+        assertThat(addOn).exists();
+    }
+
+    @Test
+    void shouldNotCopyAgainAddOnsWithSameContents() throws Exception {
+        // Given
+        runCopyAddOns();
+        Path addOn = destDir.resolve(addOnFile("addon-a"));
+        FileTime lastModified = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(addOn, lastModified);
+
+        // When
+        BuildResult result = runCopyAddOns("--rerun");
+
+        // Then
+        assertTaskSuccess(result, COPY_ADD_ONS_TASK);
+        assertThat(Files.getLastModifiedTime(addOn)).isEqualTo(lastModified);
+    }
+
+    private static String addOnFile(String id) {
+        return id + "-" + AddOnStatus.ALPHA + "-" + ADD_ON_VERSION + ".zap";
+    }
+
+    private BuildResult runCopyAddOns(String... args) throws Exception {
+        String[] arguments = new String[args.length + 3];
+        arguments[0] = COPY_ADD_ONS_TASK;
+        arguments[1] = "--into";
+        arguments[2] = destDir.toString();
+        System.arraycopy(args, 0, arguments, 3, args.length);
+        return build(arguments);
+    }
+}
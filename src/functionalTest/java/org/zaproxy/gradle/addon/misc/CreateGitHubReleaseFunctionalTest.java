@@ -0,0 +1,286 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Method;
+import fi.iki.elonen.NanoHTTPD.Response;
+import java.util.List;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+import org.zaproxy.gradle.addon.HTTPDTestServer;
+import org.zaproxy.gradle.addon.NanoServerHandler;
+
+class CreateGitHubReleaseFunctionalTest extends FunctionalTest {
+
+    private static final String CREATE_RELEASE_TASK = ":createRelease";
+    private static final String REPO_URI = "/repos/owner/repo";
+    private static final String RELEASE_URI = REPO_URI + "/releases/1";
+    private static final String ASSET_CONTENTS = "add-on";
+
+    private HTTPDTestServer gitHubServer;
+    private String apiUrl;
+
+    @BeforeEach
+    void setup() throws Exception {
+        gitHubServer = new HTTPDTestServer(0);
+        gitHubServer.start();
+        apiUrl = "http://localhost:" + gitHubServer.getListeningPort();
+
+        createFile(ASSET_CONTENTS, projectDir.resolve("addon.zap"));
+        buildFile(
+                """
+                plugins {
+                    id("org.zaproxy.add-on") apply false
+                }
+                tasks.register<org.zaproxy.gradle.addon.misc.CreateGitHubRelease>("createRelease") {
+                    apiUrl.set("%s")
+                    repo.set("owner/repo")
+                    authToken.set("token")
+                    tag.set("v1")
+                    title.set("Version 1")
+                    body.set("Release notes.")
+                    assets {
+                        register("addOn") {
+                            file.set(layout.projectDirectory.file("addon.zap"))
+                        }
+                    }
+                }
+                """
+                        .formatted(apiUrl));
+
+        addJsonHandler(REPO_URI + "/git/refs/tags/v1", refJson());
+    }
+
+    @AfterEach
+    void stopGitHubServer() {
+        gitHubServer.stop();
+    }
+
+    @Test
+    void shouldResumeDraftReleaseAndNotUploadAgainSameAssets() throws Exception {
+        // Given
+        addNotFoundHandler(REPO_URI + "/releases/tags/v1");
+        addJsonHandler(RELEASE_URI + "/assets", "[" + assetJson(ASSET_CONTENTS.length()) + "]");
+        addJsonHandler(RELEASE_URI, releaseJson(true));
+        addJsonHandler(REPO_URI + "/releases", "[" + releaseJson(true) + "]");
+        addJsonHandler(REPO_URI, repoJson());
+
+        // When
+        BuildResult result = build(CREATE_RELEASE_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_RELEASE_TASK);
+        assertThat(result.getOutput()).contains("Resuming draft release for tag v1.");
+        assertThat(gitHubServer.getRequests())
+                .noneSatisfy(request -> assertThat(request.uri()).startsWith("/uploads/"))
+                .noneSatisfy(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(REPO_URI + "/releases");
+                            assertThat(request.method()).isEqualTo("POST");
+                        })
+                .anySatisfy(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(RELEASE_URI);
+                            assertThat(request.body()).contains("\"draft\":false");
+                        });
+    }
+
+    @Test
+    void shouldResumeDraftReleaseListedAfterPublishedReleases() throws Exception {
+        // Given
+        String draftUri = REPO_URI + "/releases/3";
+        addNotFoundHandler(REPO_URI + "/releases/tags/v1");
+        addJsonHandler(draftUri + "/assets", "[]");
+        addJsonHandler(draftUri, releaseJson(3, "v1", true));
+        addJsonHandler(
+                REPO_URI + "/releases",
+                "[" + releaseJson(2, "v0", false) + "," + releaseJson(3, "v1", true) + "]");
+        addJsonHandler("/uploads", assetJson(ASSET_CONTENTS.length()));
+        addJsonHandler(REPO_URI, repoJson());
+
+        // When
+        BuildResult result = build(CREATE_RELEASE_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_RELEASE_TASK);
+        assertThat(result.getOutput()).contains("Resuming draft release for tag v1.");
+        assertThat(gitHubServer.getRequests())
+                .anySatisfy(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(REPO_URI + "/releases");
+                            assertThat(request.method()).isEqualTo("GET");
+                            assertThat(request.parameters())
+                                    .containsEntry("per_page", List.of("100"));
+                        })
+                .noneSatisfy(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(REPO_URI + "/releases");
+                            assertThat(request.method()).isEqualTo("POST");
+                        })
+                .anySatisfy(request -> assertThat(request.uri()).startsWith("/uploads/"))
+                .anySatisfy(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(draftUri);
+                            assertThat(request.body()).contains("\"draft\":false");
+                        });
+    }
+
+    @Test
+    void shouldCreateDraftReleaseIfNoneListedForTheTag() throws Exception {
+        // Given
+        addNotFoundHandler(REPO_URI + "/releases/tags/v1");
+        addJsonHandler(RELEASE_URI + "/assets", "[]");
+        addJsonHandler(RELEASE_URI, releaseJson(true));
+        gitHubServer.addHandler(
+                new NanoServerHandler(REPO_URI + "/releases") {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        String json =
+                                Method.POST.equals(session.getMethod())
+                                        ? releaseJson(true)
+                                        : "["
+                                                + releaseJson(2, "v0", true)
+                                                + ","
+                                                + releaseJson(3, "v2", false)
+                                                + "]";
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.OK, "application/json", json);
+                    }
+                });
+        addJsonHandler("/uploads", assetJson(ASSET_CONTENTS.length()));
+        addJsonHandler(REPO_URI, repoJson());
+
+        // When
+        BuildResult result = build(CREATE_RELEASE_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_RELEASE_TASK);
+        assertThat(result.getOutput()).doesNotContain("Resuming draft release");
+        assertThat(gitHubServer.getRequests())
+                .anySatisfy(
+                        request -> {
+                            assertThat(request.uri()).isEqualTo(REPO_URI + "/releases");
+                            assertThat(request.method()).isEqualTo("POST");
+                        })
+                .anySatisfy(request -> assertThat(request.uri()).startsWith("/uploads/"))
+                .noneSatisfy(
+                        request -> assertThat(request.uri()).startsWith(REPO_URI + "/releases/2"))
+                .noneSatisfy(
+                        request -> assertThat(request.uri()).startsWith(REPO_URI + "/releases/3"));
+    }
+
+    @Test
+    void shouldNotChangeReleaseAlreadyPublishedWithSameAssets() throws Exception {
+        // Given
+        addJsonHandler(REPO_URI + "/releases/tags/v1", releaseJson(false));
+        addJsonHandler(RELEASE_URI + "/assets", "[" + assetJson(ASSET_CONTENTS.length()) + "]");
+        addJsonHandler(REPO_URI, repoJson());
+
+        // When
+        BuildResult result = build(CREATE_RELEASE_TASK);
+
+        // Then
+        assertTaskSuccess(result, CREATE_RELEASE_TASK);
+        assertThat(result.getOutput())
+                .contains("Release for tag v1 already exists with the same assets");
+        assertThat(gitHubServer.getRequests())
+                .allSatisfy(request -> assertThat(request.method()).isEqualTo("GET"));
+    }
+
+    @Test
+    void shouldFailIfReleaseAlreadyPublishedWithDifferentAssets() throws Exception {
+        // Given
+        addJsonHandler(REPO_URI + "/releases/tags/v1", releaseJson(false));
+        addJsonHandler(RELEASE_URI + "/assets", "[" + assetJson(1) + "]");
+        addJsonHandler(REPO_URI, repoJson());
+
+        // When
+        BuildResult result = buildAndFail(CREATE_RELEASE_TASK);
+
+        // Then
+        assertTaskFailed(result, CREATE_RELEASE_TASK);
+        assertThat(result.getOutput()).contains("Release for tag v1 already exists");
+    }
+
+    private void addJsonHandler(String uri, String json) {
+        gitHubServer.addHandler(
+                new NanoServerHandler(uri) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.OK, "application/json", json);
+                    }
+                });
+    }
+
+    private void addNotFoundHandler(String uri) {
+        gitHubServer.addHandler(
+                new NanoServerHandler(uri) {
+                    @Override
+                    protected Response serve(IHTTPSession session) {
+                        return NanoHTTPD.newFixedLengthResponse(
+                                Response.Status.NOT_FOUND,
+                                "application/json",
+                                "{\"message\":\"Not Found\"}");
+                    }
+                });
+    }
+
+    private String repoJson() {
+        return """
+                {"id":1,"name":"repo","full_name":"owner/repo","owner":{"login":"owner"},\
+                "url":"%s%s","html_url":"https://github.com/owner/repo"}"""
+                .formatted(apiUrl, REPO_URI);
+    }
+
+    private String refJson() {
+        return """
+                {"ref":"refs/tags/v1","url":"%s%s/git/refs/tags/v1",\
+                "object":{"type":"commit","sha":"0123456789abcdef0123456789abcdef01234567"}}"""
+                .formatted(apiUrl, REPO_URI);
+    }
+
+    private String releaseJson(boolean draft) {
+        return releaseJson(1, "v1", draft);
+    }
+
+    private String releaseJson(int id, String tag, boolean draft) {
+        String releaseUri = REPO_URI + "/releases/" + id;
+        return """
+                {"id":%d,"tag_name":"%s","name":"%s","draft":%s,"url":"%s%s",\
+                "html_url":"https://github.com/owner/repo/releases/tag/%s",\
+                "upload_url":"%s/uploads%s/assets{?name,label}"}"""
+                .formatted(id, tag, tag, draft, apiUrl, releaseUri, tag, apiUrl, releaseUri);
+    }
+
+    private String assetJson(long size) {
+        return """
+                {"id":10,"name":"addon.zap","size":%d,"state":"uploaded",\
+                "content_type":"application/octet-stream"}"""
+                .formatted(size);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class ExtractLatestChangesFromChangelogFunctionalTest extends FunctionalTest {
+
+    private static final String EXTRACT_TASK = ":extractLatestChanges";
+    private static final String CHANGELOG_FILE = "CHANGELOG.md";
+
+    private Path latestChanges;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        buildFile(
+                """
+                plugins {
+                    java
+                    id("org.zaproxy.add-on")
+                }
+                repositories {
+                    mavenCentral()
+                }
+                zapAddOn {
+                    addOnName.set("Test Add-On")
+                }
+                """);
+        latestChanges = projectDir.resolve("build/zapAddOn/latest-changes.md");
+    }
+
+    private void writeChangelog(String content) throws Exception {
+        createFile(content, projectDir.resolve(CHANGELOG_FILE));
+    }
+
+    @Test
+    void shouldExtractChangesUntilNextVersionSection() throws Exception {
+        // Given
+        writeChangelog(
+                """
+                # Changelog
+
+                ## Unreleased
+
+                ### Added
+                - Feature.
+
+                ### Fixed
+                - Bug.
+
+
+                ## [1.0.0] - 2020-01-01
+                ### Added
+                - First version.
+                """);
+
+        // When
+        BuildResult result = build(EXTRACT_TASK);
+
+        // Then
+        assertTaskSuccess(result, EXTRACT_TASK);
+        assertThat(latestChanges).hasContent("### Added\n- Feature.\n\n### Fixed\n- Bug.");
+    }
+
+    @Test
+    void shouldExtractChangesUntilLinks() throws Exception {
+        // Given
+        writeChangelog(
+                """
+                ## [1.0.0] - 2020-01-01
+                ### Added
+                - First version.
+
+                [1.0.0]: https://example.com/releases/v1.0.0
+                """);
+
+        // When
+        BuildResult result = build(EXTRACT_TASK);
+
+        // Then
+        assertTaskSuccess(result, EXTRACT_TASK);
+        assertThat(latestChanges).hasContent("### Added\n- First version.");
+    }
+
+    @Test
+    void shouldExtractAllChangesOfBigSection() throws Exception {
+        // Given
+        String changes =
+                IntStream.range(0, 5_000)
+                        .mapToObj(i -> "- Change " + i + ".")
+                        .collect(Collectors.joining("\n", "### Changed\n", ""));
+        writeChangelog("## Unreleased\n" + changes + "\n\n## [1.0.0] - 2020-01-01\n");
+
+        // When
+        BuildResult result = build(EXTRACT_TASK);
+
+        // Then
+        assertTaskSuccess(result, EXTRACT_TASK);
+        assertThat(changes).hasSizeGreaterThan(20_000);
+        assertThat(latestChanges).hasContent(changes);
+    }
+
+    @Test
+    void shouldFailIfNoVersionSection() throws Exception {
+        // Given
+        writeChangelog("# Changelog\n");
+
+        // When
+        BuildResult result = buildAndFail(EXTRACT_TASK);
+
+        // Then
+        assertTaskFailed(result, EXTRACT_TASK);
+        assertThat(result.getOutput()).contains("No version section was found in changelog");
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.AddOnStatus;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class GenerateChecksumsFunctionalTest extends FunctionalTest {
+
+    private static final String ADD_ON_VERSION = "1";
+
+    @BeforeEach
+    void setup() throws Exception {
+        settingsFile("include(\"addon-a\", \"addon-b\")");
+        buildFile(
+                """
+                plugins {
+                    id("org.zaproxy.add-on")
+                }
+                dependencies {
+                    zapAddOns(project(":addon-a"))
+                    zapAddOns(project(":addon-b"))
+                }
+                tasks.register<org.zaproxy.gradle.addon.misc.GenerateChecksumsIndex>("checksums")
+                """);
+        for (String name : new String[] {"addon-a", "addon-b"}) {
+            createFile(
+                    """
+                    plugins {
+                        java
+                        id("org.zaproxy.add-on")
+                    }
+                    repositories {
+                        mavenCentral()
+                    }
+                    version = "%s"
+                    zapAddOn {
+                        addOnName.set("Test Add-On")
+                    }
+                    """
+                            .formatted(ADD_ON_VERSION),
+                    projectDir.resolve(name).resolve("build.gradle.kts"));
+        }
+    }
+
+    @Test
+    void shouldGenerateChecksumsAfterBuildingTheAddOn() throws Exception {
+        // When
+        BuildResult result = build(":addon-a:jarZapAddOn");
+
+        // Then
+        assertTaskSuccess(result, ":addon-a:jarZapAddOn");
+        assertTaskSuccess(result, ":addon-a:generateZapAddOnChecksums");
+        Path addOn = projectDir.resolve("addon-a/build/zapAddOn/bin").resolve(addOnFile("addon-a"));
+        Path checksumsDir = projectDir.resolve("addon-a/build/zapAddOn/checksums");
+        String sha256 = DigestUtils.sha256Hex(Files.readAllBytes(addOn));
+        String sha512 = DigestUtils.sha512Hex(Files.readAllBytes(addOn));
+        assertThat(checksumsDir.resolve(addOnFile("addon-a") + ".sha256"))
+                .hasContent(sha256 + "  " + addOnFile("addon-a") + "\n");
+        assertThat(checksumsDir.resolve(addOnFile("addon-a") + ".sha512"))
+                .hasContent(sha512 + "  " + addOnFile("addon-a") + "\n");
+        assertThat(Files.readString(checksumsDir.resolve(addOnFile("addon-a") + ".json")))
+                .contains("\"SHA-256\" : \"" + sha256 + "\"")
+                .contains("\"SHA-512\" : \"" + sha512 + "\"");
+    }
+
+    @Test
+    void shouldGenerateIndexWithTheChecksumsOfAllAddOns() throws Exception {
+        // When
+        BuildResult result = build(":checksums");
+
+        // Then
+        assertTaskSuccess(result, ":checksums");
+        assertThat(Files.readString(projectDir.resolve("build/zapAddOn/checksums.json")))
+                .contains("\"file\" : \"" + addOnFile("addon-a") + "\"")
+                .contains("\"file\" : \"" + addOnFile("addon-b") + "\"");
+    }
+
+    private static String addOnFile(String id) {
+        return id + "-" + AddOnStatus.ALPHA + "-" + ADD_ON_VERSION + ".zap";
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class PrepareAddOnReleaseFunctionalTest extends FunctionalTest {
+
+    private static final String PREPARE_RELEASE_TASK = ":prepareAddOnRelease";
+    private static final String PREPARE_NEXT_DEV_ITER_TASK = ":prepareAddOnNextDevIter";
+    private static final String UPDATE_CHANGELOG_TASK = ":updateChangelog";
+    private static final String CHANGELOG_FILE = "CHANGELOG.md";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        buildFile(
+                """
+                import org.zaproxy.gradle.addon.misc.PrepareAddOnRelease
+                plugins {
+                    java
+                    id("org.zaproxy.add-on")
+                }
+                repositories {
+                    mavenCentral()
+                }
+                version = "1.1.0"
+                zapAddOn {
+                    addOnName.set("Test Add-On")
+                    releaseLink.set("https://example.com/v@PREVIOUS_VERSION@...v@CURRENT_VERSION@")
+                    unreleasedLink.set("https://example.com/v@CURRENT_VERSION@...HEAD")
+                }
+                tasks.named<PrepareAddOnRelease>("prepareAddOnRelease") {
+                    releaseDate.set("2026-10-19")
+                }
+                """);
+    }
+
+    private void writeChangelog(String content) throws Exception {
+        createFile(content, projectDir.resolve(CHANGELOG_FILE));
+    }
+
+    private String readChangelog() throws Exception {
+        return Files.readString(projectDir.resolve(CHANGELOG_FILE));
+    }
+
+    @Test
+    void shouldReleaseUnreleasedSectionAndReplaceUnreleasedLink() throws Exception {
+        // Given
+        writeChangelog(
+                """
+                # Changelog
+
+                ## [Unreleased]
+                ### Added
+                - Feature.
+
+                ## [1.0.0] - 2020-01-01
+                ### Added
+                - First version.
+
+                [Unreleased]: https://example.com/v1.0.0...HEAD
+                [1.0.0]: https://example.com/releases/v1.0.0
+                """);
+
+        // When
+        BuildResult result = build(PREPARE_RELEASE_TASK);
+
+        // Then
+        assertTaskSuccess(result, PREPARE_RELEASE_TASK);
+        assertThat(readChangelog())
+                .isEqualTo(
+                        """
+                        # Changelog
+
+                        ## [1.1.0] - 2026-10-19
+                        ### Added
+                        - Feature.
+
+                        ## [1.0.0] - 2020-01-01
+                        ### Added
+                        - First version.
+
+                        [1.1.0]: https://example.com/v1.0.0...v1.1.0
+                        [1.0.0]: https://example.com/releases/v1.0.0
+                        """);
+    }
+
+    @Test
+    void shouldFailIfChangelogHasNoUnreleasedSection() throws Exception {
+        // Given
+        writeChangelog(
+                """
+                ## [1.0.0] - 2020-01-01
+                ### Added
+                - First version.
+                """);
+
+        // When
+        BuildResult result = buildAndFail(PREPARE_RELEASE_TASK);
+
+        // Then
+        assertTaskFailed(result, PREPARE_RELEASE_TASK);
+        assertThat(result.getOutput())
+                .contains("Changelog does not have the unreleased section.");
+    }
+
+    @Test
+    void shouldReleaseChangelogUpdatedByPreviousTaskInSameBuild() throws Exception {
+        // Given
+        writeChangelog(
+                """
+                ## [Unreleased]
+                ### Added
+                - Feature.
+
+                ## [1.0.0] - 2020-01-01
+                """);
+
+        // When
+        BuildResult result =
+                build(
+                        UPDATE_CHANGELOG_TASK,
+                        "--change-type",
+                        "ADDED",
+                        "--change",
+                        "- Other feature.",
+                        PREPARE_RELEASE_TASK);
+
+        // Then
+        assertTaskSuccess(result, UPDATE_CHANGELOG_TASK);
+        assertTaskSuccess(result, PREPARE_RELEASE_TASK);
+        assertThat(readChangelog())
+                .isEqualTo(
+                        """
+                        ## [1.1.0] - 2026-10-19
+                        ### Added
+                        - Other feature.
+                        - Feature.
+
+                        ## [1.0.0] - 2020-01-01
+
+                        [1.1.0]: https://example.com/v1.0.0...v1.1.0
+                        """);
+    }
+
+    @Test
+    void shouldAddUnreleasedSectionAndLinkForNextDevIter() throws Exception {
+        // Given
+        writeChangelog(
+                """
+                ## [1.1.0] - 2026-10-19
+                ### Added
+                - Feature.
+
+                [1.1.0]: https://example.com/v1.0.0...v1.1.0
+                """);
+
+        // When
+        BuildResult result = build(PREPARE_NEXT_DEV_ITER_TASK);
+
+        // Then
+        assertTaskSuccess(result, PREPARE_NEXT_DEV_ITER_TASK);
+        assertThat(readChangelog())
+                .isEqualTo(
+                        """
+                        ## [Unreleased]
+
+
+                        ## [1.1.0] - 2026-10-19
+                        ### Added
+                        - Feature.
+
+                        [Unreleased]: https://example.com/v1.1.0...HEAD
+                        [1.1.0]: https://example.com/v1.0.0...v1.1.0
+                        """);
+        assertThat(Files.readString(projectDir.resolve("build.gradle.kts")))
+                .contains("version = \"1.2.0\"");
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zaproxy.gradle.addon.FunctionalTest;
+
+class ReportUnreleasedChangesFunctionalTest extends FunctionalTest {
+
+    private static final String REPORT_TASK = ":reportUnreleasedChanges";
+
+    @BeforeEach
+    void setup() throws Exception {
+        settingsFile("include(\"addon-b\", \"addon-a\", \"addon-c\")");
+        buildFile(
+                """
+                plugins {
+                    id("org.zaproxy.add-on")
+                }
+                dependencies {
+                    zapAddOns(project(":addon-a"))
+                    zapAddOns(project(":addon-b"))
+                    zapAddOns(project(":addon-c"))
+                }
+                tasks.register<org.zaproxy.gradle.addon.misc.ReportUnreleasedChanges>("reportUnreleasedChanges")
+                """);
+        for (String name : new String[] {"addon-a", "addon-b", "addon-c"}) {
+            createFile(
+                    """
+                    plugins {
+                        java
+                        id("org.zaproxy.add-on")
+                    }
+                    repositories {
+                        mavenCentral()
+                    }
+                    zapAddOn {
+                        addOnName.set("Test Add-On")
+                    }
+                    """,
+                    projectDir.resolve(name).resolve("build.gradle.kts"));
+        }
+    }
+
+    @Test
+    void shouldReportUnreleasedChangesOfAllAddOns() throws Exception {
+        // Given
+        createFile(
+                """
+                # Changelog
+
+                ## Unreleased
+                ### Added
+                - Feature A.
+
+                ## [1.0.0] - 2020-01-01
+                ### Changed
+                - Old change.
+
+                [1.0.0]: https://example.com/1.0.0
+                """,
+                projectDir.resolve("addon-a/CHANGELOG.md"));
+        createFile(
+                """
+                ## [Unreleased]
+                ### Fixed
+                - Fix B.
+
+                [Unreleased]: https://example.com/unreleased
+                """,
+                projectDir.resolve("addon-b/CHANGELOG.md"));
+
+        // When
+        BuildResult result = build(REPORT_TASK);
+
+        // Then
+        assertTaskSuccess(result, REPORT_TASK);
+        assertThat(readReport())
+                .isEqualTo(
+                        """
+                        # Unreleased Changes
+
+                        ## addon-a
+                        ### Added
+                        - Feature A.
+
+                        ## addon-b
+                        ### Fixed
+                        - Fix B.
+
+                        ## addon-c
+                        No unreleased changes.
+                        """);
+    }
+
+    @Test
+    void shouldReportNoChangesIfNoUnreleasedSection() throws Exception {
+        // Given
+        createFile(
+                """
+                ## [1.0.0] - 2020-01-01
+                ### Changed
+                - Old change.
+                """,
+                projectDir.resolve("addon-a/CHANGELOG.md"));
+
+        // When
+        BuildResult result = build(REPORT_TASK);
+
+        // Then
+        assertTaskSuccess(result, REPORT_TASK);
+        assertThat(readReport()).contains("## addon-a\nNo unreleased changes.\n");
+    }
+
+    private String readReport() throws Exception {
+        Path report = projectDir.resolve("build/reports/zapAddOn/unreleased-changes.md");
+        return Files.readString(report);
+    }
+}
@@ -393,6 +393,129 @@ class UpdateChangelogFunctionalTest extends FunctionalTest {
                         """);
     }
 
+    @Test
+    void shouldAddChangesFromChangesFile() throws Exception {
+        // Given
+        writeChangelog(
+                """
+                ## Unreleased
+                ### Fixed
+                Old fix.
+
+                ## 1.0.0
+                """);
+        createFile(
+                """
+                [
+                  {"type": "added", "change": "Addition 1."},
+                  {"type": "Fixed", "change": "Fix 1."},
+                  {"change": "Change 1."},
+                  {"type": "added", "change": "Addition 2."}
+                ]
+                """,
+                projectDir.resolve("changes.json"));
+
+        // When
+        BuildResult result = runUpdateChangelog("--changes-file", "changes.json");
+
+        // Then
+        assertTaskSuccess(result, UPDATE_CHANGELOG_TASK);
+        assertThat(readChangelog())
+                .isEqualTo(
+                        """
+                        ## Unreleased
+                        ### Added
+                        Addition 1.
+                        Addition 2.
+
+                        ### Changed
+                        Change 1.
+
+                        ### Fixed
+                        Fix 1.
+                        Old fix.
+
+                        ## 1.0.0
+                        """);
+    }
+
+    @Test
+    void shouldNotAddDuplicateChangesFromChangesFile() throws Exception {
+        // Given
+        writeChangelog(
+                """
+                ## Unreleased
+                ### Changed
+                Entry 1.
+
+                ## 1.0.0
+                """);
+        createFile(
+                """
+                [
+                  {"change": "Entry 1."},
+                  {"change": "Entry 2."},
+                  {"change": "Entry 2."}
+                ]
+                """,
+                projectDir.resolve("changes.json"));
+
+        // When
+        BuildResult result =
+                runUpdateChangelog("--changes-file", "changes.json", "--change", "Entry 3.");
+
+        // Then
+        assertTaskSuccess(result, UPDATE_CHANGELOG_TASK);
+        assertThat(readChangelog())
+                .isEqualTo(
+                        """
+                        ## Unreleased
+                        ### Changed
+                        Entry 2.
+                        Entry 3.
+                        Entry 1.
+
+                        ## 1.0.0
+                        """);
+    }
+
+    @Test
+    void shouldNotAddDuplicateMultiLineChangesFromChangesFile() throws Exception {
+        // Given
+        writeChangelog(
+                """
+                ## Unreleased
+
+                ## 1.0.0
+                """);
+        createFile(
+                """
+                [
+                  {"change": "Entry 1.\\n  - Detail 1."},
+                  {"change": "Entry 2."},
+                  {"change": "Entry 1.\\r\\n  - Detail 1."}
+                ]
+                """,
+                projectDir.resolve("changes.json"));
+
+        // When
+        BuildResult result = runUpdateChangelog("--changes-file", "changes.json");
+
+        // Then
+        assertTaskSuccess(result, UPDATE_CHANGELOG_TASK);
+        assertThat(readChangelog())
+                .isEqualTo(
+                        """
+                        ## Unreleased
+                        ### Changed
+                        Entry 1.
+                          - Detail 1.
+                        Entry 2.
+
+                        ## 1.0.0
+                        """);
+    }
+
     @Test
     void shouldFailWhenChangeOptionIsNotProvided() throws Exception {
         // Given
@@ -22,6 +22,7 @@ package org.zaproxy.gradle.addon;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -37,6 +38,7 @@ import org.gradle.api.Task;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ConfigurationContainer;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.CopySpec;
 import org.gradle.api.file.Directory;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.DuplicatesStrategy;
@@ -48,32 +50,43 @@ import org.gradle.api.plugins.JavaPluginExtension;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.TaskContainer;
 import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.Jar;
 import org.gradle.language.base.plugins.LifecycleBasePlugin;
 import org.zaproxy.gradle.addon.apigen.ApiClientGenExtension;
+import org.zaproxy.gradle.addon.apigen.ApiGenJarService;
 import org.zaproxy.gradle.addon.apigen.tasks.GenerateApiClientFiles;
+import org.zaproxy.gradle.addon.internal.AddOnVariants;
 import org.zaproxy.gradle.addon.internal.Constants;
 import org.zaproxy.gradle.addon.internal.GitHubReleaseExtension;
+import org.zaproxy.gradle.addon.internal.ShareCommonHelpData;
 import org.zaproxy.gradle.addon.internal.model.AddOnRelease;
+import org.zaproxy.gradle.addon.internal.model.ProjectInfo;
 import org.zaproxy.gradle.addon.internal.tasks.CopyCommonHelpData;
+import org.zaproxy.gradle.addon.internal.tasks.CreateGitHubRelease;
 import org.zaproxy.gradle.addon.internal.tasks.CreatePullRequest;
 import org.zaproxy.gradle.addon.internal.tasks.CreateTagAndGitHubRelease;
+import org.zaproxy.gradle.addon.internal.tasks.GenerateAddOnInfo;
 import org.zaproxy.gradle.addon.internal.tasks.HandleRelease;
 import org.zaproxy.gradle.addon.internal.tasks.PrepareNextDevIter;
 import org.zaproxy.gradle.addon.internal.tasks.PrepareRelease;
 import org.zaproxy.gradle.addon.internal.tasks.UpdateHelpSetXmlLangAttr;
+import org.zaproxy.gradle.addon.jh.tasks.ConvertMarkdownHelp;
 import org.zaproxy.gradle.addon.jh.tasks.JavaHelpIndexer;
 import org.zaproxy.gradle.addon.manifest.BundledLibs;
 import org.zaproxy.gradle.addon.manifest.ManifestExtension;
 import org.zaproxy.gradle.addon.manifest.tasks.GenerateManifestFile;
+import org.zaproxy.gradle.addon.misc.BenchmarkAddOnLoad;
 import org.zaproxy.gradle.addon.misc.ConvertMarkdownToHtml;
 import org.zaproxy.gradle.addon.misc.CopyAddOn;
 import org.zaproxy.gradle.addon.misc.DeployAddOn;
 import org.zaproxy.gradle.addon.misc.ExtractLatestChangesFromChangelog;
+import org.zaproxy.gradle.addon.misc.GenerateChecksums;
 import org.zaproxy.gradle.addon.misc.InstallAddOn;
 import org.zaproxy.gradle.addon.misc.PrepareAddOnNextDevIter;
 import org.zaproxy.gradle.addon.misc.PrepareAddOnRelease;
+import org.zaproxy.gradle.addon.misc.ReportDuplicatedContents;
 import org.zaproxy.gradle.addon.misc.UninstallAddOn;
 import org.zaproxy.gradle.addon.misc.UpdateChangelog;
 
@@ -161,6 +174,31 @@ public class AddOnPlugin implements Plugin<Project> {
     static final String INSTALL_ADD_ON_TASK_DESC =
             "Installs the add-on into ZAP, listening on 8080 by default.";
 
+    /**
+     * The name of the task that benchmarks the load of the add-on in ZAP.
+     *
+     * @see org.zaproxy.gradle.addon.misc.BenchmarkAddOnLoad
+     */
+    public static final String BENCHMARK_ADD_ON_LOAD_TASK_NAME = "benchmarkZapAddOnLoad";
+
+    static final String BENCHMARK_ADD_ON_LOAD_TASK_DESC =
+            "Starts ZAP several times with and without the add-on and reports the load times and heap used.";
+
+    /**
+     * The name of the task that generates the checksums of the add-on.
+     *
+     * @see org.zaproxy.gradle.addon.misc.GenerateChecksums
+     */
+    public static final String GENERATE_CHECKSUMS_TASK_NAME = "generateZapAddOnChecksums";
+
+    /**
+     * The name of the task that reports the entries of the add-on with the same contents.
+     *
+     * @see org.zaproxy.gradle.addon.misc.ReportDuplicatedContents
+     */
+    public static final String REPORT_DUPLICATED_CONTENTS_TASK_NAME =
+            "reportZapAddOnDuplicatedContents";
+
     /**
      * The name of the task that extracts the changes from the latest version of the changelog of
      * the add-on.
@@ -178,6 +216,15 @@ public class AddOnPlugin implements Plugin<Project> {
      */
     public static final String GENERATE_MANIFEST_CHANGES_TASK_NAME = "generateManifestChanges";
 
+    /**
+     * The name of the task that converts the markdown help pages to JavaHelp.
+     *
+     * <p>Only registered if the directory {@code src/main/javahelp-markdown} exists.
+     *
+     * @see org.zaproxy.gradle.addon.jh.tasks.ConvertMarkdownHelp
+     */
+    public static final String CONVERT_MARKDOWN_HELP_TASK_NAME = "convertMarkdownHelp";
+
     /**
      * The name of the task that prepares the release of the add-on.
      *
@@ -243,6 +290,9 @@ public class AddOnPlugin implements Plugin<Project> {
     /** The name of the task that handles the release. */
     static final String HANDLE_RELEASE_TASK_NAME = "handleRelease";
 
+    /** The name of the task that generates the info of the add-on, published as a variant. */
+    static final String GENERATE_ADD_ON_INFO_TASK_NAME = "generateZapAddOnInfo";
+
     /** The name of the task that prepares the next development iteration. */
     static final String PREPARE_NEXT_DEV_ITER_TASK_NAME = "prepareNextDevIter";
 
@@ -319,9 +369,12 @@ public class AddOnPlugin implements Plugin<Project> {
                             setUpAddOn(project, extension, zapAddOnBuildDir);
                             setUpJavaHelp(project, extension, zapAddOnBuildDir);
                             setUpMiscTasks(project, extension, zapAddOnBuildDir);
-                            setUpApiClientGen(project, extension);
+                            setUpApiClientGen(project, extension, zapAddOnBuildDir);
                             setUpGitHubRelease(project, extension);
+                            setUpVariants(project, extension, zapAddOnBuildDir);
                         });
+
+        AddOnVariants.createConfigurations(project);
     }
 
     private static void setUpManifest(
@@ -582,7 +635,17 @@ public class AddOnPlugin implements Plugin<Project> {
         srcDir.set(srcDirFile);
 
         TaskProvider<Jar> addOnTask =
-                project.getTasks().named(JAR_ZAP_ADD_ON_TASK_NAME, Jar.class, t -> t.from(srcDir));
+                project.getTasks()
+                        .named(
+                                JAR_ZAP_ADD_ON_TASK_NAME,
+                                Jar.class,
+                                t -> {
+                                    t.getInputs()
+                                            .property(
+                                                    "shareCommonHelpData",
+                                                    extension.getShareCommonHelpData());
+                                    t.from(srcDir, spec -> shareCommonHelpData(spec, extension));
+                                });
 
         Directory mainJhiDestDir = zapAddOnBuildDir.dir("jhindexes").get();
 
@@ -623,6 +686,8 @@ public class AddOnPlugin implements Plugin<Project> {
                     addOnTask.configure(t -> t.from(jhi));
                 });
 
+        setUpMarkdownHelp(project, extension, zapAddOnBuildDir, addOnTask, mainJhiDestDir);
+
         TaskProvider<UpdateHelpSetXmlLangAttr> updateHelpSetXmlLangAttr =
                 project.getTasks()
                         .register(
@@ -635,7 +700,16 @@ public class AddOnPlugin implements Plugin<Project> {
                         .register(
                                 "copyCommonHelpData",
                                 CopyCommonHelpData.class,
-                                t -> t.getHelpSets().from(helpsetFileCollection));
+                                t -> {
+                                    t.getHelpSets().from(helpsetFileCollection);
+                                    t.mustRunAfter(updateHelpSetXmlLangAttr);
+                                });
+
+        // The tasks change the help files in place, the help must be indexed and packaged after.
+        project.getTasks()
+                .withType(JavaHelpIndexer.class)
+                .configureEach(t -> t.mustRunAfter(updateHelpSetXmlLangAttr, copyCommonHelpData));
+        addOnTask.configure(t -> t.mustRunAfter(updateHelpSetXmlLangAttr, copyCommonHelpData));
 
         project.getTasks()
                 .register(
@@ -643,6 +717,72 @@ public class AddOnPlugin implements Plugin<Project> {
                         t -> t.dependsOn(updateHelpSetXmlLangAttr, copyCommonHelpData));
     }
 
+    private static void shareCommonHelpData(CopySpec spec, AddOnPluginExtension extension) {
+        // Changes just ASCII references, keep the other bytes as is.
+        spec.setFilteringCharset(StandardCharsets.ISO_8859_1.name());
+        spec.eachFile(new ShareCommonHelpData(extension.getShareCommonHelpData()));
+    }
+
+    private static void setUpMarkdownHelp(
+            Project project,
+            AddOnPluginExtension extension,
+            DirectoryProperty zapAddOnBuildDir,
+            TaskProvider<Jar> addOnTask,
+            Directory mainJhiDestDir) {
+        File srcDir = project.file("src/main/javahelp-markdown");
+        if (!srcDir.isDirectory()) {
+            return;
+        }
+
+        TaskProvider<ConvertMarkdownHelp> convertMarkdownHelp =
+                project.getTasks()
+                        .register(
+                                CONVERT_MARKDOWN_HELP_TASK_NAME,
+                                ConvertMarkdownHelp.class,
+                                t -> {
+                                    t.setGroup(LifecycleBasePlugin.BUILD_GROUP);
+                                    t.getSource().set(srcDir);
+                                    t.getMapIdPrefix()
+                                            .set(extension.getAddOnId().map(id -> "addon." + id));
+                                    t.getOutputDir()
+                                            .set(zapAddOnBuildDir.dir("javahelp-markdown"));
+                                });
+        addOnTask.configure(
+                t -> t.from(convertMarkdownHelp, spec -> shareCommonHelpData(spec, extension)));
+
+        Provider<Directory> outputDir =
+                convertMarkdownHelp.flatMap(ConvertMarkdownHelp::getOutputDir);
+        Set<File> helpsets =
+                project.fileTree(srcDir)
+                        .filter(e -> e.getName().endsWith(Constants.HELPSET_FILE_EXTENSION))
+                        .getFiles();
+        for (File helpset : helpsets) {
+            String name = helpset.getParentFile().getName();
+            String helpsetDir = srcDir.toPath().relativize(helpset.toPath().getParent()).toString();
+            String helpsetPath = srcDir.toPath().relativize(helpset.toPath()).toString();
+
+            TaskProvider<JavaHelpIndexer> jhi =
+                    project.getTasks()
+                            .register(
+                                    "jhindexer-markdown-" + name,
+                                    JavaHelpIndexer.class,
+                                    t -> {
+                                        t.setDescription(
+                                                "Generates the JavaHelp indexes for "
+                                                        + name
+                                                        + " markdown dir.");
+                                        t.setGroup(LifecycleBasePlugin.BUILD_GROUP);
+
+                                        t.getHelpset().set(outputDir.map(d -> d.file(helpsetPath)));
+                                        t.getOutputPrefix().set(helpsetDir);
+                                        t.setSource(outputDir.map(d -> d.dir(helpsetDir)));
+                                        t.getDestinationDir()
+                                                .set(mainJhiDestDir.dir("markdown-" + name));
+                                    });
+            addOnTask.configure(t -> t.from(jhi));
+        }
+    }
+
     private static void setUpMiscTasks(
             Project project, AddOnPluginExtension extension, DirectoryProperty zapAddOnBuildDir) {
         project.getTasks()
@@ -661,6 +801,17 @@ public class AddOnPlugin implements Plugin<Project> {
                             t.setGroup(ZAP_TASK_GROUP_NAME);
                         });
 
+        TaskProvider<GenerateChecksums> generateChecksums =
+                project.getTasks()
+                        .register(
+                                GENERATE_CHECKSUMS_TASK_NAME,
+                                GenerateChecksums.class,
+                                t -> {
+                                    t.getAddOn().set(jarFile);
+                                    t.getOutputDir().set(zapAddOnBuildDir.dir("checksums"));
+                                });
+        jarZapAddOn.configure(t -> t.finalizedBy(generateChecksums));
+
         project.getTasks()
                 .register(
                         DEPLOY_ADD_ON_TASK_NAME,
@@ -699,6 +850,37 @@ public class AddOnPlugin implements Plugin<Project> {
                             t.getAddOn().set(jarFile);
                         });
 
+        project.getTasks()
+                .register(
+                        BENCHMARK_ADD_ON_LOAD_TASK_NAME,
+                        BenchmarkAddOnLoad.class,
+                        t -> {
+                            t.setDescription(BENCHMARK_ADD_ON_LOAD_TASK_DESC);
+                            t.setGroup(ZAP_TASK_GROUP_NAME);
+
+                            t.getClasspath()
+                                    .from(
+                                            project.getConfigurations()
+                                                    .named(ZAP_CONFIGURATION_NAME));
+                            t.getAddOn().set(jarFile);
+                            t.getReport()
+                                    .set(zapAddOnBuildDir.file("benchmark/add-on-load.json"));
+                        });
+
+        project.getTasks()
+                .register(
+                        REPORT_DUPLICATED_CONTENTS_TASK_NAME,
+                        ReportDuplicatedContents.class,
+                        t -> {
+                            t.getAddOn().set(jarFile);
+                            t.getReport()
+                                    .set(
+                                            project.getLayout()
+                                                    .getBuildDirectory()
+                                                    .file(
+                                                            "reports/zapAddOn/duplicated-contents.md"));
+                        });
+
         Provider<ExtractLatestChangesFromChangelog> extractLatestChanges =
                 project.getTasks()
                         .register(
@@ -750,7 +932,8 @@ public class AddOnPlugin implements Plugin<Project> {
                         t -> t.getChangelog().set(extension.getChangelog()));
     }
 
-    private static void setUpApiClientGen(Project project, AddOnPluginExtension extension) {
+    private static void setUpApiClientGen(
+            Project project, AddOnPluginExtension extension, DirectoryProperty zapAddOnBuildDir) {
         ApiClientGenExtension apiClientGenExtension =
                 ((ExtensionAware) extension)
                         .getExtensions()
@@ -765,6 +948,21 @@ public class AddOnPlugin implements Plugin<Project> {
                                 .named(JavaPlugin.COMPILE_CLASSPATH_CONFIGURATION_NAME))
                 .from(project.getTasks().named(JavaPlugin.JAR_TASK_NAME));
 
+        Provider<ApiGenJarService> apiGenJarService =
+                project.getGradle()
+                        .getSharedServices()
+                        .registerIfAbsent(
+                                ApiGenJarService.NAME,
+                                ApiGenJarService.class,
+                                spec ->
+                                        spec.getParameters()
+                                                .getCacheDir()
+                                                .set(
+                                                        new File(
+                                                                project.getGradle()
+                                                                        .getGradleUserHomeDir(),
+                                                                "caches/zap-add-on-plugin/apigen")));
+
         project.getTasks()
                 .register(
                         GENERATE_API_CLIENT_TASK_NAME,
@@ -774,6 +972,8 @@ public class AddOnPlugin implements Plugin<Project> {
                                         t,
                                         GENERATE_API_CLIENT_TASK_DESC,
                                         apiClientGenExtension,
+                                        apiGenJarService,
+                                        zapAddOnBuildDir,
                                         GenerateApiClientFiles.ALL_LANGUAGES));
 
         GenerateApiClientFiles.LANGUAGES.forEach(
@@ -789,6 +989,8 @@ public class AddOnPlugin implements Plugin<Project> {
                                                                 "Generates the %s API client files for the ZAP add-on.",
                                                                 lang),
                                                         apiClientGenExtension,
+                                                        apiGenJarService,
+                                                        zapAddOnBuildDir,
                                                         lang)));
     }
 
@@ -796,6 +998,8 @@ public class AddOnPlugin implements Plugin<Project> {
             GenerateApiClientFiles task,
             String description,
             ApiClientGenExtension extension,
+            Provider<ApiGenJarService> apiGenJarService,
+            DirectoryProperty zapAddOnBuildDir,
             String language) {
         task.setDescription(description);
         task.setGroup(ZAP_TASK_GROUP_NAME);
@@ -806,6 +1010,9 @@ public class AddOnPlugin implements Plugin<Project> {
         task.getBaseDir().set(extension.getBaseDir().getAsFile());
         task.getLanguage().set(language);
         task.getClasspath().setFrom(extension.getClasspath());
+        task.getStateDir().set(zapAddOnBuildDir.dir("apigen/" + task.getName()));
+        task.getApiGenJarService().set(apiGenJarService);
+        task.usesService(apiGenJarService);
     }
 
     private static void setUpGitHubRelease(Project project, AddOnPluginExtension extension) {
@@ -836,6 +1043,11 @@ public class AddOnPlugin implements Plugin<Project> {
                                                     .map(v -> "Release version " + v));
                             t.getCommitDescription()
                                     .set("Update changelog with release date and link to tag.");
+                            t.getFiles()
+                                    .from(
+                                            prepareRelease.flatMap(PrepareRelease::getChangelog),
+                                            prepareRelease.flatMap(
+                                                    PrepareRelease::getPropertiesFile));
 
                             t.dependsOn(prepareRelease);
                         });
@@ -916,8 +1128,60 @@ public class AddOnPlugin implements Plugin<Project> {
 
                             t.getCommitSummary().set("Prepare next dev iteration");
                             t.getCommitDescription().set("Update version and changelog.");
+                            t.getFiles()
+                                    .from(
+                                            prepareNextDevIter.flatMap(
+                                                    PrepareNextDevIter::getChangelog),
+                                            prepareNextDevIter.flatMap(
+                                                    PrepareNextDevIter::getPropertiesFile));
 
                             t.dependsOn(prepareNextDevIter);
                         });
     }
+
+    private static void setUpVariants(
+            Project project, AddOnPluginExtension extension, DirectoryProperty zapAddOnBuildDir) {
+        TaskContainer tasks = project.getTasks();
+        TaskProvider<CreateTagAndGitHubRelease> createRelease =
+                tasks.named(CREATE_RELEASE_TASK_NAME, CreateTagAndGitHubRelease.class);
+        TaskProvider<GenerateAddOnInfo> generateInfo =
+                tasks.register(
+                        GENERATE_ADD_ON_INFO_TASK_NAME,
+                        GenerateAddOnInfo.class,
+                        t -> {
+                            t.getAddOnId().set(extension.getAddOnId());
+                            t.getTag().set(createRelease.flatMap(CreateGitHubRelease::getTag));
+                            t.getTagMessage()
+                                    .set(
+                                            createRelease.flatMap(
+                                                    CreateTagAndGitHubRelease::getTagMessage));
+                            t.getTitle().set(createRelease.flatMap(CreateGitHubRelease::getTitle));
+                            t.getDownloadUrl().set(AddOnRelease.downloadUrl(project));
+                            t.getInfo().set(zapAddOnBuildDir.file("add-on-info.json"));
+                        });
+
+        AddOnVariants.publish(
+                project,
+                AddOnVariants.Artifact.ADD_ON,
+                tasks.named(JAR_ZAP_ADD_ON_TASK_NAME, Jar.class).flatMap(Jar::getArchiveFile));
+        AddOnVariants.publish(
+                project,
+                AddOnVariants.Artifact.CHECKSUMS,
+                tasks.named(GENERATE_CHECKSUMS_TASK_NAME, GenerateChecksums.class)
+                        .flatMap(GenerateChecksums::getIndex));
+        AddOnVariants.publish(
+                project, AddOnVariants.Artifact.CHANGELOG, extension.getChangelog());
+        AddOnVariants.publish(
+                project,
+                AddOnVariants.Artifact.LATEST_CHANGES,
+                createRelease.flatMap(CreateGitHubRelease::getBodyFile));
+        AddOnVariants.publish(
+                project,
+                AddOnVariants.Artifact.INFO,
+                generateInfo.flatMap(GenerateAddOnInfo::getInfo));
+        AddOnVariants.publish(
+                project,
+                AddOnVariants.Artifact.RELEASE_STATE,
+                ProjectInfo.from(project).getOutputFile());
+    }
 }
@@ -38,6 +38,7 @@ public class AddOnPluginExtension {
     private final RegularFileProperty changelog;
     private final Property<String> releaseLink;
     private final Property<String> unreleasedLink;
+    private final Property<Boolean> shareCommonHelpData;
 
     @Inject
     public AddOnPluginExtension(Project project) {
@@ -54,6 +55,7 @@ public class AddOnPluginExtension {
                 project.getLayout().getProjectDirectory().file(DEFAULT_CHANGELOG_NAME));
         this.releaseLink = project.getObjects().property(String.class);
         this.unreleasedLink = project.getObjects().property(String.class);
+        this.shareCommonHelpData = project.getObjects().property(Boolean.class).value(false);
     }
 
     public Property<String> getAddOnId() {
@@ -87,4 +89,16 @@ public class AddOnPluginExtension {
     public Property<String> getUnreleasedLink() {
         return unreleasedLink;
     }
+
+    /**
+     * Gets whether or not the translated help should share the common help data (e.g. images) with
+     * the main help in the add-on, instead of including its own copy.
+     *
+     * <p>Defaults to {@code false}.
+     *
+     * @return the property that holds whether or not to share the common help data.
+     */
+    public Property<Boolean> getShareCommonHelpData() {
+        return shareCommonHelpData;
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.apigen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.zaproxy.gradle.addon.AddOnPluginException;
+
+/**
+ * A build service that provides the {@code apigen.jar} bundled in the plugin.
+ *
+ * <p>The JAR is extracted to the cache directory once per version of the JAR, and reused by all
+ * builds afterwards.
+ */
+public abstract class ApiGenJarService implements BuildService<ApiGenJarService.Params> {
+
+    /** The name of the service. */
+    public static final String NAME = "zapApiGenJar";
+
+    private static final String APIGEN_JAR_RESOURCE = "org/zaproxy/gradle/addon/apigen/apigen.jar";
+
+    private Path jar;
+
+    public interface Params extends BuildServiceParameters {
+
+        DirectoryProperty getCacheDir();
+    }
+
+    /**
+     * Gets the {@code apigen.jar}, extracting it if not yet in the cache directory.
+     *
+     * @return the path to the JAR.
+     * @throws AddOnPluginException if an error occurred while extracting the JAR.
+     */
+    public synchronized Path getJar() {
+        if (jar == null) {
+            try {
+                jar = extractJar();
+            } catch (IOException e) {
+                throw new AddOnPluginException(
+                        "Failed to extract the apigen.jar: " + e.getMessage(), e);
+            }
+        }
+        return jar;
+    }
+
+    private Path extractJar() throws IOException {
+        byte[] contents;
+        try (InputStream in =
+                ApiGenJarService.class.getClassLoader().getResourceAsStream(APIGEN_JAR_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + APIGEN_JAR_RESOURCE);
+            }
+            contents = in.readAllBytes();
+        }
+
+        Path cacheDir = getParameters().getCacheDir().getAsFile().get().toPath();
+        Path target = cacheDir.resolve(DigestUtils.sha256Hex(contents)).resolve("apigen.jar");
+        if (Files.isRegularFile(target)) {
+            return target;
+        }
+
+        Files.createDirectories(target.getParent());
+        Path tempFile = Files.createTempFile(target.getParent(), "apigen", ".jar");
+        try {
+            Files.write(tempFile, contents);
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Extracted concurrently by other build.
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return target;
+    }
+}
@@ -21,31 +21,42 @@ package org.zaproxy.gradle.addon.apigen.tasks;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Properties;
 import javax.inject.Inject;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
-import org.gradle.process.ExecOperations;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+import org.zaproxy.gradle.addon.apigen.ApiGenJarService;
 
-/** A task to generate the API client files of an add-on. */
+/**
+ * A task to generate the API client files of an add-on.
+ *
+ * <p>The output is the {@link #getStateDir() state directory} of the task, the generated
+ * directories of the client repositories, under the base directory, are not declared as outputs
+ * as they are shared with other add-ons and tasks. The task is up-to-date while the API and the
+ * base directory do not change, even if the client files are changed by other means, and it is
+ * not cacheable, the client files would not be restored from the build cache.
+ */
 public class GenerateApiClientFiles extends DefaultTask {
 
     public static final List<String> LANGUAGES =
@@ -59,10 +70,11 @@ public class GenerateApiClientFiles extends DefaultTask {
     private final Property<File> baseDir;
     private final Property<String> language;
     private final ConfigurableFileCollection classpath;
-    private final ObjectFactory objects;
+    private final DirectoryProperty stateDir;
+    private final Property<ApiGenJarService> apiGenJarService;
 
     public GenerateApiClientFiles() {
-        objects = getProject().getObjects();
+        ObjectFactory objects = getProject().getObjects();
         api = objects.property(String.class);
         options = objects.property(String.class);
         messages = objects.fileProperty();
@@ -70,10 +82,12 @@ public class GenerateApiClientFiles extends DefaultTask {
         baseDir.set(getProject().getRootDir().getParentFile());
         language = objects.property(String.class).value(ALL_LANGUAGES);
         classpath = objects.fileCollection();
+        stateDir = objects.directoryProperty();
+        apiGenJarService = objects.property(ApiGenJarService.class);
     }
 
     @Inject
-    protected ExecOperations getExecOperations() {
+    protected WorkerExecutor getWorkerExecutor() {
         throw new UnsupportedOperationException();
     }
 
@@ -95,8 +109,7 @@ public class GenerateApiClientFiles extends DefaultTask {
         return messages;
     }
 
-    @Input
-    @Optional
+    @Internal
     public Property<File> getBaseDir() {
         return baseDir;
     }
@@ -112,12 +125,36 @@ public class GenerateApiClientFiles extends DefaultTask {
         return classpath;
     }
 
+    @Input
+    protected String getBaseDirPath() {
+        return baseDir.get().getAbsolutePath();
+    }
+
+    /**
+     * Gets the directory where the generated files are tracked, to remove the files no longer
+     * generated.
+     *
+     * <p>Should be specific to the task, it's the output of the task.
+     *
+     * @return the property that holds the directory.
+     */
+    @OutputDirectory
+    public DirectoryProperty getStateDir() {
+        return stateDir;
+    }
+
+    @Internal
+    public Property<ApiGenJarService> getApiGenJarService() {
+        return apiGenJarService;
+    }
+
     @TaskAction
     public void generate() throws IOException {
         Path wd = getTemporaryDir().toPath();
 
         // For compatibility with ZAP <= 2.7.0.
-        Path messagesProperties = wd.resolve("resources/lang/Messages.properties");
+        Path resourcesDir = wd.resolve("resources");
+        Path messagesProperties = resourcesDir.resolve("lang/Messages.properties");
         Files.createDirectories(messagesProperties.getParent());
         if (messages.isPresent()) {
             Files.copy(
@@ -129,30 +166,41 @@ public class GenerateApiClientFiles extends DefaultTask {
             Files.createFile(messagesProperties);
         }
 
-        Path apiGenJar = wd.resolve("apigen.jar");
-        try (InputStream in =
-                GenerateApiClientFiles.class
-                        .getClassLoader()
-                        .getResourceAsStream("org/zaproxy/gradle/addon/apigen/apigen.jar")) {
-            Files.copy(in, apiGenJar, StandardCopyOption.REPLACE_EXISTING);
+        File apiGenJar = apiGenJarService.get().getJar().toFile();
+        WorkQueue workQueue =
+                getWorkerExecutor()
+                        .classLoaderIsolation(
+                                spec ->
+                                        spec.getClasspath()
+                                                .from(
+                                                        classpath,
+                                                        apiGenJar,
+                                                        resourcesDir.toFile()));
+
+        for (String lang : getLanguages()) {
+            workQueue.submit(
+                    GenerateApiClientFilesAction.class,
+                    params -> {
+                        params.getApi().set(api);
+                        params.getOptions().set(options);
+                        params.getBaseDir().set(baseDir.get());
+                        params.getStateDir().set(stateDir);
+                        params.getLanguage().set(lang);
+                    });
         }
+    }
 
-        try (OutputStream out = Files.newOutputStream(wd.resolve("apigen.properties"))) {
-            Properties conf = new Properties();
-            conf.setProperty("api", api.get());
-            conf.setProperty("options", options.isPresent() ? options.get() : "");
-            conf.setProperty("basedir", baseDir.get().getAbsolutePath());
-            conf.setProperty("language", language.getOrElse(ALL_LANGUAGES));
-            conf.store(out, null);
+    private List<String> getLanguages() {
+        String lang = language.getOrElse(ALL_LANGUAGES);
+        if (ALL_LANGUAGES.equalsIgnoreCase(lang)) {
+            return LANGUAGES;
         }
-
-        getExecOperations()
-                .javaexec(
-                        spec -> {
-                            spec.setClasspath(
-                                    objects.fileCollection().from(classpath, apiGenJar.toFile()));
-                            spec.setWorkingDir(wd.toFile());
-                            spec.getMainClass().set("org.zaproxy.zap.extension.api.ApiGenerator");
-                        });
+        for (String supportedLanguage : LANGUAGES) {
+            if (supportedLanguage.equalsIgnoreCase(lang)) {
+                return Collections.singletonList(supportedLanguage);
+            }
+        }
+        throw new InvalidUserDataException(
+                "Unknown language " + lang + ", expected one of: " + LANGUAGES);
     }
 }
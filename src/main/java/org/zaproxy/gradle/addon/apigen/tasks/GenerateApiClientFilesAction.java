@@ -0,0 +1,108 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.apigen.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.function.BiPredicate;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.zaproxy.gradle.addon.AddOnPluginException;
+import org.zaproxy.gradle.addon.internal.FileContents;
+
+/**
+ * The work action that generates the API client files of one language.
+ *
+ * <p>Runs in a class loader with the {@code apigen.jar} and the classpath of the add-on, the
+ * generator is called through reflection as it's not available to the plugin.
+ */
+public abstract class GenerateApiClientFilesAction
+        implements WorkAction<GenerateApiClientFilesAction.Parameters> {
+
+    private static final String API_GENERATOR_CLASSNAME =
+            "org.zaproxy.zap.extension.api.ApiGenerator";
+
+    public interface Parameters extends WorkParameters {
+
+        Property<String> getApi();
+
+        Property<String> getOptions();
+
+        DirectoryProperty getBaseDir();
+
+        DirectoryProperty getStateDir();
+
+        Property<String> getLanguage();
+    }
+
+    @Override
+    public void execute() {
+        Parameters params = getParameters();
+        try {
+            Class<?> apiGenerator =
+                    Class.forName(
+                            API_GENERATOR_CLASSNAME,
+                            true,
+                            GenerateApiClientFilesAction.class.getClassLoader());
+            Method generate =
+                    apiGenerator.getMethod(
+                            "generate",
+                            Path.class,
+                            Path.class,
+                            String.class,
+                            String.class,
+                            String.class,
+                            BiPredicate.class);
+            generate.invoke(
+                    null,
+                    params.getBaseDir().getAsFile().get().toPath(),
+                    params.getStateDir().getAsFile().get().toPath(),
+                    params.getApi().get(),
+                    params.getOptions().getOrElse(""),
+                    params.getLanguage().get(),
+                    (BiPredicate<Path, Path>) GenerateApiClientFilesAction::hasSameContents);
+        } catch (InvocationTargetException e) {
+            throw new AddOnPluginException(
+                    "Failed to generate the "
+                            + params.getLanguage().get()
+                            + " API client files: "
+                            + e.getCause(),
+                    e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new AddOnPluginException(
+                    "Failed to call the API generator, the apigen.jar is not valid: "
+                            + e.getMessage(),
+                    e);
+        }
+    }
+
+    private static boolean hasSameContents(Path source, Path target) {
+        try {
+            return FileContents.hasSameContents(source, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal;
+
+import java.io.File;
+import java.util.Set;
+import org.gradle.api.Action;
+import org.gradle.api.NamedDomainObjectProvider;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ConfigurationContainer;
+import org.gradle.api.artifacts.DependencyScopeConfiguration;
+import org.gradle.api.artifacts.ProjectDependency;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.attributes.AttributeContainer;
+import org.gradle.api.attributes.Category;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
+import org.zaproxy.gradle.addon.internal.model.AddOnInfo;
+
+/**
+ * The variants of the add-ons, to share the add-ons of a multi-project build with the tasks that
+ * handle several add-ons, usually registered in the root project.
+ *
+ * <p>The projects that assemble an add-on publish its artifacts, for example, the add-on and its
+ * checksums, as variants of the consumable configuration {@value #ELEMENTS_CONFIGURATION_NAME}.
+ * The project with the tasks declares the add-on projects in the configuration {@value
+ * #DEPENDENCIES_CONFIGURATION_NAME}, for example:
+ *
+ * <pre>{@code
+ * dependencies {
+ *     zapAddOns(project(":addOns:addon-a"))
+ * }
+ * }</pre>
+ *
+ * <p>and the tasks resolve the artifacts through the configuration {@value
+ * #ARTIFACTS_CONFIGURATION_NAME}, which also builds them, as needed.
+ */
+public final class AddOnVariants {
+
+    /** The name of the configuration to declare the projects of the add-ons. */
+    public static final String DEPENDENCIES_CONFIGURATION_NAME = "zapAddOns";
+
+    /** The name of the configuration to resolve the artifacts of the add-ons. */
+    public static final String ARTIFACTS_CONFIGURATION_NAME = "zapAddOnArtifacts";
+
+    /** The name of the configuration with the artifacts of the add-on. */
+    public static final String ELEMENTS_CONFIGURATION_NAME = "zapAddOnElements";
+
+    /** The attribute that identifies the artifact of the add-on. */
+    public static final Attribute<String> ARTIFACT_ATTRIBUTE =
+            Attribute.of("org.zaproxy.add-on.artifact", String.class);
+
+    private static final String CATEGORY = "zap-add-on";
+
+    /** The artifacts of an add-on. */
+    public enum Artifact {
+        /** The add-on file. */
+        ADD_ON("add-on"),
+        /** The checksums of the add-on. */
+        CHECKSUMS("checksums"),
+        /** The changelog, might not exist. */
+        CHANGELOG("changelog"),
+        /** The changes of the latest version, extracted from the changelog. */
+        LATEST_CHANGES("latest-changes"),
+        /** The {@link AddOnInfo info} of the add-on. */
+        INFO("info"),
+        /** The release state, generated by a previous build, might not exist. */
+        RELEASE_STATE("release-state");
+
+        private final String value;
+
+        private Artifact(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    private AddOnVariants() {}
+
+    /**
+     * Creates the configurations to declare the projects of the add-ons and resolve their
+     * artifacts, if not already created.
+     *
+     * @param project the project that handles several add-ons.
+     */
+    public static void createConfigurations(Project project) {
+        ConfigurationContainer confs = project.getConfigurations();
+        if (confs.getNames().contains(DEPENDENCIES_CONFIGURATION_NAME)) {
+            return;
+        }
+
+        NamedDomainObjectProvider<DependencyScopeConfiguration> addOns =
+                confs.dependencyScope(
+                        DEPENDENCIES_CONFIGURATION_NAME,
+                        c -> c.setDescription("The projects of the add-ons."));
+        confs.resolvable(
+                ARTIFACTS_CONFIGURATION_NAME,
+                c -> {
+                    c.setDescription("The artifacts of the add-ons.");
+                    c.extendsFrom(addOns.get());
+                    setCategory(project, c.getAttributes());
+                });
+    }
+
+    /**
+     * Publishes the given artifact of the add-on assembled by the given project.
+     *
+     * @param project the project that assembles the add-on.
+     * @param artifact the artifact.
+     * @param file the file of the artifact, as accepted by {@link
+     *     org.gradle.api.artifacts.ConfigurationPublications#artifact(Object)}.
+     */
+    public static void publish(Project project, Artifact artifact, Object file) {
+        ConfigurationContainer confs = project.getConfigurations();
+        if (!confs.getNames().contains(ELEMENTS_CONFIGURATION_NAME)) {
+            confs.consumable(
+                    ELEMENTS_CONFIGURATION_NAME,
+                    c -> {
+                        c.setDescription("The artifacts of the add-on.");
+                        setCategory(project, c.getAttributes());
+                        c.getAttributes()
+                                .attribute(ARTIFACT_ATTRIBUTE, Artifact.ADD_ON.toString());
+                    });
+        }
+
+        confs.named(
+                ELEMENTS_CONFIGURATION_NAME,
+                c -> {
+                    if (artifact == Artifact.ADD_ON) {
+                        c.getOutgoing().artifact(file);
+                        return;
+                    }
+                    c.getOutgoing()
+                            .getVariants()
+                            .create(
+                                    artifact.toString(),
+                                    variant -> {
+                                        variant.getAttributes()
+                                                .attribute(ARTIFACT_ATTRIBUTE, artifact.toString());
+                                        variant.artifact(file);
+                                    });
+                });
+    }
+
+    /**
+     * Executes the given action for each project of the add-ons, declared before or after this
+     * call.
+     *
+     * @param project the project that handles several add-ons.
+     * @param action the action to execute with the path of the project of the add-on.
+     */
+    public static void eachAddOn(Project project, Action<String> action) {
+        createConfigurations(project);
+        project.getConfigurations()
+                .named(
+                        DEPENDENCIES_CONFIGURATION_NAME,
+                        c ->
+                                c.getDependencies()
+                                        .withType(ProjectDependency.class)
+                                        .configureEach(dep -> action.execute(dep.getPath())));
+    }
+
+    /**
+     * Gets the files of the given artifact of all the add-ons.
+     *
+     * @param project the project that handles several add-ons.
+     * @param artifact the artifact.
+     * @return the files, built as needed.
+     */
+    public static FileCollection files(Project project, Artifact artifact) {
+        return files(project, artifact, id -> true);
+    }
+
+    /**
+     * Gets the files of the given artifact of the add-on of the given project.
+     *
+     * @param project the project that handles several add-ons.
+     * @param projectPath the path of the project of the add-on.
+     * @param artifact the artifact.
+     * @return the files, built as needed.
+     */
+    public static FileCollection files(Project project, String projectPath, Artifact artifact) {
+        return files(
+                project,
+                artifact,
+                id ->
+                        id instanceof ProjectComponentIdentifier
+                                && projectPath.equals(
+                                        ((ProjectComponentIdentifier) id).getProjectPath()));
+    }
+
+    /**
+     * Gets the file of the given artifact of the add-on of the given project.
+     *
+     * @param project the project that handles several add-ons.
+     * @param projectPath the path of the project of the add-on.
+     * @param artifact the artifact.
+     * @return the file, built as needed.
+     */
+    public static Provider<RegularFile> file(
+            Project project, String projectPath, Artifact artifact) {
+        return project.getLayout()
+                .file(
+                        files(project, projectPath, artifact)
+                                .getElements()
+                                .map(AddOnVariants::singleFile));
+    }
+
+    /**
+     * Gets the info of the add-on of the given project.
+     *
+     * <p>The info is read once the file is generated.
+     *
+     * @param project the project that handles several add-ons.
+     * @param projectPath the path of the project of the add-on.
+     * @return the info.
+     */
+    public static Provider<AddOnInfo> info(Project project, String projectPath) {
+        return files(project, projectPath, Artifact.INFO)
+                .getElements()
+                .map(elements -> AddOnInfo.read(singleFile(elements)));
+    }
+
+    private static FileCollection files(
+            Project project, Artifact artifact, Spec<ComponentIdentifier> componentFilter) {
+        createConfigurations(project);
+        return project.getConfigurations()
+                .getByName(ARTIFACTS_CONFIGURATION_NAME)
+                .getIncoming()
+                .artifactView(
+                        view -> {
+                            view.componentFilter(componentFilter);
+                            view.attributes(
+                                    attributes ->
+                                            attributes.attribute(
+                                                    ARTIFACT_ATTRIBUTE, artifact.toString()));
+                        })
+                .getFiles();
+    }
+
+    private static File singleFile(Set<FileSystemLocation> elements) {
+        if (elements.size() != 1) {
+            throw new BuildException(
+                    "Expected one file from the add-on but got: " + elements.size());
+        }
+        return elements.iterator().next().getAsFile();
+    }
+
+    private static void setCategory(Project project, AttributeContainer attributes) {
+        attributes.attribute(
+                Category.CATEGORY_ATTRIBUTE,
+                project.getObjects().named(Category.class, CATEGORY));
+    }
+}
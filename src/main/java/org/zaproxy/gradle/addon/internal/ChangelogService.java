@@ -0,0 +1,115 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.zaproxy.gradle.addon.internal.model.Changelog;
+
+/**
+ * A build service that parses the changelogs, caching them by the path, size, and last
+ * modified time of the file.
+ *
+ * <p>Allows the tasks that read or update the same changelog in a build to parse it just once, the
+ * file is read only if not already cached.
+ */
+public abstract class ChangelogService implements BuildService<BuildServiceParameters.None> {
+
+    /** The name of the service. */
+    public static final String NAME = "zapChangelog";
+
+    private final Map<Key, Changelog> changelogs = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the service, if not already registered.
+     *
+     * @param project the project to register the service.
+     * @return the provider of the service.
+     */
+    public static Provider<ChangelogService> register(Project project) {
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent(NAME, ChangelogService.class, spec -> {});
+    }
+
+    /**
+     * Gets the parsed changelog with the current contents of the given file.
+     *
+     * @param file the changelog file.
+     * @return the changelog.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public Changelog parse(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Key key =
+                new Key(
+                        file.toAbsolutePath().normalize(),
+                        attributes.size(),
+                        attributes.lastModifiedTime().toMillis());
+        Changelog changelog = changelogs.get(key);
+        if (changelog == null) {
+            changelog = Changelog.parse(Files.readString(file, StandardCharsets.UTF_8));
+            changelogs.put(key, changelog);
+        }
+        return changelog;
+    }
+
+    private static final class Key {
+
+        private final Path file;
+        private final long size;
+        private final long lastModified;
+
+        Key(Path file, long size, long lastModified) {
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(file, size, lastModified);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return size == other.size
+                    && lastModified == other.lastModified
+                    && file.equals(other.file);
+        }
+    }
+}
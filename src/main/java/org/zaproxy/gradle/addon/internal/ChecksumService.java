@@ -0,0 +1,226 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.commons.codec.binary.Hex;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * A build service that computes the checksums of files, caching them by the path, size, and last
+ * modified time of the file.
+ *
+ * <p>The files are read once for all the algorithms, through a reused direct buffer, and, when
+ * several, in parallel. The files are not memory-mapped, which would keep them locked on Windows
+ * until the buffers are garbage collected.
+ */
+public abstract class ChecksumService implements BuildService<BuildServiceParameters.None> {
+
+    /** The name of the service. */
+    public static final String NAME = "zapChecksum";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Map<Key, String> checksums = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<ByteBuffer> buffers =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    /**
+     * Registers the service, if not already registered.
+     *
+     * @param project the project to register the service.
+     * @return the provider of the service.
+     */
+    public static Provider<ChecksumService> register(Project project) {
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent(NAME, ChecksumService.class, spec -> {});
+    }
+
+    /**
+     * Gets the checksum of the given file.
+     *
+     * @param algorithm the algorithm of the checksum, for example, {@code SHA-256}.
+     * @param file the file.
+     * @return the checksum, in hexadecimal.
+     * @throws IOException if an error occurred while reading the file.
+     * @throws IllegalArgumentException if the algorithm is not supported.
+     */
+    public String checksum(String algorithm, Path file) throws IOException {
+        return checksums(file, List.of(algorithm)).get(algorithm);
+    }
+
+    /**
+     * Gets the checksums of the given file, for each of the given algorithms.
+     *
+     * <p>The checksums not yet cached are computed with a single read of the file.
+     *
+     * @param file the file.
+     * @param algorithms the algorithms of the checksums, for example, {@code SHA-256}.
+     * @return the checksums, in hexadecimal, by algorithm, in the order of the given algorithms.
+     * @throws IOException if an error occurred while reading the file.
+     * @throws IllegalArgumentException if an algorithm is not supported.
+     */
+    public Map<String, String> checksums(Path file, List<String> algorithms) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Path path = file.toAbsolutePath().normalize();
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        List<String> missing = new ArrayList<>();
+        for (String algorithm : algorithms) {
+            if (!checksums.containsKey(new Key(algorithm, path, size, lastModified))) {
+                missing.add(algorithm);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<String> computed = computeChecksums(missing, file);
+            for (int i = 0; i < missing.size(); i++) {
+                checksums.put(new Key(missing.get(i), path, size, lastModified), computed.get(i));
+            }
+        }
+
+        Map<String, String> fileChecksums = new LinkedHashMap<>();
+        for (String algorithm : algorithms) {
+            fileChecksums.put(
+                    algorithm, checksums.get(new Key(algorithm, path, size, lastModified)));
+        }
+        return fileChecksums;
+    }
+
+    /**
+     * Gets the checksums of the given files, computed in parallel.
+     *
+     * @param algorithm the algorithm of the checksums, for example, {@code SHA-256}.
+     * @param files the files.
+     * @return the checksums, in hexadecimal, by file, in the order of the given files.
+     * @throws IOException if an error occurred while reading the files.
+     * @throws IllegalArgumentException if the algorithm is not supported.
+     */
+    public Map<Path, String> checksums(String algorithm, Collection<Path> files)
+            throws IOException {
+        try {
+            return files.parallelStream()
+                    .distinct()
+                    .collect(
+                            Collectors.toMap(
+                                    file -> file,
+                                    file -> checksumUnchecked(algorithm, file),
+                                    (a, b) -> a,
+                                    LinkedHashMap::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private String checksumUnchecked(String algorithm, Path file) {
+        try {
+            return checksum(algorithm, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> computeChecksums(List<String> algorithms, Path file)
+            throws IOException {
+        List<MessageDigest> digests = new ArrayList<>(algorithms.size());
+        for (String algorithm : algorithms) {
+            try {
+                digests.add(MessageDigest.getInstance(algorithm));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        ByteBuffer buffer = buffers.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                for (MessageDigest digest : digests) {
+                    digest.update(buffer.duplicate());
+                }
+                buffer.clear();
+            }
+        }
+
+        List<String> checksums = new ArrayList<>(digests.size());
+        for (MessageDigest digest : digests) {
+            checksums.add(Hex.encodeHexString(digest.digest()));
+        }
+        return checksums;
+    }
+
+    private static final class Key {
+
+        private final String algorithm;
+        private final Path file;
+        private final long size;
+        private final long lastModified;
+
+        Key(String algorithm, Path file, long size, long lastModified) {
+            this.algorithm = algorithm;
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(algorithm, file, size, lastModified);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return size == other.size
+                    && lastModified == other.lastModified
+                    && algorithm.equals(other.algorithm)
+                    && file.equals(other.file);
+        }
+    }
+}
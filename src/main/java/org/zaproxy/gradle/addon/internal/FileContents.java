@@ -0,0 +1,81 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/** Utility methods to compare the contents of files and to link them. */
+public final class FileContents {
+
+    private static final Logger LOGGER = Logging.getLogger(FileContents.class);
+
+    private FileContents() {}
+
+    /**
+     * Tells whether or not the target has the same contents as the source.
+     *
+     * <p>The contents are hashed (SHA-256) only if the target is a regular file, not the same file
+     * as the source, and with the same size.
+     *
+     * @param source the source file.
+     * @param target the target file, might not exist.
+     * @return {@code true} if the target has the same contents, {@code false} otherwise.
+     * @throws IOException if an error occurred while reading the files.
+     */
+    public static boolean hasSameContents(Path source, Path target) throws IOException {
+        if (!Files.isRegularFile(target)) {
+            return false;
+        }
+        if (Files.isSameFile(source, target)) {
+            return true;
+        }
+        if (Files.size(source) != Files.size(target)) {
+            return false;
+        }
+        DigestUtils digest = new DigestUtils("SHA-256");
+        return Arrays.equals(digest.digest(source.toFile()), digest.digest(target.toFile()));
+    }
+
+    /**
+     * Creates a hard link to the source, at the target.
+     *
+     * <p>The target must not exist.
+     *
+     * @param source the source file.
+     * @param target the link to create.
+     * @return {@code true} if the link was created, {@code false} if not supported (e.g. different
+     *     file stores), in which case the file should be copied instead.
+     */
+    public static boolean createLink(Path source, Path target) {
+        try {
+            Files.createLink(target, source);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.debug("Failed to link {}, copying instead: {}", target, e.getMessage());
+            return false;
+        }
+    }
+}
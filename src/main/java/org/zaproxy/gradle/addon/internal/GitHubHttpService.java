@@ -0,0 +1,328 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.kohsuke.github.extras.HttpClientGitHubConnector;
+
+/**
+ * A build service that provides the HTTP client used to access the GitHub API.
+ *
+ * <p>The client is shared by all the tasks, which allows to reuse the connections, and the requests
+ * sent through the service are retried, with jitter, on server errors and rate limits. The latency
+ * and attempts of all the requests are written to a report when the build finishes.
+ */
+public abstract class GitHubHttpService
+        implements BuildService<GitHubHttpService.Params>, AutoCloseable {
+
+    /** The name of the service. */
+    public static final String NAME = "zapGitHubHttp";
+
+    /** The default URL of the GitHub API. */
+    public static final String DEFAULT_API_URL = "https://api.github.com";
+
+    /** The default timeout of the requests. */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** The default maximum number of attempts to send a request. */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private static final Logger LOGGER = Logging.getLogger(GitHubHttpService.class);
+
+    private static final String CONNECT_TIMEOUT_PROPERTY = "zap.github.connect-timeout";
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final String REPORT_PATH = "build/reports/zapAddOn/github-requests.json";
+
+    private static final long INITIAL_BACKOFF_MS = 1000;
+    private static final long MAX_RETRY_AFTER_MS = 60_000;
+
+    private final Queue<RequestMetrics> metrics = new ConcurrentLinkedQueue<>();
+    private HttpClient client;
+
+    public interface Params extends BuildServiceParameters {
+
+        Property<Duration> getConnectTimeout();
+
+        RegularFileProperty getReport();
+    }
+
+    /**
+     * Registers the service, if not already registered.
+     *
+     * <p>The connect timeout, in seconds, can be set with the Gradle property {@code
+     * zap.github.connect-timeout}.
+     *
+     * @param project the project to register the service.
+     * @return the provider of the service.
+     */
+    public static Provider<GitHubHttpService> register(Project project) {
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent(
+                        NAME,
+                        GitHubHttpService.class,
+                        spec -> {
+                            spec.getParameters()
+                                    .getConnectTimeout()
+                                    .set(
+                                            project.getProviders()
+                                                    .gradleProperty(CONNECT_TIMEOUT_PROPERTY)
+                                                    .map(Long::parseLong)
+                                                    .map(Duration::ofSeconds)
+                                                    .orElse(DEFAULT_CONNECT_TIMEOUT));
+                            spec.getParameters()
+                                    .getReport()
+                                    .set(
+                                            project.getIsolated()
+                                                    .getRootProject()
+                                                    .getProjectDirectory()
+                                                    .file(REPORT_PATH));
+                        });
+    }
+
+    /**
+     * Gets the HTTP client, created on first use.
+     *
+     * @return the HTTP client.
+     */
+    public synchronized HttpClient getClient() {
+        if (client == null) {
+            client =
+                    HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_2)
+                            .connectTimeout(getParameters().getConnectTimeout().get())
+                            .followRedirects(HttpClient.Redirect.NORMAL)
+                            .build();
+        }
+        return client;
+    }
+
+    /**
+     * Creates a connector for the GitHub API client that uses the shared HTTP client and records
+     * the metrics of the requests.
+     *
+     * <p>The retries are left to the GitHub API client.
+     *
+     * @param operation the name of the operation, for the report.
+     * @return the connector.
+     */
+    public GitHubConnector createConnector(String operation) {
+        GitHubConnector connector = new HttpClientGitHubConnector(getClient());
+        return request -> {
+            long start = System.nanoTime();
+            GitHubConnectorResponse response = connector.send(request);
+            metrics.add(
+                    new RequestMetrics(
+                            operation,
+                            request.method(),
+                            request.url().toString(),
+                            response.statusCode(),
+                            1,
+                            elapsedMs(start)));
+            return response;
+        };
+    }
+
+    /**
+     * Sends the given request, retrying on server errors and rate limits.
+     *
+     * <p>The retries are delayed as indicated by the {@code Retry-After} header or, if not
+     * present, with exponential backoff and jitter.
+     *
+     * @param operation the name of the operation, for the logs and report.
+     * @param request the request to send.
+     * @param maxAttempts the maximum number of attempts.
+     * @return the response of the last attempt.
+     * @throws IOException if an error occurred while sending the request in the last attempt.
+     */
+    public HttpResponse<String> send(String operation, HttpRequest request, int maxAttempts)
+            throws IOException {
+        long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response = null;
+            try {
+                response = getClient().send(request, HttpResponse.BodyHandlers.ofString());
+                if (attempt == maxAttempts || !isRetryable(response)) {
+                    metrics.add(
+                            new RequestMetrics(
+                                    operation,
+                                    request.method(),
+                                    request.uri().toString(),
+                                    response.statusCode(),
+                                    attempt,
+                                    elapsedMs(start)));
+                    return response;
+                }
+                LOGGER.warn(
+                        "The {} failed with status code {}, retrying.",
+                        operation,
+                        response.statusCode());
+            } catch (IOException e) {
+                if (attempt == maxAttempts) {
+                    metrics.add(
+                            new RequestMetrics(
+                                    operation,
+                                    request.method(),
+                                    request.uri().toString(),
+                                    -1,
+                                    attempt,
+                                    elapsedMs(start)));
+                    throw e;
+                }
+                LOGGER.warn("The {} failed, retrying: {}", operation, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while sending the " + operation);
+            }
+
+            try {
+                Thread.sleep(retryDelay(response, attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while sending the " + operation);
+            }
+        }
+    }
+
+    private static boolean isRetryable(HttpResponse<String> response) {
+        int statusCode = response.statusCode();
+        if (statusCode >= 500 || statusCode == 429) {
+            return true;
+        }
+        // The secondary rate limits are reported with 403.
+        return statusCode == 403
+                && (response.headers().firstValue("retry-after").isPresent()
+                        || response.headers()
+                                .firstValue("x-ratelimit-remaining")
+                                .filter("0"::equals)
+                                .isPresent()
+                        || response.body()
+                                .toLowerCase(Locale.ROOT)
+                                .contains("secondary rate limit"));
+    }
+
+    private static long retryDelay(HttpResponse<String> response, int attempt) {
+        if (response != null) {
+            Long retryAfter =
+                    response.headers()
+                            .firstValue("retry-after")
+                            .map(GitHubHttpService::parseRetryAfter)
+                            .orElse(null);
+            if (retryAfter != null) {
+                return Math.min(retryAfter, MAX_RETRY_AFTER_MS);
+            }
+        }
+        long backoff = INITIAL_BACKOFF_MS << (attempt - 1);
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    private static Long parseRetryAfter(String value) {
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim())).toMillis();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long elapsedMs(long start) {
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (metrics.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> requests = new ArrayList<>(metrics.size());
+        for (RequestMetrics requestMetrics : metrics) {
+            requests.add(requestMetrics.toMap());
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("requests", requests);
+
+        Path report = getParameters().getReport().getAsFile().get().toPath();
+        Files.createDirectories(report.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(report.toFile(), data);
+    }
+
+    private static class RequestMetrics {
+
+        private final String operation;
+        private final String method;
+        private final String url;
+        private final int statusCode;
+        private final int attempts;
+        private final long latencyMs;
+
+        RequestMetrics(
+                String operation,
+                String method,
+                String url,
+                int statusCode,
+                int attempts,
+                long latencyMs) {
+            this.operation = operation;
+            this.method = method;
+            this.url = url;
+            this.statusCode = statusCode;
+            this.attempts = attempts;
+            this.latencyMs = latencyMs;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("operation", operation);
+            data.put("method", method);
+            data.put("url", url);
+            data.put("statusCode", statusCode);
+            data.put("attempts", attempts);
+            data.put("latencyMs", latencyMs);
+            return data;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.PushCommand;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.URIish;
+import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.kohsuke.github.GHAsset;
+import org.kohsuke.github.GHFileNotFoundException;
+import org.kohsuke.github.GHRelease;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.zaproxy.gradle.addon.internal.model.GitHubRepo;
+import org.zaproxy.gradle.addon.internal.model.GitHubUser;
+
+/**
+ * Creates GitHub releases and their tags, uploading the assets concurrently.
+ *
+ * <p>The creation can be re-run after a failure: the draft release left behind is resumed, and the
+ * assets already uploaded, with the same name and size, are not uploaded again. A release already
+ * published with the same assets is left as is.
+ */
+public final class GitHubReleases {
+
+    /** The default maximum number of assets uploaded at the same time. */
+    public static final int DEFAULT_MAX_CONCURRENT_UPLOADS = 4;
+
+    /** The base URL of the GitHub repositories, to push the tags. */
+    public static final String GITHUB_BASE_URL = "https://github.com/";
+
+    private static final String GIT_REMOTE_ORIGIN = "origin";
+
+    private static final Logger LOGGER = Logging.getLogger(GitHubReleases.class);
+
+    private static final String ASSET_STATE_UPLOADED = "uploaded";
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * The maximum number of releases searched for a draft release, the draft releases are not
+     * returned when getting the release by tag and the order of the listed releases is not
+     * documented.
+     */
+    private static final int MAX_RELEASES_DRAFT_SEARCH = 1000;
+
+    private static final int MAX_UPLOAD_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MS = 1000;
+
+    private GitHubReleases() {}
+
+    /**
+     * Creates the given annotated tags and pushes them to the GitHub repository, all in one push.
+     *
+     * <p>The tags that already exist are not created again, just pushed.
+     *
+     * @param rootDir the directory of the Git repository.
+     * @param repo the GitHub repository, set as the {@code origin} remote.
+     * @param user the user that tags and pushes.
+     * @param tags the names of the tags and their messages.
+     * @throws Exception if an error occurred while creating or pushing the tags.
+     */
+    public static void createTags(
+            File rootDir, GitHubRepo repo, GitHubUser user, Map<String, String> tags)
+            throws Exception {
+        createTags(rootDir, GITHUB_BASE_URL + repo, user, tags);
+    }
+
+    /**
+     * Creates the given annotated tags and pushes them to the given remote, all in one push.
+     *
+     * <p>The tags that already exist are not created again, just pushed.
+     *
+     * @param rootDir the directory of the Git repository.
+     * @param remoteUrl the URL of the Git repository, set as the {@code origin} remote.
+     * @param user the user that tags and pushes.
+     * @param tags the names of the tags and their messages.
+     * @throws Exception if an error occurred while creating or pushing the tags.
+     */
+    public static void createTags(
+            File rootDir, String remoteUrl, GitHubUser user, Map<String, String> tags)
+            throws Exception {
+        try (Repository repository =
+                        new FileRepositoryBuilder().setGitDir(new File(rootDir, ".git")).build();
+                Git git = new Git(repository)) {
+            URIish originUri = new URIish(remoteUrl);
+            git.remoteSetUrl().setRemoteName(GIT_REMOTE_ORIGIN).setRemoteUri(originUri).call();
+
+            PersonIdent personIdent = new PersonIdent(user.getName(), user.getEmail());
+            PushCommand push =
+                    git.push()
+                            .setCredentialsProvider(
+                                    new UsernamePasswordCredentialsProvider(
+                                            user.getName(), user.getAuthToken()));
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                Ref ref = repository.exactRef(Constants.R_TAGS + tag.getKey());
+                if (ref == null) {
+                    ref =
+                            git.tag()
+                                    .setName(tag.getKey())
+                                    .setMessage(tag.getValue())
+                                    .setAnnotated(true)
+                                    .setTagger(personIdent)
+                                    .call();
+                } else {
+                    LOGGER.info("Tag {} already exists, not creating.", tag.getKey());
+                }
+                push.add(ref);
+            }
+            push.call();
+        }
+    }
+
+    /**
+     * Connects to the given GitHub repository.
+     *
+     * @param apiUrl the URL of the GitHub API.
+     * @param login the login of the user, might be empty.
+     * @param authToken the authentication token.
+     * @param repo the full name of the repository, for example, {@code zaproxy/zap-extensions}.
+     * @param connector the connector to send the requests.
+     * @return the repository.
+     * @throws IOException if an error occurred while connecting to GitHub.
+     */
+    public static GHRepository connect(
+            String apiUrl, String login, String authToken, String repo, GitHubConnector connector)
+            throws IOException {
+        return new GitHubBuilder()
+                .withEndpoint(apiUrl)
+                .withConnector(connector)
+                .withOAuthToken(authToken, login)
+                .build()
+                .getRepository(repo);
+    }
+
+    /**
+     * Creates the release for the given tag, or resumes its draft, and publishes it once all the
+     * assets are uploaded.
+     *
+     * @param repo the repository.
+     * @param tag the tag of the release, must exist.
+     * @param title the title of the release.
+     * @param body the body of the release.
+     * @param assets the assets to upload.
+     * @param maxConcurrentUploads the maximum number of assets uploaded at the same time.
+     * @throws InvalidUserDataException if the tag does not exist or if the release was already
+     *     published with different assets.
+     * @throws IOException if an error occurred while creating the release.
+     */
+    public static void createRelease(
+            GHRepository repo,
+            String tag,
+            String title,
+            String body,
+            List<Asset> assets,
+            int maxConcurrentUploads)
+            throws IOException {
+        validateTagExists(repo, tag);
+
+        GHRelease release = repo.getReleaseByTagName(tag);
+        if (release != null) {
+            if (!hasAssets(release, assets)) {
+                throw new InvalidUserDataException(
+                        "Release for tag " + tag + " already exists: " + release.getHtmlUrl());
+            }
+            LOGGER.lifecycle(
+                    "Release for tag {} already exists with the same assets: {}",
+                    tag,
+                    release.getHtmlUrl());
+            return;
+        }
+
+        release = findDraft(repo, tag);
+        if (release == null) {
+            release = repo.createRelease(tag).name(title).body(body).draft(true).create();
+        } else {
+            LOGGER.lifecycle("Resuming draft release for tag {}.", tag);
+            release = release.update().name(title).body(body).update();
+        }
+
+        uploadAssets(release, assets, maxConcurrentUploads);
+
+        release.update().draft(false).update();
+    }
+
+    private static void validateTagExists(GHRepository repo, String tag) throws IOException {
+        try {
+            repo.getRef("tags/" + tag);
+        } catch (GHFileNotFoundException e) {
+            throw new InvalidUserDataException("Tag does not exist: " + tag, e);
+        }
+    }
+
+    private static GHRelease findDraft(GHRepository repo, String tag) {
+        int searched = 0;
+        for (GHRelease release : repo.listReleases().withPageSize(MAX_PAGE_SIZE)) {
+            if (release.isDraft() && tag.equals(release.getTagName())) {
+                return release;
+            }
+            if (++searched >= MAX_RELEASES_DRAFT_SEARCH) {
+                LOGGER.warn(
+                        "Draft release for tag {} not found in the latest {} releases.",
+                        tag,
+                        MAX_RELEASES_DRAFT_SEARCH);
+                break;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAssets(GHRelease release, List<Asset> assets) {
+        Map<String, GHAsset> uploaded = getAssets(release);
+        return assets.stream().allMatch(asset -> isUploaded(uploaded.get(asset.getName()), asset));
+    }
+
+    private static Map<String, GHAsset> getAssets(GHRelease release) {
+        Map<String, GHAsset> assets = new HashMap<>();
+        for (GHAsset asset : release.listAssets().withPageSize(MAX_PAGE_SIZE)) {
+            assets.put(asset.getName(), asset);
+        }
+        return assets;
+    }
+
+    private static boolean isUploaded(GHAsset ghAsset, Asset asset) {
+        return ghAsset != null
+                && ASSET_STATE_UPLOADED.equals(ghAsset.getState())
+                && ghAsset.getSize() == asset.getFile().length();
+    }
+
+    private static void uploadAssets(
+            GHRelease release, List<Asset> assets, int maxConcurrentUploads) throws IOException {
+        Map<String, GHAsset> uploaded = getAssets(release);
+        List<Asset> pending = new ArrayList<>();
+        for (Asset asset : assets) {
+            GHAsset ghAsset = uploaded.get(asset.getName());
+            if (isUploaded(ghAsset, asset)) {
+                LOGGER.info("Asset {} already uploaded, skipping.", asset.getName());
+                continue;
+            }
+            if (ghAsset != null) {
+                ghAsset.delete();
+            }
+            pending.add(asset);
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.min(pending.size(), maxConcurrentUploads));
+        try {
+            List<Future<?>> uploads = new ArrayList<>(pending.size());
+            for (Asset asset : pending) {
+                uploads.add(
+                        executor.submit(
+                                () -> {
+                                    uploadAsset(release, asset);
+                                    return null;
+                                }));
+            }
+            for (Future<?> upload : uploads) {
+                upload.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new BuildException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while uploading the assets.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void uploadAsset(GHRelease release, Asset asset)
+            throws IOException, InterruptedException {
+        long backoff = INITIAL_BACKOFF_MS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                release.uploadAsset(asset.getFile(), asset.getContentType());
+                LOGGER.info("Asset {} uploaded.", asset.getName());
+                return;
+            } catch (IOException e) {
+                if (attempt == MAX_UPLOAD_ATTEMPTS) {
+                    throw new IOException(
+                            "Failed to upload the asset "
+                                    + asset.getName()
+                                    + " after "
+                                    + attempt
+                                    + " attempts: "
+                                    + e.getMessage(),
+                            e);
+                }
+                LOGGER.warn(
+                        "Failed to upload the asset {}, retrying in {} ms: {}",
+                        asset.getName(),
+                        backoff,
+                        e.getMessage());
+                Thread.sleep(backoff);
+                backoff *= 2;
+
+                // A failed upload might have left the asset in a starter state.
+                GHAsset partial = getAssets(release).get(asset.getName());
+                if (partial != null) {
+                    partial.delete();
+                }
+            }
+        }
+    }
+
+    /** An asset of a release. */
+    public static final class Asset {
+
+        private final File file;
+        private final String contentType;
+
+        /**
+         * Constructs an {@code Asset} with the given file and content type.
+         *
+         * @param file the file of the asset.
+         * @param contentType the content type of the asset.
+         */
+        public Asset(File file, String contentType) {
+            this.file = file;
+            this.contentType = contentType;
+        }
+
+        /**
+         * Gets the name of the asset, the name of the file.
+         *
+         * @return the name of the asset.
+         */
+        public String getName() {
+            return file.getName();
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+}
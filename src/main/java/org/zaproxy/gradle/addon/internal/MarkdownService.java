@@ -0,0 +1,87 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal;
+
+import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughSubscriptExtension;
+import com.vladsch.flexmark.ext.gfm.tasklist.TaskListExtension;
+import com.vladsch.flexmark.ext.tables.TablesExtension;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import java.util.Arrays;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * A build service that converts markdown to HTML.
+ *
+ * <p>The parser and renderer are created once and shared by all the conversions of the build, they
+ * are thread-safe.
+ */
+public abstract class MarkdownService implements BuildService<BuildServiceParameters.None> {
+
+    /** The name of the service. */
+    public static final String NAME = "zapMarkdown";
+
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+
+    public MarkdownService() {
+        MutableDataSet options =
+                new MutableDataSet()
+                        .set(TablesExtension.COLUMN_SPANS, false)
+                        .set(TablesExtension.APPEND_MISSING_COLUMNS, true)
+                        .set(TablesExtension.DISCARD_EXTRA_COLUMNS, true)
+                        .set(TablesExtension.HEADER_SEPARATOR_COLUMN_MATCH, true)
+                        .set(
+                                Parser.EXTENSIONS,
+                                Arrays.asList(
+                                        StrikethroughSubscriptExtension.create(),
+                                        TablesExtension.create(),
+                                        TaskListExtension.create()));
+
+        parser = Parser.builder(options).build();
+        renderer = HtmlRenderer.builder(options).build();
+    }
+
+    /**
+     * Registers the service, if not already registered.
+     *
+     * @param project the project to register the service.
+     * @return the provider of the service.
+     */
+    public static Provider<MarkdownService> register(Project project) {
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent(NAME, MarkdownService.class, spec -> {});
+    }
+
+    /**
+     * Converts the given markdown to HTML.
+     *
+     * @param markdown the markdown to convert.
+     * @param output where to write the HTML.
+     */
+    public void toHtml(String markdown, Appendable output) {
+        renderer.render(parser.parse(markdown), output);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.api.Action;
+import org.gradle.api.file.FileCopyDetails;
+import org.gradle.api.provider.Provider;
+
+/**
+ * Shares the common help data of the translated help with the main help, when packaging the
+ * add-on.
+ *
+ * <p>The files in the {@code contents} directory of the translated help with the same contents as
+ * the ones of the main help are excluded, and the references to them in the pages and in the map
+ * of the translated help are changed to the files of the main help. The references are expected in
+ * {@code src}, {@code href}, and {@code url} attributes, in a single line.
+ *
+ * <p>The help directories are identified by the HelpSet files, the translated help has a HelpSet
+ * file with the locale in the name (e.g. {@code helpset_es_ES.hs}), the main help the HelpSet file
+ * without the locale (e.g. {@code helpset.hs}).
+ */
+public class ShareCommonHelpData implements Action<FileCopyDetails> {
+
+    private static final Pattern HELPSET_LOCALE_PATTERN =
+            Pattern.compile(Constants.HELPSET_LOCALE_PATTERN);
+
+    private static final Pattern REFERENCE_PATTERN =
+            Pattern.compile(
+                    "(\\b(?:src|href|url)\\s*=\\s*)([\"'])([^\"'#?:]+)\\2",
+                    Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SHAREABLE_PATH_PATTERN = Pattern.compile("[\\w./-]+");
+
+    private static final String CONTENTS_DIR = "contents";
+
+    private final Provider<Boolean> enabled;
+
+    private transient Map<Path, Optional<HelpDirs>> helpDirs;
+    private transient Map<Path, Boolean> sharedFiles;
+
+    /**
+     * Constructs a {@code ShareCommonHelpData} with the given state.
+     *
+     * @param enabled the provider that tells whether or not the help data should be shared.
+     */
+    public ShareCommonHelpData(Provider<Boolean> enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void execute(FileCopyDetails details) {
+        if (details.isDirectory() || !enabled.getOrElse(false)) {
+            return;
+        }
+
+        Path file = details.getFile().toPath().toAbsolutePath().normalize();
+        Optional<HelpDirs> dirs = getHelpDirs(file.getParent());
+        if (!dirs.isPresent()) {
+            return;
+        }
+
+        if (isShared(dirs.get(), file)) {
+            details.exclude();
+            return;
+        }
+
+        String name = file.getFileName().toString();
+        if (isPage(name) || name.endsWith(".jhm")) {
+            details.filter(line -> updateReferences(line, dirs.get(), file.getParent()));
+        }
+    }
+
+    private synchronized Optional<HelpDirs> getHelpDirs(Path dir) {
+        if (helpDirs == null) {
+            helpDirs = new ConcurrentHashMap<>();
+            sharedFiles = new ConcurrentHashMap<>();
+        }
+        if (dir == null) {
+            return Optional.empty();
+        }
+        Optional<HelpDirs> dirs = helpDirs.get(dir);
+        if (dirs == null) {
+            dirs = findMainHelpDir(dir);
+            if (!dirs.isPresent()) {
+                dirs = getHelpDirs(dir.getParent());
+            }
+            helpDirs.put(dir, dirs);
+        }
+        return dirs;
+    }
+
+    private static Optional<HelpDirs> findMainHelpDir(Path dir) {
+        if (dir.getParent() == null) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(Path::getFileName)
+                    .map(Path::toString)
+                    .map(HELPSET_LOCALE_PATTERN::matcher)
+                    .filter(Matcher::matches)
+                    .map(
+                            m ->
+                                    m.group().substring(0, m.start(1) - 1)
+                                            + Constants.HELPSET_FILE_EXTENSION)
+                    .flatMap(helpSet -> findMainHelpDir(dir, helpSet))
+                    .findFirst();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Stream<HelpDirs> findMainHelpDir(Path translatedDir, String helpSet) {
+        File[] dirs = translatedDir.getParent().toFile().listFiles(File::isDirectory);
+        if (dirs == null) {
+            return Stream.empty();
+        }
+        return Arrays.stream(dirs)
+                .map(File::toPath)
+                .filter(dir -> !dir.equals(translatedDir))
+                .filter(dir -> Files.isRegularFile(dir.resolve(helpSet)))
+                .sorted()
+                .map(dir -> new HelpDirs(dir, translatedDir));
+    }
+
+    private boolean isShared(HelpDirs dirs, Path file) {
+        return sharedFiles.computeIfAbsent(file, f -> isSameAsMain(dirs, f));
+    }
+
+    private static boolean isSameAsMain(HelpDirs dirs, Path file) {
+        if (!file.startsWith(dirs.translated)) {
+            return false;
+        }
+        Path relativePath = dirs.translated.relativize(file);
+        if (!relativePath.startsWith(CONTENTS_DIR)
+                || isPage(file.getFileName().toString())
+                || !SHAREABLE_PATH_PATTERN.matcher(toUriPath(relativePath)).matches()) {
+            return false;
+        }
+
+        Path mainFile = dirs.main.resolve(relativePath);
+        try {
+            if (!Files.isRegularFile(file)
+                    || !Files.isRegularFile(mainFile)
+                    || Files.size(file) != Files.size(mainFile)) {
+                return false;
+            }
+            DigestUtils digest = new DigestUtils("SHA-256");
+            return Arrays.equals(digest.digest(file.toFile()), digest.digest(mainFile.toFile()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String updateReferences(String line, HelpDirs dirs, Path dir) {
+        Matcher matcher = REFERENCE_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return line;
+        }
+
+        StringBuilder strBuilder = new StringBuilder(line.length());
+        do {
+            String reference = matcher.group(3);
+            Path target;
+            try {
+                target = dir.resolve(reference).normalize();
+            } catch (InvalidPathException e) {
+                target = null;
+            }
+            if (target != null && isShared(dirs, target)) {
+                reference =
+                        toUriPath(
+                                dir.relativize(
+                                        dirs.main.resolve(dirs.translated.relativize(target))));
+            }
+            matcher.appendReplacement(
+                    strBuilder,
+                    Matcher.quoteReplacement(
+                            matcher.group(1) + matcher.group(2) + reference + matcher.group(2)));
+        } while (matcher.find());
+        matcher.appendTail(strBuilder);
+        return strBuilder.toString();
+    }
+
+    private static boolean isPage(String name) {
+        return name.endsWith(".html") || name.endsWith(".htm");
+    }
+
+    private static String toUriPath(Path path) {
+        return path.toString().replace(File.separatorChar, '/');
+    }
+
+    private static class HelpDirs {
+
+        private final Path main;
+        private final Path translated;
+
+        HelpDirs(Path main, Path translated) {
+            this.main = main;
+            this.translated = translated;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import org.zaproxy.gradle.addon.internal.BuildException;
+
+/**
+ * The info of an add-on, shared with the tasks that handle several add-ons.
+ *
+ * <p>Contains the values that are not available through the files of the add-on, for example, the
+ * tag and the title of its release.
+ */
+public class AddOnInfo {
+
+    private String id;
+
+    private String tag;
+
+    private String tagMessage;
+
+    private String title;
+
+    private String downloadUrl;
+
+    public AddOnInfo() {}
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTagMessage() {
+        return tagMessage;
+    }
+
+    public void setTagMessage(String tagMessage) {
+        this.tagMessage = tagMessage;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+
+    public void setDownloadUrl(String downloadUrl) {
+        this.downloadUrl = downloadUrl;
+    }
+
+    /**
+     * Writes this {@code AddOnInfo} to the given file.
+     *
+     * @param file the file to write the info.
+     * @throws BuildException if an error occurred while writing the info.
+     */
+    public void write(File file) {
+        try {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, this);
+        } catch (IOException e) {
+            throw new BuildException("Failed to write the add-on info: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads an {@code AddOnInfo} from the given file.
+     *
+     * @param file the file with the info.
+     * @return a new {@code AddOnInfo} with the contents from the file.
+     * @throws BuildException if an error occurred while reading the info.
+     */
+    public static AddOnInfo read(File file) {
+        try {
+            return new ObjectMapper().readValue(file, AddOnInfo.class);
+        } catch (IOException e) {
+            throw new BuildException("Failed to read the add-on info: " + e.getMessage(), e);
+        }
+    }
+}
@@ -20,19 +20,20 @@
 package org.zaproxy.gradle.addon.internal.model;
 
 import org.gradle.api.Project;
-import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.plugins.ExtensionAware;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
-import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.Jar;
 import org.zaproxy.gradle.addon.AddOnPlugin;
 import org.zaproxy.gradle.addon.AddOnPluginExtension;
+import org.zaproxy.gradle.addon.internal.AddOnVariants;
 import org.zaproxy.gradle.addon.internal.GitHubReleaseExtension;
 
 public abstract class AddOnRelease {
@@ -44,29 +45,80 @@ public abstract class AddOnRelease {
     @Input
     public abstract Property<String> getDownloadUrl();
 
+    /**
+     * Gets the file with the release state of the add-on, generated by a previous build.
+     *
+     * <p>The file might not exist, in which case the add-on is not considered released by the
+     * tasks that handle several add-ons.
+     *
+     * @return the file with the release state.
+     */
+    @InputFiles
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract ConfigurableFileCollection getReleaseState();
+
     public static AddOnRelease from(Project project) {
-        TaskProvider<Jar> jarZapAddOn =
-                project.getTasks().named(AddOnPlugin.JAR_ZAP_ADD_ON_TASK_NAME, Jar.class);
-        Provider<RegularFile> jarFile = jarZapAddOn.flatMap(Jar::getArchiveFile);
+        AddOnRelease addOnRelease = project.getObjects().newInstance(AddOnRelease.class);
+        addOnRelease
+                .getAddOn()
+                .set(
+                        project.getTasks()
+                                .named(AddOnPlugin.JAR_ZAP_ADD_ON_TASK_NAME, Jar.class)
+                                .flatMap(Jar::getArchiveFile));
+        addOnRelease.getDownloadUrl().set(downloadUrl(project));
+        addOnRelease.getReleaseState().from(ProjectInfo.from(project).getOutputFile());
+        return addOnRelease;
+    }
+
+    /**
+     * Gets the download URL of the add-on assembled by the given project, in its GitHub release.
+     *
+     * <p>The URL does not depend on the add-on being built.
+     *
+     * @param project the project that applies the plugin.
+     * @return the download URL.
+     */
+    public static Provider<String> downloadUrl(Project project) {
         AddOnPluginExtension extension =
                 project.getExtensions().getByType(AddOnPluginExtension.class);
         GitHubReleaseExtension gitHubReleaseExtension =
                 ((ExtensionAware) extension)
                         .getExtensions()
                         .getByType(GitHubReleaseExtension.class);
+        return project.getTasks()
+                .named(AddOnPlugin.JAR_ZAP_ADD_ON_TASK_NAME, Jar.class)
+                .flatMap(Jar::getArchiveFileName)
+                .map(
+                        fileName ->
+                                String.format(
+                                        "https://github.com/%s/releases/download/v%s/%s",
+                                        gitHubReleaseExtension.getRepo().get(),
+                                        extension.getAddOnVersion().get(),
+                                        fileName));
+    }
 
+    /**
+     * Creates an {@code AddOnRelease} with the add-on, the download URL, and the release state of
+     * the add-on of the given project.
+     *
+     * @param project the project that handles the releases.
+     * @param projectPath the path of the project of the add-on.
+     * @return the add-on release.
+     * @see AddOnVariants
+     */
+    public static AddOnRelease from(Project project, String projectPath) {
         AddOnRelease addOnRelease = project.getObjects().newInstance(AddOnRelease.class);
-        addOnRelease.getAddOn().set(jarZapAddOn.flatMap(Jar::getArchiveFile));
+        addOnRelease
+                .getAddOn()
+                .set(AddOnVariants.file(project, projectPath, AddOnVariants.Artifact.ADD_ON));
         addOnRelease
                 .getDownloadUrl()
-                .set(
-                        jarFile.map(
-                                f ->
-                                        String.format(
-                                                "https://github.com/%s/releases/download/v%s/%s",
-                                                gitHubReleaseExtension.getRepo().get(),
-                                                extension.getAddOnVersion().get(),
-                                                f.getAsFile().getName())));
+                .set(AddOnVariants.info(project, projectPath).map(AddOnInfo::getDownloadUrl));
+        addOnRelease
+                .getReleaseState()
+                .from(
+                        AddOnVariants.files(
+                                project, projectPath, AddOnVariants.Artifact.RELEASE_STATE));
         return addOnRelease;
     }
 }
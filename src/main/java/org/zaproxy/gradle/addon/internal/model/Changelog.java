@@ -0,0 +1,331 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A changelog, in Keep a Changelog format, parsed into its lines and indexed by version sections,
+ * change types, and links.
+ *
+ * <p>The changelog is immutable, the changes are done on a copy of the lines (see {@link
+ * #getLines()}) and written with {@link #toText(List)}.
+ */
+public final class Changelog {
+
+    private static final Pattern VERSION_SECTION_PATTERN = Pattern.compile("^##[^#]");
+    private static final Pattern VERSION_PATTERN = Pattern.compile("^## ?\\[?(.+?)]?(?: -(.*))?$");
+    private static final Pattern UNRELEASED_PATTERN = Pattern.compile("^## \\[?Unreleased]?");
+    private static final Pattern CHANGE_TYPE_PATTERN = Pattern.compile("^### ?(\\w+)$");
+    private static final Pattern LINK_PATTERN = Pattern.compile("^\\[(.+?)]:\\s*(.*)");
+
+    private final List<String> lines;
+    private final List<VersionSection> versionSections;
+    private final int linksStart;
+    private final Map<String, String> links;
+
+    private Changelog(
+            List<String> lines,
+            List<VersionSection> versionSections,
+            int linksStart,
+            Map<String, String> links) {
+        this.lines = lines;
+        this.versionSections = versionSections;
+        this.linksStart = linksStart;
+        this.links = links;
+    }
+
+    /**
+     * Parses the given contents.
+     *
+     * @param contents the contents of the changelog.
+     * @return the changelog.
+     */
+    public static Changelog parse(String contents) {
+        List<String> lines = contents.lines().collect(Collectors.toUnmodifiableList());
+
+        int linksStart = -1;
+        Map<String, String> links = new LinkedHashMap<>();
+        List<Integer> sectionStarts = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (isVersionSection(line)) {
+                sectionStarts.add(i);
+                continue;
+            }
+            Matcher link = LINK_PATTERN.matcher(line);
+            if (link.find()) {
+                if (linksStart == -1) {
+                    linksStart = i;
+                }
+                links.putIfAbsent(link.group(1), link.group(2).trim());
+            }
+        }
+
+        List<VersionSection> sections = new ArrayList<>(sectionStarts.size());
+        for (int i = 0; i < sectionStarts.size(); i++) {
+            int start = sectionStarts.get(i);
+            int end = i + 1 < sectionStarts.size() ? sectionStarts.get(i + 1) : lines.size();
+            int changesEnd = linksStart > start && linksStart < end ? linksStart : end;
+            sections.add(VersionSection.create(lines, start, end, changesEnd));
+        }
+
+        return new Changelog(
+                lines,
+                Collections.unmodifiableList(sections),
+                linksStart,
+                Collections.unmodifiableMap(links));
+    }
+
+    /**
+     * Tells whether or not the given line is the header of a version section.
+     *
+     * @param line the line to check.
+     * @return {@code true} if the line is a version header, {@code false} otherwise.
+     */
+    public static boolean isVersionSection(String line) {
+        return VERSION_SECTION_PATTERN.matcher(line).find();
+    }
+
+    /**
+     * Tells whether or not the given line is a link, for example, {@code [1.0.0]: https://...}.
+     *
+     * @param line the line to check.
+     * @return {@code true} if the line is a link, {@code false} otherwise.
+     */
+    public static boolean isLink(String line) {
+        return LINK_PATTERN.matcher(line).find();
+    }
+
+    /**
+     * Gets the lines of the changelog.
+     *
+     * @return the lines, unmodifiable.
+     */
+    public List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Gets the version sections, in the order they appear in the changelog.
+     *
+     * @return the version sections, never {@code null}.
+     */
+    public List<VersionSection> getVersionSections() {
+        return versionSections;
+    }
+
+    /**
+     * Gets the first version section that is unreleased.
+     *
+     * @return the unreleased section, or {@code null} if none.
+     */
+    public VersionSection getUnreleasedSection() {
+        return versionSections.stream()
+                .filter(VersionSection::isUnreleased)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Gets the first version section that was released, that is, has a date.
+     *
+     * @return the released section, or {@code null} if none.
+     */
+    public VersionSection getLatestReleasedSection() {
+        return versionSections.stream()
+                .filter(VersionSection::isReleased)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Gets the index of the first link line.
+     *
+     * @return the index of the line, or {@code -1} if there are no links.
+     */
+    public int getLinksStart() {
+        return linksStart;
+    }
+
+    /**
+     * Gets the links, by label (e.g. {@code Unreleased}, {@code 1.0.0}).
+     *
+     * @return the links, unmodifiable.
+     */
+    public Map<String, String> getLinks() {
+        return links;
+    }
+
+    /**
+     * Gets the text of the given range of lines.
+     *
+     * @param from the index of the first line, inclusive.
+     * @param to the index of the last line, exclusive.
+     * @return the text, with each line terminated with a new line.
+     */
+    public String getText(int from, int to) {
+        return toText(lines.subList(from, to));
+    }
+
+    /**
+     * Converts the given lines to text, to be written to the changelog file.
+     *
+     * @param lines the lines.
+     * @return the text, with each line terminated with a new line.
+     */
+    public static String toText(List<String> lines) {
+        StringBuilder strBuilder = new StringBuilder();
+        lines.forEach(line -> strBuilder.append(line).append('\n'));
+        return strBuilder.toString();
+    }
+
+    /** A version section of the changelog, for example, {@code ## [1.0.0] - 2020-01-01}. */
+    public static final class VersionSection {
+
+        private final int start;
+        private final int end;
+        private final int changesEnd;
+        private final String version;
+        private final String date;
+        private final boolean unreleased;
+        private final Map<String, Integer> changeTypes;
+
+        private VersionSection(
+                int start,
+                int end,
+                int changesEnd,
+                String version,
+                String date,
+                boolean unreleased,
+                Map<String, Integer> changeTypes) {
+            this.start = start;
+            this.end = end;
+            this.changesEnd = changesEnd;
+            this.version = version;
+            this.date = date;
+            this.unreleased = unreleased;
+            this.changeTypes = changeTypes;
+        }
+
+        private static VersionSection create(
+                List<String> lines, int start, int end, int changesEnd) {
+            String header = lines.get(start);
+            String version = null;
+            String date = null;
+            Matcher matcher = VERSION_PATTERN.matcher(header);
+            if (matcher.find()) {
+                version = matcher.group(1).trim();
+                if (matcher.group(2) != null) {
+                    date = matcher.group(2).trim();
+                }
+            }
+
+            Map<String, Integer> changeTypes = new LinkedHashMap<>();
+            for (int i = start + 1; i < changesEnd; i++) {
+                Matcher changeType = CHANGE_TYPE_PATTERN.matcher(lines.get(i));
+                if (changeType.find()) {
+                    changeTypes.putIfAbsent(changeType.group(1).toUpperCase(Locale.ROOT), i);
+                }
+            }
+
+            return new VersionSection(
+                    start,
+                    end,
+                    changesEnd,
+                    version,
+                    date,
+                    UNRELEASED_PATTERN.matcher(header).find(),
+                    Collections.unmodifiableMap(changeTypes));
+        }
+
+        /**
+         * Gets the index of the header line.
+         *
+         * @return the index of the line.
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * Gets the index of the line after the section, that is, the start of the next section or
+         * the number of lines if it's the last section.
+         *
+         * @return the index of the line, exclusive.
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * Gets the index of the line after the changes of the section, which excludes the links if
+         * they are in the section.
+         *
+         * @return the index of the line, exclusive.
+         */
+        public int getChangesEnd() {
+            return changesEnd;
+        }
+
+        /**
+         * Gets the version, for example, {@code 1.0.0} or {@code Unreleased}.
+         *
+         * @return the version, might be {@code null} if the header is not in the expected format.
+         */
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * Gets the release date.
+         *
+         * @return the date, or {@code null} if not released.
+         */
+        public String getDate() {
+            return date;
+        }
+
+        public boolean isReleased() {
+            return date != null;
+        }
+
+        public boolean isUnreleased() {
+            return unreleased;
+        }
+
+        /**
+         * Gets the change types of the section, for example, {@code ADDED} or {@code FIXED}.
+         *
+         * @return the index of the header line of the change types, by upper case name.
+         */
+        public Map<String, Integer> getChangeTypes() {
+            return changeTypes;
+        }
+    }
+}
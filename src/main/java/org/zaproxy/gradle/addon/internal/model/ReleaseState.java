@@ -27,6 +27,8 @@ import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.zaproxy.gradle.addon.internal.BuildException;
 
 /** The release state computed from {@code gradle.properties} files. */
@@ -50,8 +52,20 @@ public class ReleaseState {
 
     private boolean currentRelease;
 
+    private String commit;
+
+    private List<ReleaseState> transitions = new ArrayList<>();
+
     public ReleaseState() {}
 
+    /**
+     * Tells whether or not this state is a new release.
+     *
+     * <p>The transitions are not taken into account, they are just reported, the add-ons are
+     * built and released from the last commit, which might have a different version.
+     *
+     * @return {@code true} if a new release, {@code false} otherwise.
+     */
     @JsonIgnore
     public boolean isNewRelease() {
         return currentRelease && previousRelease != currentRelease;
@@ -89,6 +103,35 @@ public class ReleaseState {
         this.currentRelease = currentRelease;
     }
 
+    /**
+     * Gets the commit of the transition.
+     *
+     * @return the commit, or {@code null} if not a transition.
+     */
+    public String getCommit() {
+        return commit;
+    }
+
+    public void setCommit(String commit) {
+        this.commit = commit;
+    }
+
+    /**
+     * Gets the release transitions, that is, the commits that changed the release state, from the
+     * oldest to the newest.
+     *
+     * <p>Only present when the release state is computed for a range of commits.
+     *
+     * @return the transitions, never {@code null}.
+     */
+    public List<ReleaseState> getTransitions() {
+        return transitions;
+    }
+
+    public void setTransitions(List<ReleaseState> transitions) {
+        this.transitions = transitions == null ? new ArrayList<>() : transitions;
+    }
+
     /**
      * Writes this {@code ReleaseState} to the given file.
      *
@@ -129,10 +172,41 @@ public class ReleaseState {
      * @throws BuildException if an error occurred while reading the release state.
      */
     public static ReleaseState read(ProjectInfo projectInfo) {
-        File file = projectInfo.getOutputFile().getAsFile().get();
+        return readIfExists(projectInfo.getOutputFile().getAsFile().get());
+    }
+
+    /**
+     * Convenience method that reads a {@code ReleaseState} from the given file, if it exists.
+     *
+     * <p>If the file does not exists it returns a "not a new release" state.
+     *
+     * @param file the file with the release state, might not exist.
+     * @return a new {@code ReleaseState} with the contents from the file, or a "not a new release"
+     *     state.
+     * @throws BuildException if an error occurred while reading the release state.
+     */
+    public static ReleaseState readIfExists(File file) {
         if (!file.exists()) {
             return NOT_NEW_RELEASE;
         }
         return read(file);
     }
+
+    /**
+     * Tells whether or not any of the given files has a new release state.
+     *
+     * <p>The files that do not exist are ignored.
+     *
+     * @param files the files with the release state.
+     * @return {@code true} if any of the files has a new release state, {@code false} otherwise.
+     * @throws BuildException if an error occurred while reading the release state.
+     */
+    public static boolean anyNewRelease(Iterable<File> files) {
+        for (File file : files) {
+            if (readIfExists(file).isNewRelease()) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -20,44 +20,111 @@
 package org.zaproxy.gradle.addon.internal.tasks;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.inject.Inject;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFiles;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
 import org.gradle.language.base.plugins.LifecycleBasePlugin;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 import org.zaproxy.gradle.addon.AddOnPluginException;
 import org.zaproxy.gradle.addon.internal.Constants;
+import org.zaproxy.gradle.addon.internal.FileContents;
 
-/** A task to copy common help data for translated languages. */
+/**
+ * A task to copy common help data for translated languages.
+ *
+ * <p>The languages are handled in parallel and the files with the same contents are not copied
+ * again. Optionally, the files are hard linked instead of copied, when supported by the file
+ * system.
+ */
 public abstract class CopyCommonHelpData extends DefaultTask {
 
+    private final FileCollection commonDataFiles;
+    private final FileCollection targetFiles;
+
     public CopyCommonHelpData() {
         setGroup(LifecycleBasePlugin.BUILD_GROUP);
         setDescription("Copies the common help data for translated languages.");
 
         getFileNameHelpSetPattern().convention(Constants.HELPSET_LOCALE_PATTERN);
         getCommonData().convention(Arrays.asList("map.jhm", "contents/images/"));
+        getHardLink().convention(false);
+
+        commonDataFiles = getProject().files((Callable<List<File>>) this::getCommonDataSources);
+        targetFiles = getProject().files((Callable<List<File>>) this::getCommonDataTargets);
     }
 
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
     @Input
     public abstract Property<String> getFileNameHelpSetPattern();
 
-    @InputFiles
+    @Input
     public abstract ListProperty<String> getCommonData();
 
     @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
     public abstract ConfigurableFileCollection getHelpSets();
 
+    /**
+     * Tells whether or not the common data should be hard linked, instead of copied.
+     *
+     * <p>Changes to the linked files in the translated languages affect the files of the main
+     * language, and vice versa.
+     *
+     * @return the property that holds whether or not to hard link the files.
+     */
+    @Input
+    public abstract Property<Boolean> getHardLink();
+
+    @Option(
+            option = "hard-link",
+            description = "If the files should be hard linked, when possible. Default: false.")
+    public void optionHardLink(String value) {
+        getHardLink().set(Boolean.valueOf(value));
+    }
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    protected FileCollection getCommonDataFiles() {
+        return commonDataFiles;
+    }
+
+    @OutputFiles
+    protected FileCollection getTargetFiles() {
+        return targetFiles;
+    }
+
     @TaskAction
     void copy() {
         Set<File> helpSetFiles = getHelpSets().getFiles();
@@ -67,24 +134,53 @@ public abstract class CopyCommonHelpData extends DefaultTask {
 
         Pattern helpSetFilePattern = Pattern.compile(getFileNameHelpSetPattern().get());
         Path mainHelpSetDir = findMainHelpSetDir(helpSetFiles, helpSetFilePattern);
-
-        Set<Path> commonData =
-                getCommonData().get().stream()
-                        .map(e -> mainHelpSetDir.resolve(e))
-                        .filter(Files::exists)
-                        .collect(Collectors.toSet());
+        List<String> commonData = listCommonDataFiles(mainHelpSetDir);
         if (commonData.isEmpty()) {
             return;
         }
 
-        helpSetFiles.stream()
-                .filter(e -> helpSetFilePattern.matcher(e.getName()).matches())
-                .map(File::toPath)
-                .map(Path::getParent)
-                .forEach(e -> copy(commonData, mainHelpSetDir, e));
+        WorkQueue workQueue = getWorkerExecutor().noIsolation();
+        for (Path helpSetDir : getTranslatedHelpSetDirs(helpSetFiles, helpSetFilePattern)) {
+            workQueue.submit(
+                    CopyCommonHelpDataAction.class,
+                    params -> {
+                        params.getSourceDir().set(mainHelpSetDir.toFile());
+                        params.getTargetDir().set(helpSetDir.toFile());
+                        params.getFiles().set(commonData);
+                        params.getHardLink().set(getHardLink());
+                    });
+        }
+    }
+
+    private List<File> getCommonDataSources() {
+        Set<File> helpSetFiles = getHelpSets().getFiles();
+        if (helpSetFiles.isEmpty()) {
+            return List.of();
+        }
+        Path mainHelpSetDir =
+                findMainHelpSetDir(
+                        helpSetFiles, Pattern.compile(getFileNameHelpSetPattern().get()));
+        return listCommonDataFiles(mainHelpSetDir).stream()
+                .map(e -> mainHelpSetDir.resolve(e).toFile())
+                .collect(Collectors.toList());
     }
 
-    private Path findMainHelpSetDir(Set<File> helpSetFiles, Pattern helpSetFilePattern) {
+    private List<File> getCommonDataTargets() {
+        Set<File> helpSetFiles = getHelpSets().getFiles();
+        if (helpSetFiles.isEmpty()) {
+            return List.of();
+        }
+        Pattern helpSetFilePattern = Pattern.compile(getFileNameHelpSetPattern().get());
+        List<String> commonData =
+                listCommonDataFiles(findMainHelpSetDir(helpSetFiles, helpSetFilePattern));
+        List<File> targets = new ArrayList<>();
+        for (Path helpSetDir : getTranslatedHelpSetDirs(helpSetFiles, helpSetFilePattern)) {
+            commonData.forEach(e -> targets.add(helpSetDir.resolve(e).toFile()));
+        }
+        return targets;
+    }
+
+    private static Path findMainHelpSetDir(Set<File> helpSetFiles, Pattern helpSetFilePattern) {
         Optional<Path> helpSetFile =
                 helpSetFiles.stream()
                         .filter(e -> !helpSetFilePattern.matcher(e.getName()).matches())
@@ -97,19 +193,91 @@ public abstract class CopyCommonHelpData extends DefaultTask {
         return helpSetFile.get().getParent();
     }
 
-    private void copy(Set<Path> commonData, Path from, Path to) {
-        commonData.forEach(
-                data -> {
-                    getProject()
-                            .copy(
-                                    spec -> {
-                                        spec.from(data);
-                                        if (Files.isDirectory(data)) {
-                                            spec.into(to.resolve(from.relativize(data)));
-                                        } else {
-                                            spec.into(to);
-                                        }
-                                    });
-                });
+    private static List<Path> getTranslatedHelpSetDirs(
+            Set<File> helpSetFiles, Pattern helpSetFilePattern) {
+        return helpSetFiles.stream()
+                .filter(e -> helpSetFilePattern.matcher(e.getName()).matches())
+                .map(File::toPath)
+                .map(Path::getParent)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the files of the common data, relative to the main help directory.
+     *
+     * @param mainHelpSetDir the main help directory.
+     * @return the relative paths of the files, never {@code null}.
+     */
+    private List<String> listCommonDataFiles(Path mainHelpSetDir) {
+        List<String> files = new ArrayList<>();
+        for (String data : getCommonData().get()) {
+            Path path = mainHelpSetDir.resolve(data);
+            if (Files.isRegularFile(path)) {
+                files.add(mainHelpSetDir.relativize(path).toString());
+            } else if (Files.isDirectory(path)) {
+                try (Stream<Path> stream = Files.walk(path)) {
+                    stream.filter(Files::isRegularFile)
+                            .map(e -> mainHelpSetDir.relativize(e).toString())
+                            .sorted()
+                            .forEach(files::add);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(
+                            "Failed to read the common help data: " + path, e);
+                }
+            }
+        }
+        return files;
+    }
+
+    public interface CopyCommonHelpDataParameters extends WorkParameters {
+
+        DirectoryProperty getSourceDir();
+
+        DirectoryProperty getTargetDir();
+
+        ListProperty<String> getFiles();
+
+        Property<Boolean> getHardLink();
+    }
+
+    public abstract static class CopyCommonHelpDataAction
+            implements WorkAction<CopyCommonHelpDataParameters> {
+
+        private static final Logger LOGGER = Logging.getLogger(CopyCommonHelpDataAction.class);
+
+        @Override
+        public void execute() {
+            Path sourceDir = getParameters().getSourceDir().getAsFile().get().toPath();
+            Path targetDir = getParameters().getTargetDir().getAsFile().get().toPath();
+            boolean hardLink = getParameters().getHardLink().get();
+
+            int copied = 0;
+            int unchanged = 0;
+            for (String file : getParameters().getFiles().get()) {
+                Path source = sourceDir.resolve(file);
+                Path target = targetDir.resolve(file);
+                try {
+                    if (FileContents.hasSameContents(source, target)) {
+                        unchanged++;
+                        continue;
+                    }
+
+                    Files.createDirectories(target.getParent());
+                    Files.deleteIfExists(target);
+                    if (!hardLink || !FileContents.createLink(source, target)) {
+                        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    copied++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to copy the help data " + target, e);
+                }
+            }
+            LOGGER.info(
+                    "Common help data of {}: {} copied, {} unchanged.",
+                    targetDir.getFileName(),
+                    copied,
+                    unchanged);
+        }
     }
 }
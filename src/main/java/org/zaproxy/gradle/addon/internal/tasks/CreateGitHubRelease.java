@@ -24,6 +24,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.gradle.api.Action;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.InvalidUserDataException;
@@ -33,6 +35,7 @@ import org.gradle.api.Project;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.Internal;
@@ -41,14 +44,18 @@ import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
-import org.kohsuke.github.GHFileNotFoundException;
-import org.kohsuke.github.GHRelease;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
+import org.zaproxy.gradle.addon.internal.GitHubHttpService;
+import org.zaproxy.gradle.addon.internal.GitHubReleases;
 import org.zaproxy.gradle.addon.internal.model.GitHubRepo;
 import org.zaproxy.gradle.addon.internal.model.GitHubUser;
 
-/** A task that creates a GitHub release. */
+/**
+ * A task that creates a GitHub release.
+ *
+ * <p>The assets are uploaded concurrently. The task can be re-run after a failure, the draft
+ * release is resumed and the assets already uploaded are not uploaded again.
+ */
 public abstract class CreateGitHubRelease extends DefaultTask {
 
     private final Property<String> tag;
@@ -64,8 +71,18 @@ public abstract class CreateGitHubRelease extends DefaultTask {
         this.body = objects.property(String.class);
         this.bodyFile = objects.fileProperty();
         this.assets = getProject().container(Asset.class, label -> new Asset(label, getProject()));
+
+        getApiUrl().convention(GitHubHttpService.DEFAULT_API_URL);
+
+        Provider<GitHubHttpService> gitHubHttpService = GitHubHttpService.register(getProject());
+        getGitHubHttpService().convention(gitHubHttpService);
+        usesService(gitHubHttpService);
+        getMaxConcurrentUploads().convention(GitHubReleases.DEFAULT_MAX_CONCURRENT_UPLOADS);
     }
 
+    @Input
+    public abstract Property<String> getApiUrl();
+
     @Input
     public abstract Property<GitHubUser> getUser();
 
@@ -95,6 +112,12 @@ public abstract class CreateGitHubRelease extends DefaultTask {
         return bodyFile;
     }
 
+    @Internal
+    public abstract Property<Integer> getMaxConcurrentUploads();
+
+    @Internal
+    public abstract Property<GitHubHttpService> getGitHubHttpService();
+
     @Nested
     @Optional
     public Iterable<Asset> getAssets() {
@@ -117,46 +140,34 @@ public abstract class CreateGitHubRelease extends DefaultTask {
 
         GitHubUser user = getUser().get();
         GHRepository ghRepo =
-                GitHub.connect(user.getName(), user.getAuthToken())
-                        .getRepository(getRepo().get().toString());
-
-        validateTagExists(ghRepo, tag.get());
-        validateReleaseDoesNotExist(ghRepo, tag.get());
+                GitHubReleases.connect(
+                        getApiUrl().get(),
+                        user.getName(),
+                        user.getAuthToken(),
+                        getRepo().get().toString(),
+                        getGitHubHttpService().get().createConnector("release"));
 
         String releaseBody =
                 getBodyFile().isPresent()
                         ? readContents(getBodyFile().getAsFile().get().toPath())
                         : body.get();
 
-        GHRelease release =
-                ghRepo.createRelease(tag.get())
-                        .name(title.get())
-                        .body(releaseBody)
-                        .draft(true)
-                        .create();
-
-        for (Asset asset : assets) {
-            release.uploadAsset(asset.getFile().getAsFile().get(), asset.getContentType().get());
-        }
-
-        release.update().draft(false).update();
-    }
-
-    private static void validateTagExists(GHRepository repo, String tag) throws IOException {
-        try {
-            repo.getRef("tags/" + tag);
-        } catch (GHFileNotFoundException e) {
-            throw new InvalidUserDataException("Tag does not exist: " + tag, e);
-        }
-    }
-
-    private static void validateReleaseDoesNotExist(GHRepository repo, String tag)
-            throws IOException {
-        GHRelease release = repo.getReleaseByTagName(tag);
-        if (release != null) {
-            throw new InvalidUserDataException(
-                    "Release for tag " + tag + " already exists: " + release.getHtmlUrl());
-        }
+        List<GitHubReleases.Asset> releaseAssets =
+                assets.stream()
+                        .map(
+                                asset ->
+                                        new GitHubReleases.Asset(
+                                                asset.getFile().getAsFile().get(),
+                                                asset.getContentType().get()))
+                        .collect(Collectors.toList());
+
+        GitHubReleases.createRelease(
+                ghRepo,
+                tag.get(),
+                title.get(),
+                releaseBody,
+                releaseAssets,
+                getMaxConcurrentUploads().get());
     }
 
     private static String readContents(Path file) throws IOException {
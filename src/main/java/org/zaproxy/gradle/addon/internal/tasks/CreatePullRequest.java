@@ -21,14 +21,44 @@ package org.zaproxy.gradle.addon.internal.tasks;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEditor;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.dircache.DirCacheIterator;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RefLeaseSpec;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
 import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.WorkingTreeIterator;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Internal;
@@ -36,11 +66,20 @@ import org.gradle.api.tasks.TaskAction;
 import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.zaproxy.gradle.addon.internal.BuildException;
+import org.zaproxy.gradle.addon.internal.GitHubHttpService;
 import org.zaproxy.gradle.addon.internal.model.GitHubRepo;
 import org.zaproxy.gradle.addon.internal.model.GitHubUser;
 
-/** A task that checks for modifications in a git repo, commits, and creates a pull request. */
+/**
+ * A task that checks for modifications in a git repo, commits, and creates a pull request.
+ *
+ * <p>If the {@link #getFiles() files} are set, just those are committed, without checking the
+ * status of the whole working tree nor checking out the branch, and the branch is pushed only if
+ * its contents differ from the remote branch. The files are read as Git would add them, with the
+ * clean filters, the line ending conversions, and the executable bit of the working tree.
+ */
 public abstract class CreatePullRequest extends DefaultTask {
 
     private static final String GITHUB_BASE_URL = "https://github.com/";
@@ -49,14 +88,31 @@ public abstract class CreatePullRequest extends DefaultTask {
 
     private static final String DEFAULT_GIT_BASE_BRANCH_NAME = "main";
 
+    private static final String FETCHED_BRANCH_REF = "refs/zap/pull-request-branch";
+
     private final Property<String> baseBranchName;
 
     public CreatePullRequest() {
         ObjectFactory objects = getProject().getObjects();
         this.baseBranchName =
                 objects.property(String.class).convention(DEFAULT_GIT_BASE_BRANCH_NAME);
+
+        getApiUrl().convention(GitHubHttpService.DEFAULT_API_URL);
+        getRemoteUrl().convention(getUser().zip(getRepo(), CreatePullRequest::forkUrl));
     }
 
+    @Internal
+    public abstract Property<String> getApiUrl();
+
+    /**
+     * Gets the URL of the Git repository where the branch is pushed, by default the fork of the
+     * {@link #getRepo() repository} of the {@link #getUser() user}.
+     *
+     * @return the property that holds the URL of the remote.
+     */
+    @Internal
+    public abstract Property<String> getRemoteUrl();
+
     @Internal
     public Property<String> getBaseBranchName() {
         return baseBranchName;
@@ -83,51 +139,38 @@ public abstract class CreatePullRequest extends DefaultTask {
     @Internal
     public abstract Property<String> getPullRequestDescription();
 
+    /**
+     * Gets the files to commit, changed by other tasks.
+     *
+     * <p>If empty, all the modified files of the working tree are committed.
+     *
+     * @return the files to commit.
+     */
+    @Internal
+    public abstract ConfigurableFileCollection getFiles();
+
     @TaskAction
     public void pullRequest() throws Exception {
         GitHubRepo ghRepo = getRepo().get();
-        Repository repository =
-                new FileRepositoryBuilder().setGitDir(new File(ghRepo.getDir(), ".git")).build();
-        try (Git git = new Git(repository)) {
-            if (git.status().call().getModified().isEmpty()) {
+        try (Repository repository =
+                        new FileRepositoryBuilder()
+                                .setGitDir(new File(ghRepo.getDir(), ".git"))
+                                .build();
+                Git git = new Git(repository)) {
+            boolean changed =
+                    getFiles().isEmpty()
+                            ? commitModifiedFiles(git)
+                            : commitFiles(git, getFiles().getFiles());
+            if (!changed) {
                 return;
             }
 
             GitHubUser ghUser = getUser().get();
-
-            URIish originUri =
-                    new URIish(GITHUB_BASE_URL + ghUser.getName() + "/" + ghRepo.getName());
-            git.remoteSetUrl().setRemoteName(GIT_REMOTE_ORIGIN).setRemoteUri(originUri).call();
-
-            git.checkout()
-                    .setCreateBranch(true)
-                    .setName(getBranchName().get())
-                    .setStartPoint(GIT_REMOTE_ORIGIN + "/" + baseBranchName.get())
-                    .call();
-
-            PersonIdent personIdent = new PersonIdent(ghUser.getName(), ghUser.getEmail());
-            git.commit()
-                    .setAll(true)
-                    .setSign(false)
-                    .setAuthor(personIdent)
-                    .setCommitter(personIdent)
-                    .setMessage(
-                            getCommitSummary().get()
-                                    + "\n\n"
-                                    + getCommitDescription().get()
-                                    + signedOffBy(personIdent))
-                    .call();
-
-            git.push()
-                    .setCredentialsProvider(
-                            new UsernamePasswordCredentialsProvider(
-                                    ghUser.getName(), ghUser.getAuthToken()))
-                    .setForce(true)
-                    .add(getBranchName().get())
-                    .call();
-
             GHRepository ghRepository =
-                    GitHub.connect(ghUser.getName(), ghUser.getAuthToken())
+                    new GitHubBuilder()
+                            .withEndpoint(getApiUrl().get())
+                            .withOAuthToken(ghUser.getAuthToken(), ghUser.getName())
+                            .build()
                             .getRepository(ghRepo.toString());
 
             List<GHPullRequest> pulls =
@@ -149,6 +192,232 @@ public abstract class CreatePullRequest extends DefaultTask {
         }
     }
 
+    private boolean commitModifiedFiles(Git git) throws Exception {
+        if (git.status().call().getModified().isEmpty()) {
+            return false;
+        }
+
+        setOriginUrl(git);
+
+        git.checkout()
+                .setCreateBranch(true)
+                .setName(getBranchName().get())
+                .setStartPoint(GIT_REMOTE_ORIGIN + "/" + baseBranchName.get())
+                .call();
+
+        PersonIdent personIdent = createPersonIdent();
+        git.commit()
+                .setAll(true)
+                .setSign(false)
+                .setAuthor(personIdent)
+                .setCommitter(personIdent)
+                .setMessage(createCommitMessage(personIdent))
+                .call();
+
+        git.push()
+                .setCredentialsProvider(createCredentialsProvider())
+                .setForce(true)
+                .add(getBranchName().get())
+                .call();
+        return true;
+    }
+
+    private boolean commitFiles(Git git, Set<File> files) throws Exception {
+        Repository repository = git.getRepository();
+        String branchRef = Constants.R_HEADS + getBranchName().get();
+        RevCommit base;
+        ObjectId treeId;
+        ObjectId commitId;
+        try (RevWalk walk = new RevWalk(repository);
+                ObjectInserter inserter = repository.newObjectInserter()) {
+            String baseRef = Constants.R_REMOTES + GIT_REMOTE_ORIGIN + "/" + baseBranchName.get();
+            ObjectId baseId = repository.resolve(baseRef);
+            if (baseId == null) {
+                throw new BuildException("No ref " + baseRef + " found in the Git repository.");
+            }
+            base = walk.parseCommit(baseId);
+
+            treeId = createTree(repository, inserter, base, files);
+            if (treeId.equals(base.getTree())) {
+                return false;
+            }
+
+            PersonIdent personIdent = createPersonIdent();
+            CommitBuilder commit = new CommitBuilder();
+            commit.setTreeId(treeId);
+            commit.setParentId(base);
+            commit.setAuthor(personIdent);
+            commit.setCommitter(personIdent);
+            commit.setMessage(createCommitMessage(personIdent));
+            commitId = inserter.insert(commit);
+            inserter.flush();
+        }
+
+        setOriginUrl(git);
+
+        CredentialsProvider credentialsProvider = createCredentialsProvider();
+        Map<String, Ref> remoteBranches =
+                git.lsRemote()
+                        .setRemote(GIT_REMOTE_ORIGIN)
+                        .setHeads(true)
+                        .setCredentialsProvider(credentialsProvider)
+                        .callAsMap();
+        Ref remoteBranch = remoteBranches.get(branchRef);
+        ObjectId remoteId = remoteBranch != null ? remoteBranch.getObjectId() : ObjectId.zeroId();
+        if (remoteBranch != null
+                && hasTree(git, credentialsProvider, branchRef, remoteId, treeId)) {
+            getLogger().lifecycle("Branch {} already up to date.", getBranchName().get());
+            return true;
+        }
+
+        // Force, the commit is always based on the base branch, but only if the remote branch was
+        // not changed meanwhile.
+        RefSpec refSpec = new RefSpec(commitId.name() + ":" + branchRef).setForceUpdate(true);
+        Iterable<PushResult> results =
+                git.push()
+                        .setRemote(GIT_REMOTE_ORIGIN)
+                        .setCredentialsProvider(credentialsProvider)
+                        .setRefSpecs(refSpec)
+                        .setRefLeaseSpecs(new RefLeaseSpec(branchRef, remoteId.name()))
+                        .call();
+        for (PushResult result : results) {
+            for (RemoteRefUpdate update : result.getRemoteUpdates()) {
+                if (update.getStatus() != RemoteRefUpdate.Status.OK
+                        && update.getStatus() != RemoteRefUpdate.Status.UP_TO_DATE) {
+                    String message = update.getMessage();
+                    throw new BuildException(
+                            "Failed to push the branch "
+                                    + getBranchName().get()
+                                    + ": "
+                                    + update.getStatus()
+                                    + (message != null ? " " + message : ""));
+                }
+            }
+        }
+        return true;
+    }
+
+    private static ObjectId createTree(
+            Repository repository, ObjectInserter inserter, RevCommit base, Set<File> files)
+            throws IOException {
+        Path workTree = repository.getWorkTree().toPath().toAbsolutePath().normalize();
+        List<String> paths = new ArrayList<>(files.size());
+        for (File file : files) {
+            Path path = file.toPath().toAbsolutePath().normalize();
+            if (!path.startsWith(workTree)) {
+                throw new BuildException("The file is not in the Git repository: " + file);
+            }
+            paths.add(workTree.relativize(path).toString().replace(File.separatorChar, '/'));
+        }
+
+        DirCache index = DirCache.newInCore();
+        DirCacheBuilder builder = index.builder();
+        try (ObjectReader reader = repository.newObjectReader()) {
+            builder.addTree(new byte[0], DirCacheEntry.STAGE_0, reader, base.getTree());
+        }
+        builder.finish();
+
+        DirCacheEditor editor = index.editor();
+        try (TreeWalk walk = new TreeWalk(repository)) {
+            walk.setOperationType(TreeWalk.OperationType.CHECKIN_OP);
+            walk.setFilter(PathFilterGroup.createFromStrings(paths));
+            walk.setRecursive(true);
+            int indexTree = walk.addTree(new DirCacheIterator(index));
+            int workTreeTree = walk.addTree(new FileTreeIterator(repository));
+            while (walk.next()) {
+                String entryPath = walk.getPathString();
+                WorkingTreeIterator workTreeIterator =
+                        walk.getTree(workTreeTree, WorkingTreeIterator.class);
+                if (workTreeIterator == null) {
+                    editor.add(new DirCacheEditor.DeletePath(entryPath));
+                    continue;
+                }
+                FileMode mode =
+                        workTreeIterator.getIndexFileMode(
+                                walk.getTree(indexTree, DirCacheIterator.class));
+                if (mode == FileMode.GITLINK) {
+                    continue;
+                }
+                ObjectId blobId;
+                try (InputStream is = workTreeIterator.openEntryStream()) {
+                    blobId =
+                            inserter.insert(
+                                    Constants.OBJ_BLOB,
+                                    workTreeIterator.getEntryContentLength(),
+                                    is);
+                }
+                editor.add(
+                        new DirCacheEditor.PathEdit(entryPath) {
+                            @Override
+                            public void apply(DirCacheEntry entry) {
+                                entry.setFileMode(mode);
+                                entry.setObjectId(blobId);
+                            }
+                        });
+            }
+        }
+        editor.finish();
+        return index.writeTree(inserter);
+    }
+
+    private static boolean hasTree(
+            Git git,
+            CredentialsProvider credentialsProvider,
+            String branchRef,
+            ObjectId commitId,
+            ObjectId treeId)
+            throws Exception {
+        Repository repository = git.getRepository();
+        if (!repository.getObjectDatabase().has(commitId)) {
+            try {
+                git.fetch()
+                        .setRemote(GIT_REMOTE_ORIGIN)
+                        .setCredentialsProvider(credentialsProvider)
+                        .setRefSpecs(
+                                new RefSpec(branchRef + ":" + FETCHED_BRANCH_REF)
+                                        .setForceUpdate(true))
+                        .call();
+            } finally {
+                RefUpdate refUpdate = repository.updateRef(FETCHED_BRANCH_REF);
+                refUpdate.setForceUpdate(true);
+                refUpdate.delete();
+            }
+            // The branch was changed since listed, the push will be rejected.
+            if (!repository.getObjectDatabase().has(commitId)) {
+                return false;
+            }
+        }
+        try (RevWalk walk = new RevWalk(repository)) {
+            return walk.parseCommit(commitId).getTree().equals(treeId);
+        }
+    }
+
+    private void setOriginUrl(Git git) throws Exception {
+        URIish originUri = new URIish(getRemoteUrl().get());
+        git.remoteSetUrl().setRemoteName(GIT_REMOTE_ORIGIN).setRemoteUri(originUri).call();
+    }
+
+    private static String forkUrl(GitHubUser user, GitHubRepo repo) {
+        return GITHUB_BASE_URL + user.getName() + "/" + repo.getName();
+    }
+
+    private PersonIdent createPersonIdent() {
+        GitHubUser ghUser = getUser().get();
+        return new PersonIdent(ghUser.getName(), ghUser.getEmail());
+    }
+
+    private CredentialsProvider createCredentialsProvider() {
+        GitHubUser ghUser = getUser().get();
+        return new UsernamePasswordCredentialsProvider(ghUser.getName(), ghUser.getAuthToken());
+    }
+
+    private String createCommitMessage(PersonIdent personIdent) {
+        return getCommitSummary().get()
+                + "\n\n"
+                + getCommitDescription().get()
+                + signedOffBy(personIdent);
+    }
+
     private static String signedOffBy(PersonIdent personIdent) {
         return "\n\nSigned-off-by: "
                 + personIdent.getName()
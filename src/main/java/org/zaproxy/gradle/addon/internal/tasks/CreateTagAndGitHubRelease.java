@@ -19,66 +19,31 @@
  */
 package org.zaproxy.gradle.addon.internal.tasks;
 
-import java.io.File;
 import java.io.IOException;
-import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.lib.PersonIdent;
-import org.eclipse.jgit.lib.Ref;
-import org.eclipse.jgit.lib.Repository;
-import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
-import org.eclipse.jgit.transport.URIish;
-import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import java.util.Map;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.zaproxy.gradle.addon.internal.BuildException;
-import org.zaproxy.gradle.addon.internal.model.GitHubUser;
+import org.zaproxy.gradle.addon.internal.GitHubReleases;
 
 /** A task that creates a tag and a GitHub release. */
 public abstract class CreateTagAndGitHubRelease extends CreateGitHubRelease {
 
-    private static final String GITHUB_BASE_URL = "https://github.com/";
-
-    private static final String GIT_REMOTE_ORIGIN = "origin";
-
     @Input
     public abstract Property<String> getTagMessage();
 
     @Override
     public void createRelease() throws IOException {
         try {
-            createTag();
+            GitHubReleases.createTags(
+                    getProject().getRootDir(),
+                    getRepo().get(),
+                    getUser().get(),
+                    Map.of(getTag().get(), getTagMessage().get()));
         } catch (Exception e) {
             throw new BuildException(e);
         }
 
         super.createRelease();
     }
-
-    private void createTag() throws Exception {
-        Repository repository =
-                new FileRepositoryBuilder()
-                        .setGitDir(new File(getProject().getRootDir(), ".git"))
-                        .build();
-        try (Git git = new Git(repository)) {
-            URIish originUri = new URIish(GITHUB_BASE_URL + getRepo().get());
-            git.remoteSetUrl().setRemoteName(GIT_REMOTE_ORIGIN).setRemoteUri(originUri).call();
-
-            GitHubUser ghUser = getUser().get();
-            PersonIdent personIdent = new PersonIdent(ghUser.getName(), ghUser.getEmail());
-            Ref tag =
-                    git.tag()
-                            .setName(getTag().get())
-                            .setMessage(getTagMessage().get())
-                            .setAnnotated(true)
-                            .setTagger(personIdent)
-                            .call();
-
-            git.push()
-                    .setCredentialsProvider(
-                            new UsernamePasswordCredentialsProvider(
-                                    ghUser.getName(), ghUser.getAuthToken()))
-                    .add(tag)
-                    .call();
-        }
-    }
 }
@@ -0,0 +1,227 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.tasks;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.kohsuke.github.GHRepository;
+import org.zaproxy.gradle.addon.internal.AddOnVariants;
+import org.zaproxy.gradle.addon.internal.BuildException;
+import org.zaproxy.gradle.addon.internal.GitHubHttpService;
+import org.zaproxy.gradle.addon.internal.GitHubReleaseExtension;
+import org.zaproxy.gradle.addon.internal.GitHubReleases;
+import org.zaproxy.gradle.addon.internal.model.AddOnInfo;
+import org.zaproxy.gradle.addon.internal.model.GitHubRepo;
+import org.zaproxy.gradle.addon.internal.model.GitHubUser;
+import org.zaproxy.gradle.addon.internal.model.ReleaseState;
+
+/**
+ * A task that creates the tags and the GitHub releases of several add-ons.
+ *
+ * <p>The tags are created and pushed all at once and the releases are created with the same GitHub
+ * connection, instead of a push and a connection per add-on as done by {@link
+ * CreateTagAndGitHubRelease}.
+ *
+ * <p>The add-ons of the projects declared in the configuration {@value
+ * AddOnVariants#DEPENDENCIES_CONFIGURATION_NAME} are automatically added to the tasks of this type,
+ * usually registered in the root project, with the same tag, title, and body of their own release.
+ * Just the add-ons whose {@link ReleaseState release state}, generated by a previous build, is a
+ * new release are released.
+ *
+ * @see AddOnVariants
+ */
+public abstract class CreateTagsAndGitHubReleases extends DefaultTask {
+
+    private static final String ADD_ON_CONTENT_TYPE = "application/octet-stream";
+
+    public CreateTagsAndGitHubReleases() {
+        getApiUrl().convention(GitHubHttpService.DEFAULT_API_URL);
+
+        GitHubReleaseExtension gitHubRelease =
+                getProject().getObjects().newInstance(GitHubReleaseExtension.class, getProject());
+        getUser().convention(gitHubRelease.getUser());
+        getRepo().convention(gitHubRelease.getRepo());
+        getRemoteUrl().convention(getRepo().map(repo -> GitHubReleases.GITHUB_BASE_URL + repo));
+
+        Project project = getProject();
+        AddOnVariants.eachAddOn(project, path -> getReleases().add(Release.from(project, path)));
+
+        Provider<GitHubHttpService> gitHubHttpService = GitHubHttpService.register(getProject());
+        getGitHubHttpService().convention(gitHubHttpService);
+        usesService(gitHubHttpService);
+        getMaxConcurrentUploads().convention(GitHubReleases.DEFAULT_MAX_CONCURRENT_UPLOADS);
+
+        // The releases must be checked each time the task runs.
+        getOutputs().upToDateWhen(t -> false);
+    }
+
+    @Input
+    public abstract Property<String> getApiUrl();
+
+    @Input
+    public abstract Property<GitHubUser> getUser();
+
+    @Input
+    public abstract Property<GitHubRepo> getRepo();
+
+    @Input
+    public abstract Property<String> getRemoteUrl();
+
+    @Internal
+    public abstract Property<Integer> getMaxConcurrentUploads();
+
+    @Internal
+    public abstract Property<GitHubHttpService> getGitHubHttpService();
+
+    @Nested
+    public abstract ListProperty<Release> getReleases();
+
+    @TaskAction
+    void createReleases() throws IOException {
+        List<Release> releases =
+                getReleases().get().stream()
+                        .filter(release -> ReleaseState.anyNewRelease(release.getReleaseState()))
+                        .collect(toList());
+        if (releases.isEmpty()) {
+            getLogger().lifecycle("No add-ons released, not creating the tags nor the releases.");
+            return;
+        }
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Release release : releases) {
+            String tag = release.getTag().get();
+            if (tags.put(tag, release.getTagMessage().get()) != null) {
+                throw new InvalidUserDataException(
+                        "More than one add-on release with the same tag: " + tag);
+            }
+        }
+
+        GitHubUser user = getUser().get();
+        try {
+            GitHubReleases.createTags(getProject().getRootDir(), getRemoteUrl().get(), user, tags);
+        } catch (Exception e) {
+            throw new BuildException(e);
+        }
+
+        GHRepository ghRepo =
+                GitHubReleases.connect(
+                        getApiUrl().get(),
+                        user.getName(),
+                        user.getAuthToken(),
+                        getRepo().get().toString(),
+                        getGitHubHttpService().get().createConnector("release"));
+
+        for (Release release : releases) {
+            GitHubReleases.createRelease(
+                    ghRepo,
+                    release.getTag().get(),
+                    release.getTitle().get(),
+                    new String(
+                            Files.readAllBytes(release.getBodyFile().getAsFile().get().toPath()),
+                            StandardCharsets.UTF_8),
+                    List.of(
+                            new GitHubReleases.Asset(
+                                    release.getAddOn().getAsFile().get(),
+                                    ADD_ON_CONTENT_TYPE)),
+                    getMaxConcurrentUploads().get());
+        }
+    }
+
+    /** The release of an add-on. */
+    public abstract static class Release {
+
+        @Input
+        public abstract Property<String> getTag();
+
+        @Input
+        public abstract Property<String> getTagMessage();
+
+        @Input
+        public abstract Property<String> getTitle();
+
+        @InputFile
+        @PathSensitive(PathSensitivity.NONE)
+        public abstract RegularFileProperty getBodyFile();
+
+        @InputFile
+        @PathSensitive(PathSensitivity.NONE)
+        public abstract RegularFileProperty getAddOn();
+
+        /**
+         * Gets the file with the release state of the add-on, generated by a previous build.
+         *
+         * <p>The file might not exist, in which case the add-on is not released.
+         *
+         * @return the file with the release state.
+         */
+        @InputFiles
+        @PathSensitive(PathSensitivity.NONE)
+        public abstract ConfigurableFileCollection getReleaseState();
+
+        /**
+         * Creates a {@code Release} with the tag, title, body, and release state of the add-on of
+         * the given project, the same of its own release.
+         *
+         * @param project the project that releases the add-ons.
+         * @param projectPath the path of the project of the add-on.
+         * @return the release.
+         */
+        public static Release from(Project project, String projectPath) {
+            Provider<AddOnInfo> info = AddOnVariants.info(project, projectPath);
+            Release release = project.getObjects().newInstance(Release.class);
+            release.getTag().set(info.map(AddOnInfo::getTag));
+            release.getTagMessage().set(info.map(AddOnInfo::getTagMessage));
+            release.getTitle().set(info.map(AddOnInfo::getTitle));
+            release.getBodyFile()
+                    .set(
+                            AddOnVariants.file(
+                                    project, projectPath, AddOnVariants.Artifact.LATEST_CHANGES));
+            release.getAddOn()
+                    .set(AddOnVariants.file(project, projectPath, AddOnVariants.Artifact.ADD_ON));
+            release.getReleaseState()
+                    .from(
+                            AddOnVariants.files(
+                                    project, projectPath, AddOnVariants.Artifact.RELEASE_STATE));
+            return release;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.addon.internal.model.AddOnInfo;
+
+/**
+ * A task that generates the info of the add-on, published along with the add-on to the tasks that
+ * handle several add-ons.
+ *
+ * @see AddOnInfo
+ * @see org.zaproxy.gradle.addon.internal.AddOnVariants
+ */
+public abstract class GenerateAddOnInfo extends DefaultTask {
+
+    @Input
+    public abstract Property<String> getAddOnId();
+
+    @Input
+    public abstract Property<String> getTag();
+
+    @Input
+    public abstract Property<String> getTagMessage();
+
+    @Input
+    public abstract Property<String> getTitle();
+
+    @Input
+    public abstract Property<String> getDownloadUrl();
+
+    @OutputFile
+    public abstract RegularFileProperty getInfo();
+
+    @TaskAction
+    void generate() {
+        AddOnInfo info = new AddOnInfo();
+        info.setId(getAddOnId().get());
+        info.setTag(getTag().get());
+        info.setTagMessage(getTagMessage().get());
+        info.setTitle(getTitle().get());
+        info.setDownloadUrl(getDownloadUrl().get());
+        info.write(getInfo().getAsFile().get());
+    }
+}
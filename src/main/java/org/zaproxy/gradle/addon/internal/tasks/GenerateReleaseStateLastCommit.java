@@ -23,33 +23,35 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.function.BiConsumer;
-import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.errors.GitAPIException;
-import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.lib.FileMode;
 import org.eclipse.jgit.lib.ObjectId;
-import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
-import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
-import org.eclipse.jgit.treewalk.AbstractTreeIterator;
-import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
 import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
 import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
 import org.zaproxy.gradle.addon.internal.BuildException;
 import org.zaproxy.gradle.addon.internal.model.ProjectInfo;
 import org.zaproxy.gradle.addon.internal.model.ReleaseState;
@@ -57,6 +59,10 @@ import org.zaproxy.gradle.addon.internal.model.ReleaseState;
 /**
  * A task that generates the release state of the last commit, allowing to know what was released
  * (if anything).
+ *
+ * <p>Optionally, the release state is generated for the commits since a base ref, including all the
+ * release transitions in between. The transitions are just reported, the tasks that release the
+ * add-ons use only the release state of the last commit, from which the add-ons are built.
  */
 public abstract class GenerateReleaseStateLastCommit extends DefaultTask {
 
@@ -76,63 +82,47 @@ public abstract class GenerateReleaseStateLastCommit extends DefaultTask {
     @Nested
     public abstract ListProperty<ProjectInfo> getProjects();
 
+    /**
+     * Gets the base ref, to compute the release state of the commits since it instead of the last
+     * commit.
+     *
+     * <p>The release state is then computed between the merge base of the base ref and {@code
+     * HEAD}, and {@code HEAD}, with the release transitions of all the commits in between.
+     *
+     * @return the property that holds the base ref.
+     */
+    @Input
+    @Optional
+    public abstract Property<String> getBaseRef();
+
+    @Option(
+            option = "base-ref",
+            description =
+                    "The base ref, to compute the release state of the commits since it, instead of the last commit.")
+    public void optionBaseRef(String baseRef) {
+        getBaseRef().set(baseRef);
+    }
+
     @TaskAction
     void generate() {
         File gitDir = getGitDir().get().getAsFile();
-
-        try (Repository repository = createRepository(gitDir)) {
-            ObjectId head = getHead(repository).getObjectId();
-            for (ProjectInfo project : getProjects().get()) {
-                ReleaseState releaseState = new ReleaseState();
-                readProperties(
-                        repository,
-                        head,
-                        project.getPropertiesPath().get(),
-                        (previousProperties, currentProperties) -> {
-                            releaseState.setPreviousVersion(
-                                    previousProperties.getProperty(VERSION_PROPERTY));
-                            releaseState.setCurrentVersion(
-                                    currentProperties.getProperty(VERSION_PROPERTY));
-                            releaseState.setPreviousRelease(
-                                    Boolean.parseBoolean(
-                                            previousProperties.getProperty(RELEASE_PROPERTY)));
-                            releaseState.setCurrentRelease(
-                                    Boolean.parseBoolean(
-                                            currentProperties.getProperty(RELEASE_PROPERTY)));
-                        });
-
-                releaseState.write(project.getOutputFile().getAsFile().get());
-            }
+        List<ProjectInfo> projects = getProjects().get();
+        if (projects.isEmpty()) {
+            return;
         }
-    }
-
-    private static void readProperties(
-            Repository repository,
-            ObjectId head,
-            String pathProperties,
-            BiConsumer<Properties, Properties> propertiesConsumer) {
-        try (RevWalk walk = new RevWalk(repository)) {
-            RevCommit headCommit = walk.parseCommit(head);
 
-            walk.markStart(headCommit);
-            Properties currentProperties = null;
-            Iterator<RevCommit> it = walk.iterator();
-            if (it.hasNext()) {
-                try (TreeWalk treeWalk = new TreeWalk(repository)) {
-                    treeWalk.addTree(walk.parseTree(it.next().getTree().getId()));
-                    treeWalk.setRecursive(true);
-                    treeWalk.setFilter(PathFilterGroup.createFromStrings(pathProperties));
-                    if (treeWalk.next()) {
-                        currentProperties = createProperties(repository, treeWalk.getObjectId(0));
-                    }
-                }
-            }
-            if (currentProperties == null) {
-                throw new BuildException("File not found in the current commit: " + pathProperties);
-            }
+        try (Repository repository = createRepository(gitDir);
+                RevWalk walk = new RevWalk(repository)) {
+            RevCommit headCommit = walk.parseCommit(getHead(repository).getObjectId());
 
             RevCommit parent;
-            if (isMergeCommit(headCommit)) {
+            if (getBaseRef().isPresent()) {
+                parent =
+                        getCommonAncestor(
+                                repository,
+                                resolveRef(repository, getBaseRef().get()),
+                                headCommit.getId());
+            } else if (isMergeCommit(headCommit)) {
                 parent =
                         getCommonAncestor(
                                 repository,
@@ -142,21 +132,169 @@ public abstract class GenerateReleaseStateLastCommit extends DefaultTask {
                 parent = headCommit.getParent(0);
             }
 
-            Properties previousProperties = currentProperties;
-            java.util.Optional<DiffEntry> diffResult =
-                    isFileChanged(repository, parent, headCommit, pathProperties);
-            if (diffResult.isPresent()) {
-                previousProperties =
-                        createProperties(repository, diffResult.get().getOldId().toObjectId());
-            }
+            Map<String, ObjectId> currentIds = new HashMap<>();
+            Map<String, ObjectId> previousIds = new HashMap<>();
+            Set<String> paths = new HashSet<>();
+            projects.forEach(project -> paths.add(project.getPropertiesPath().get()));
+            readPropertiesIds(
+                    repository, walk, parent, headCommit, paths, previousIds, currentIds);
+
+            Map<String, List<ReleaseState>> transitions =
+                    getBaseRef().isPresent()
+                            ? readTransitions(repository, parent, headCommit, paths)
+                            : Map.of();
+
+            for (ProjectInfo project : projects) {
+                String pathProperties = project.getPropertiesPath().get();
+                ObjectId currentId = currentIds.get(pathProperties);
+                if (currentId == null) {
+                    throw new BuildException(
+                            "File not found in the current commit: " + pathProperties);
+                }
+                Properties currentProperties = createProperties(repository, currentId);
+                ObjectId previousId = previousIds.get(pathProperties);
+                Properties previousProperties =
+                        previousId != null
+                                ? createProperties(repository, previousId)
+                                : currentProperties;
 
-            propertiesConsumer.accept(previousProperties, currentProperties);
+                ReleaseState releaseState =
+                        createReleaseState(previousProperties, currentProperties);
+                releaseState.setTransitions(transitions.get(pathProperties));
+                releaseState.write(project.getOutputFile().getAsFile().get());
+            }
         } catch (IOException e) {
             throw new BuildException(
                     "An error occurred while using the Git repository: " + e.getMessage(), e);
         }
     }
 
+    private static ReleaseState createReleaseState(
+            Properties previousProperties, Properties currentProperties) {
+        ReleaseState releaseState = new ReleaseState();
+        releaseState.setPreviousVersion(previousProperties.getProperty(VERSION_PROPERTY));
+        releaseState.setCurrentVersion(currentProperties.getProperty(VERSION_PROPERTY));
+        releaseState.setPreviousRelease(
+                Boolean.parseBoolean(previousProperties.getProperty(RELEASE_PROPERTY)));
+        releaseState.setCurrentRelease(
+                Boolean.parseBoolean(currentProperties.getProperty(RELEASE_PROPERTY)));
+        return releaseState;
+    }
+
+    /**
+     * Reads the release transitions of the commits between the base and the head commits.
+     *
+     * <p>The commits are walked once, from the oldest to the newest, limited to the ones that
+     * changed the properties files, and each one is compared with its first parent, a file added
+     * is compared with no properties. The changes of merge commits that come from any of the
+     * parents are skipped, those are already read from the commits of that parent.
+     */
+    private static Map<String, List<ReleaseState>> readTransitions(
+            Repository repository, RevCommit base, RevCommit head, Set<String> paths)
+            throws IOException {
+        Map<String, List<ReleaseState>> transitions = new HashMap<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.setTreeFilter(
+                    AndTreeFilter.create(
+                            PathFilterGroup.createFromStrings(paths), TreeFilter.ANY_DIFF));
+            walk.setRewriteParents(false);
+            walk.sort(RevSort.TOPO, true);
+            walk.sort(RevSort.REVERSE, true);
+            walk.markStart(walk.parseCommit(head));
+            walk.markUninteresting(walk.parseCommit(base));
+
+            for (RevCommit commit : walk) {
+                if (commit.getParentCount() == 0) {
+                    continue;
+                }
+                readTransitions(repository, walk, commit, paths, transitions);
+            }
+        }
+        return transitions;
+    }
+
+    private static void readTransitions(
+            Repository repository,
+            RevWalk walk,
+            RevCommit commit,
+            Set<String> paths,
+            Map<String, List<ReleaseState>> transitions)
+            throws IOException {
+        try (TreeWalk treeWalk = new TreeWalk(repository)) {
+            for (RevCommit parent : commit.getParents()) {
+                treeWalk.addTree(walk.parseTree(parent.getId()));
+            }
+            int current = treeWalk.addTree(walk.parseTree(commit.getId()));
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(
+                    AndTreeFilter.create(
+                            PathFilterGroup.createFromStrings(paths), TreeFilter.ANY_DIFF));
+            while (treeWalk.next()) {
+                if (treeWalk.getFileMode(current) == FileMode.MISSING
+                        || isFromParent(treeWalk, current)) {
+                    continue;
+                }
+                Properties previousProperties =
+                        treeWalk.getFileMode(0) == FileMode.MISSING
+                                ? new Properties()
+                                : createProperties(repository, treeWalk.getObjectId(0));
+                ReleaseState releaseState =
+                        createReleaseState(
+                                previousProperties,
+                                createProperties(repository, treeWalk.getObjectId(current)));
+                if (releaseState.isPreviousRelease() != releaseState.isCurrentRelease()) {
+                    releaseState.setCommit(commit.getName());
+                    transitions
+                            .computeIfAbsent(treeWalk.getPathString(), k -> new ArrayList<>())
+                            .add(releaseState);
+                }
+            }
+        }
+    }
+
+    private static boolean isFromParent(TreeWalk treeWalk, int current) {
+        for (int i = 0; i < current; i++) {
+            if (treeWalk.idEqual(i, current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the IDs of the properties files in the previous and current commits, in a single walk
+     * of both trees.
+     *
+     * <p>The previous ID is read only if the file was modified, that is, it exists in both commits
+     * with different contents.
+     */
+    private static void readPropertiesIds(
+            Repository repository,
+            RevWalk walk,
+            RevCommit previous,
+            RevCommit current,
+            Set<String> paths,
+            Map<String, ObjectId> previousIds,
+            Map<String, ObjectId> currentIds)
+            throws IOException {
+        try (TreeWalk treeWalk = new TreeWalk(repository)) {
+            treeWalk.addTree(walk.parseTree(previous.getId()));
+            treeWalk.addTree(walk.parseTree(current.getId()));
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(PathFilterGroup.createFromStrings(paths));
+            while (treeWalk.next()) {
+                if (treeWalk.getFileMode(1) == FileMode.MISSING) {
+                    continue;
+                }
+                String path = treeWalk.getPathString();
+                currentIds.put(path, treeWalk.getObjectId(1));
+                if (treeWalk.getFileMode(0) != FileMode.MISSING && !treeWalk.idEqual(0, 1)) {
+                    previousIds.put(path, treeWalk.getObjectId(0));
+                }
+            }
+        }
+    }
+
     private static Repository createRepository(File projectDir) {
         try {
             return new FileRepositoryBuilder().setGitDir(projectDir).build();
@@ -183,6 +321,23 @@ public abstract class GenerateReleaseStateLastCommit extends DefaultTask {
         return head;
     }
 
+    private static ObjectId resolveRef(Repository repository, String ref) {
+        ObjectId objectId;
+        try {
+            objectId = repository.resolve(ref);
+        } catch (IOException e) {
+            throw new BuildException(
+                    String.format(
+                            "Failed to resolve the ref %s from the Git repository: %s",
+                            ref, e.getMessage()),
+                    e);
+        }
+        if (objectId == null) {
+            throw new BuildException(String.format("No ref %s found in the Git repository.", ref));
+        }
+        return objectId;
+    }
+
     private static boolean isMergeCommit(RevCommit commit) {
         return commit.getParentCount() > 1;
     }
@@ -200,65 +355,20 @@ public abstract class GenerateReleaseStateLastCommit extends DefaultTask {
 
     private static RevCommit getCommonAncestor(
             Repository repository, ObjectId commitA, ObjectId commitB) {
-        List<RevCommit> treeA = walkTree(repository, commitA, 50);
-        List<RevCommit> treeB = walkTree(repository, commitB, 50);
-
-        Set<RevCommit> common = new HashSet<>(treeA);
-        for (RevCommit commit : treeB) {
-            if (!common.add(commit)) {
-                return commit;
-            }
-        }
-
-        throw new BuildException(
-                "Common ancestor not found between " + commitA + " and " + commitB);
-    }
-
-    private static List<RevCommit> walkTree(Repository repository, ObjectId start, int count) {
-        List<RevCommit> commits = new ArrayList<>();
         try (RevWalk revWalk = new RevWalk(repository)) {
-            revWalk.markStart(revWalk.parseCommit(start));
-            for (RevCommit commit : revWalk) {
-                commits.add(commit);
-                if (commits.size() >= count) {
-                    break;
-                }
+            revWalk.setRevFilter(RevFilter.MERGE_BASE);
+            revWalk.markStart(revWalk.parseCommit(commitA));
+            revWalk.markStart(revWalk.parseCommit(commitB));
+            RevCommit mergeBase = revWalk.next();
+            if (mergeBase != null) {
+                return mergeBase;
             }
         } catch (IOException e) {
             throw new BuildException(
                     "An error occurred while traversing the commit tree: " + e.getMessage(), e);
         }
-        return commits;
-    }
 
-    private static AbstractTreeIterator prepareTreeParser(Repository repository, ObjectId objectId)
-            throws IOException {
-        try (RevWalk walk = new RevWalk(repository)) {
-            RevTree tree = walk.parseTree(walk.parseCommit(objectId).getTree().getId());
-
-            CanonicalTreeParser treeParser = new CanonicalTreeParser();
-            try (ObjectReader reader = repository.newObjectReader()) {
-                treeParser.reset(reader, tree.getId());
-            }
-            return treeParser;
-        }
-    }
-
-    private static java.util.Optional<DiffEntry> isFileChanged(
-            Repository repository, RevCommit commitA, RevCommit commitB, String filePath) {
-        try (Git git = new Git(repository)) {
-            AbstractTreeIterator oldTree = prepareTreeParser(repository, commitA);
-            AbstractTreeIterator newTree = prepareTreeParser(repository, commitB);
-            return git.diff().setOldTree(oldTree).setNewTree(newTree).call().stream()
-                    .filter(
-                            e ->
-                                    e.getChangeType() == DiffEntry.ChangeType.MODIFY
-                                            && e.getNewPath().equals(filePath))
-                    .findFirst();
-
-        } catch (GitAPIException | IOException e) {
-            throw new BuildException(
-                    "An error occurred while diffing the commits: " + e.getMessage(), e);
-        }
+        throw new BuildException(
+                "Common ancestor not found between " + commitA + " and " + commitB);
     }
 }
@@ -19,26 +19,36 @@
  */
 package org.zaproxy.gradle.addon.internal.tasks;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.OutputFile;
 import org.zaproxy.gradle.addon.internal.BuildException;
+import org.zaproxy.gradle.addon.internal.ChecksumService;
 import org.zaproxy.gradle.addon.internal.model.AddOnRelease;
 
 /**
  * Task that handles the release.
  *
  * <p>Sends a repository dispatch to update the marketplace.
+ *
+ * <p>The checksums of the add-ons are computed in parallel when sending the repository dispatch and
+ * written to the {@link #getChecksums() checksums file}, to be reused by other tasks.
  */
 public abstract class HandleRelease extends SendRepositoryDispatch {
 
@@ -46,21 +56,24 @@ public abstract class HandleRelease extends SendRepositoryDispatch {
     private static final String DEFAULT_CHECKSUM_ALGORITHM = "SHA-256";
     private static final String HTTPS_SCHEME = "HTTPS";
 
-    private Map<String, List<Map<String, String>>> payloadData;
+    private Map<String, Object> payloadData;
 
     public HandleRelease() {
+        Provider<ChecksumService> checksumService = ChecksumService.register(getProject());
+        getChecksumService().convention(checksumService);
+        usesService(checksumService);
+
         getEventType().set(ADD_ON_RELEASE_EVENT);
         getChecksumAlgorithm().set(DEFAULT_CHECKSUM_ALGORITHM);
-        getClientPayload()
-                .set(
+        getChecksums()
+                .convention(
                         getProject()
-                                .provider(
-                                        () -> {
-                                            if (payloadData == null) {
-                                                createPayloadData();
-                                            }
-                                            return payloadData;
-                                        }));
+                                .getLayout()
+                                .getBuildDirectory()
+                                .file("zapAddOn/release-checksums.json"));
+
+        // The dispatch must be sent each time the task runs.
+        getOutputs().upToDateWhen(t -> false);
     }
 
     @Nested
@@ -69,10 +82,33 @@ public abstract class HandleRelease extends SendRepositoryDispatch {
     @Input
     public abstract Property<String> getChecksumAlgorithm();
 
+    @Internal
+    public abstract Property<ChecksumService> getChecksumService();
+
+    /**
+     * Gets the file with the checksums of the add-ons.
+     *
+     * <p>A JSON object with the {@code algorithm} and the {@code addons}, each with the {@code
+     * file} name, the download {@code url}, and the {@code checksum}.
+     *
+     * @return the property that holds the checksums file.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getChecksums();
+
     @Override
     public void send() {
+        send(getAddOns().get());
+    }
+
+    /**
+     * Sends the repository dispatch with the given add-ons.
+     *
+     * @param addOnReleases the add-ons released.
+     */
+    protected void send(List<AddOnRelease> addOnReleases) {
         try {
-            for (AddOnRelease addOnRelease : getAddOns().get()) {
+            for (AddOnRelease addOnRelease : addOnReleases) {
                 String urlString = addOnRelease.getDownloadUrl().get();
                 URL url = new URL(urlString);
                 if (!HTTPS_SCHEME.equalsIgnoreCase(url.getProtocol())) {
@@ -84,33 +120,63 @@ public abstract class HandleRelease extends SendRepositoryDispatch {
             throw new BuildException("Failed to parse download URL.", e);
         }
 
+        try {
+            createPayloadData(addOnReleases);
+        } catch (IOException e) {
+            throw new BuildException(e);
+        }
+
         super.send();
     }
 
-    private void createPayloadData() {
+    @Override
+    protected Map<String, Object> createClientPayload() {
+        Map<String, Object> clientPayload = new HashMap<>();
+        Map<String, Object> configuredPayload = super.createClientPayload();
+        if (configuredPayload != null) {
+            clientPayload.putAll(configuredPayload);
+        }
+        clientPayload.putAll(payloadData);
+        return clientPayload;
+    }
+
+    private void createPayloadData(List<AddOnRelease> addOnReleases) throws IOException {
+        String algorithm = getChecksumAlgorithm().get();
+        List<Path> files = new ArrayList<>(addOnReleases.size());
+        for (AddOnRelease addOnRelease : addOnReleases) {
+            files.add(addOnRelease.getAddOn().getAsFile().get().toPath());
+        }
+        Map<Path, String> checksums = getChecksumService().get().checksums(algorithm, files);
+
         List<Map<String, String>> addOns = new ArrayList<>();
-        for (AddOnRelease addOnRelease : getAddOns().get()) {
-            String checksum;
-            try {
-                checksum =
-                        createChecksum(
-                                getChecksumAlgorithm().get(),
-                                addOnRelease.getAddOn().getAsFile().get().toPath());
-            } catch (IOException e) {
-                throw new BuildException(e);
-            }
+        List<Map<String, String>> checksumsData = new ArrayList<>();
+        for (int i = 0; i < addOnReleases.size(); i++) {
+            Path file = files.get(i);
+            String url = addOnReleases.get(i).getDownloadUrl().get();
+            String checksum = checksums.get(file);
 
             Map<String, String> addOnData = new HashMap<>();
-            addOnData.put("url", addOnRelease.getDownloadUrl().get());
+            addOnData.put("url", url);
             addOnData.put("checksum", checksum);
             addOns.add(addOnData);
+
+            Map<String, String> checksumData = new LinkedHashMap<>();
+            checksumData.put("file", file.getFileName().toString());
+            checksumData.put("url", url);
+            checksumData.put("checksum", checksum);
+            checksumsData.add(checksumData);
         }
 
+        Map<String, Object> checksumsFileData = new LinkedHashMap<>();
+        checksumsFileData.put("algorithm", algorithm);
+        checksumsFileData.put("addons", checksumsData);
+        Path checksumsFile = getChecksums().getAsFile().get().toPath();
+        Files.createDirectories(checksumsFile.getParent());
+        new ObjectMapper()
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(checksumsFile.toFile(), checksumsFileData);
+
         payloadData = new HashMap<>();
         payloadData.put("addons", addOns);
     }
-
-    private static String createChecksum(String algorithm, Path file) throws IOException {
-        return new DigestUtils(algorithm).digestAsHex(file.toFile());
-    }
 }
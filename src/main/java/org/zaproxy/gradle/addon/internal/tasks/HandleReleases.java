@@ -0,0 +1,72 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.internal.tasks;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import org.gradle.api.Project;
+import org.zaproxy.gradle.addon.internal.AddOnVariants;
+import org.zaproxy.gradle.addon.internal.GitHubReleaseExtension;
+import org.zaproxy.gradle.addon.internal.model.AddOnRelease;
+import org.zaproxy.gradle.addon.internal.model.ReleaseState;
+
+/**
+ * Task that handles the release of several add-ons.
+ *
+ * <p>Sends a single repository dispatch with all the add-ons, to update the marketplace in one
+ * run, instead of a repository dispatch per add-on as done by {@link HandleRelease}.
+ *
+ * <p>The add-ons of the projects declared in the configuration {@value
+ * AddOnVariants#DEPENDENCIES_CONFIGURATION_NAME} are automatically added to the tasks of this type,
+ * usually registered in the root project. Just the add-ons whose {@link ReleaseState release
+ * state}, generated by a previous build, is a new release are sent. No repository dispatch is sent
+ * if there are no such add-ons.
+ *
+ * @see AddOnVariants
+ */
+public abstract class HandleReleases extends HandleRelease {
+
+    public HandleReleases() {
+        GitHubReleaseExtension gitHubRelease =
+                getProject().getObjects().newInstance(GitHubReleaseExtension.class, getProject());
+        getUser().convention(gitHubRelease.getUser());
+        getRepo().convention(gitHubRelease.getMarketplaceRepo());
+
+        Project project = getProject();
+        AddOnVariants.eachAddOn(project, path -> getAddOns().add(AddOnRelease.from(project, path)));
+
+        mustRunAfter(getProject().getTasks().withType(CreateTagsAndGitHubReleases.class));
+    }
+
+    @Override
+    public void send() {
+        List<AddOnRelease> addOnReleases =
+                getAddOns().get().stream()
+                        .filter(addOn -> ReleaseState.anyNewRelease(addOn.getReleaseState()))
+                        .collect(toList());
+        if (addOnReleases.isEmpty()) {
+            getLogger().lifecycle("No add-ons released, not sending the repository dispatch.");
+            return;
+        }
+
+        send(addOnReleases);
+    }
+}
@@ -22,30 +22,50 @@ package org.zaproxy.gradle.addon.internal.tasks;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.HttpURLConnection;
-import java.net.ProtocolException;
-import java.net.URL;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import org.apache.commons.io.IOUtils;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.TaskAction;
 import org.zaproxy.gradle.addon.internal.BuildException;
+import org.zaproxy.gradle.addon.internal.GitHubHttpService;
 import org.zaproxy.gradle.addon.internal.model.GitHubRepo;
 import org.zaproxy.gradle.addon.internal.model.GitHubUser;
 
-/** A task that sends a {@code repository_dispatch} to a GitHub repo. */
+/**
+ * A task that sends a {@code repository_dispatch} to a GitHub repo.
+ *
+ * <p>The dispatch is sent with the {@link GitHubHttpService}, retried on server errors and rate
+ * limits.
+ */
 public abstract class SendRepositoryDispatch extends DefaultTask {
 
     private static final int EXPECTED_STATUS_CODE = HttpURLConnection.HTTP_NO_CONTENT;
-    private static final int NO_STATUS_CODE = -1;
+
+    public SendRepositoryDispatch() {
+        Provider<GitHubHttpService> gitHubHttpService = GitHubHttpService.register(getProject());
+        getGitHubHttpService().convention(gitHubHttpService);
+        usesService(gitHubHttpService);
+
+        getApiUrl().convention(GitHubHttpService.DEFAULT_API_URL);
+        getRequestTimeout().convention(GitHubHttpService.DEFAULT_REQUEST_TIMEOUT);
+        getMaxAttempts().convention(GitHubHttpService.DEFAULT_MAX_ATTEMPTS);
+    }
+
+    @Input
+    public abstract Property<String> getApiUrl();
 
     @Input
     public abstract Property<GitHubUser> getUser();
@@ -60,81 +80,74 @@ public abstract class SendRepositoryDispatch extends DefaultTask {
     @Optional
     public abstract MapProperty<String, Object> getClientPayload();
 
+    @Internal
+    public abstract Property<Duration> getRequestTimeout();
+
+    @Internal
+    public abstract Property<Integer> getMaxAttempts();
+
+    @Internal
+    public abstract Property<GitHubHttpService> getGitHubHttpService();
+
     @TaskAction
     public void send() {
-        HttpURLConnection connection = createConnection();
-        writeRepositoryDispatch(connection);
+        HttpResponse<String> response;
+        try {
+            response =
+                    getGitHubHttpService()
+                            .get()
+                            .send("repository dispatch", createRequest(), getMaxAttempts().get());
+        } catch (IOException e) {
+            throw new BuildException("Failed to send the repository dispatch:", e);
+        }
 
-        int statusCode = getStatusCode(connection);
+        int statusCode = response.statusCode();
         if (statusCode == EXPECTED_STATUS_CODE) {
             return;
         }
 
-        if (statusCode == NO_STATUS_CODE) {
-            throw new BuildException("Unable to get a response.");
-        }
-
         StringBuilder errorMessage = new StringBuilder();
         errorMessage.append(
                 String.format(
                         "Repository dispatch was not successful, expected status code %s received %s.",
                         EXPECTED_STATUS_CODE, statusCode));
 
-        String response = readResponse(connection);
-        if (response != null && !response.isEmpty()) {
-            errorMessage.append("\nResponse:\n").append(response);
+        String body = response.body();
+        if (body != null && !body.isEmpty()) {
+            errorMessage.append("\nResponse:\n").append(body);
         }
         throw new BuildException(errorMessage.toString());
     }
 
-    private HttpURLConnection createConnection() {
-        String url = String.format("https://api.github.com/repos/%s/dispatches", getRepo().get());
-        HttpURLConnection connection;
-        try {
-            connection = (HttpURLConnection) new URL(url).openConnection();
-        } catch (IOException e) {
-            throw new BuildException("Failed to create the connection:", e);
-        }
-        connection.setDoOutput(true);
-        connection.setUseCaches(false);
+    private HttpRequest createRequest() {
+        byte[] repositoryDispatch;
         try {
-            connection.setRequestMethod("POST");
-        } catch (ProtocolException e) {
-            throw new BuildException("Failed to create the connection:", e);
+            repositoryDispatch = createRepositoryDispatch();
+        } catch (JsonProcessingException e) {
+            throw new BuildException("Failed to create the request body:", e);
         }
-        connection.setRequestProperty("Accept", "application/vnd.github.v3+json");
-        connection.setRequestProperty("Content-Type", "application/json");
 
         GitHubUser user = getUser().get();
         String userName = user.getName();
         String token = user.getAuthToken();
         byte[] usernameAuthToken = (userName + ":" + token).getBytes(StandardCharsets.UTF_8);
         String authorization = "Basic " + Base64.getEncoder().encodeToString(usernameAuthToken);
-        connection.setRequestProperty("Authorization", authorization);
-
-        return connection;
-    }
-
-    private void writeRepositoryDispatch(HttpURLConnection connection) {
-        byte[] repositoryDispatch;
-        try {
-            repositoryDispatch = createRepositoryDispatch();
-        } catch (JsonProcessingException e) {
-            throw new BuildException("Failed to create the request body:", e);
-        }
 
-        try (OutputStream os = connection.getOutputStream()) {
-            os.write(repositoryDispatch);
-        } catch (IOException e) {
-            throw new BuildException("Failed to write the repository dispatch:", e);
-        }
+        String url = String.format("%s/repos/%s/dispatches", getApiUrl().get(), getRepo().get());
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(getRequestTimeout().get())
+                .header("Accept", "application/vnd.github.v3+json")
+                .header("Content-Type", "application/json")
+                .header("Authorization", authorization)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(repositoryDispatch))
+                .build();
     }
 
     private byte[] createRepositoryDispatch() throws JsonProcessingException {
         Map<String, Object> repositoryDispatch = new LinkedHashMap<>();
         repositoryDispatch.put("event_type", getEventType().get());
 
-        Map<String, Object> clientPayload = getClientPayload().getOrNull();
+        Map<String, Object> clientPayload = createClientPayload();
         if (clientPayload != null && !clientPayload.isEmpty()) {
             repositoryDispatch.put("client_payload", clientPayload);
         }
@@ -142,22 +155,14 @@ public abstract class SendRepositoryDispatch extends DefaultTask {
         return new ObjectMapper().writeValueAsBytes(repositoryDispatch);
     }
 
-    private int getStatusCode(HttpURLConnection connection) {
-        try {
-            return connection.getResponseCode();
-        } catch (IOException e) {
-            getLogger()
-                    .warn("Failed to read the repository dispatch status code: " + e.getMessage());
-        }
-        return NO_STATUS_CODE;
-    }
-
-    private String readResponse(HttpURLConnection connection) {
-        try {
-            return IOUtils.toString(connection.getErrorStream(), StandardCharsets.UTF_8.name());
-        } catch (IOException e) {
-            getLogger().warn("Failed to read the repository dispatch response: " + e.getMessage());
-        }
-        return null;
+    /**
+     * Creates the client payload of the repository dispatch, called when sending it.
+     *
+     * <p>By default, returns the {@link #getClientPayload() client payload}.
+     *
+     * @return the client payload, might be {@code null}.
+     */
+    protected Map<String, Object> createClientPayload() {
+        return getClientPayload().getOrNull();
     }
 }
@@ -19,25 +19,27 @@
  */
 package org.zaproxy.gradle.addon.internal.tasks;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.addon.internal.ChangelogService;
+import org.zaproxy.gradle.addon.internal.model.Changelog;
+import org.zaproxy.gradle.addon.internal.model.Changelog.VersionSection;
 
 public abstract class UpdateChangelogNextDevIter extends DefaultTask {
 
@@ -45,8 +47,6 @@ public abstract class UpdateChangelogNextDevIter extends DefaultTask {
 
     private static final String UNRELEASED_SECTION = "## Unreleased";
     private static final String UNRELEASED_SECTION_LINK = "## [Unreleased]";
-    private static final Pattern VERSION_SECTION_PATTERN = Pattern.compile("^## \\[?.+]?.*");
-    private static final Pattern VERSION_LINK_PATTERN = Pattern.compile("^\\[.+]:");
 
     private final Property<String> currentVersionToken;
     private final Property<String> unreleasedLink;
@@ -55,6 +55,10 @@ public abstract class UpdateChangelogNextDevIter extends DefaultTask {
         ObjectFactory objects = getProject().getObjects();
         this.currentVersionToken = objects.property(String.class).value(CURRENT_VERSION_TOKEN);
         this.unreleasedLink = objects.property(String.class);
+
+        Provider<ChangelogService> changelogService = ChangelogService.register(getProject());
+        getChangelogService().convention(changelogService);
+        usesService(changelogService);
     }
 
     @Input
@@ -75,74 +79,55 @@ public abstract class UpdateChangelogNextDevIter extends DefaultTask {
     @PathSensitive(PathSensitivity.NONE)
     public abstract RegularFileProperty getChangelog();
 
+    @Internal
+    public abstract Property<ChangelogService> getChangelogService();
+
     @TaskAction
     public void prepare() throws IOException {
-        Path updatedChangelog = updateChangelog();
-
-        Files.copy(
-                updatedChangelog,
-                getChangelog().getAsFile().get().toPath(),
-                StandardCopyOption.REPLACE_EXISTING);
-    }
-
-    private Path updateChangelog() throws IOException {
         Path changelogPath = getChangelog().getAsFile().get().toPath();
-        Path updatedChangelog =
-                getTemporaryDir().toPath().resolve("updated-" + changelogPath.getFileName());
-
-        boolean insertUnreleased = true;
-        boolean insertUnreleasedLink = unreleasedLink.isPresent();
-
-        try (BufferedReader reader = Files.newBufferedReader(changelogPath);
-                BufferedWriter writer = Files.newBufferedWriter(updatedChangelog)) {
-            boolean lastLineEmpty = false;
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (insertUnreleased) {
-                    if (line.startsWith(UNRELEASED_SECTION)
-                            || line.startsWith(UNRELEASED_SECTION_LINK)) {
-                        throw new InvalidUserDataException(
-                                "The changelog already contains the unreleased section.");
-                    }
-
-                    if (VERSION_SECTION_PATTERN.matcher(line).find()) {
-                        writer.write(
-                                insertUnreleasedLink
-                                        ? UNRELEASED_SECTION_LINK
-                                        : UNRELEASED_SECTION);
-                        writer.write("\n\n\n");
-                        insertUnreleased = false;
-                    }
-                }
-                if (insertUnreleasedLink && VERSION_LINK_PATTERN.matcher(line).find()) {
-                    writeUnreleaseLink(writer);
-                    insertUnreleasedLink = false;
-                }
+        Changelog changelog = getChangelogService().get().parse(changelogPath);
 
-                writer.write(line);
-                writer.write("\n");
-                lastLineEmpty = line.isEmpty();
-            }
+        List<VersionSection> sections = changelog.getVersionSections();
+        if (sections.isEmpty()) {
+            throw new InvalidUserDataException(
+                    "Failed to insert the unreleased section, no version section found.");
+        }
+        VersionSection latest = sections.get(0);
+        String header = changelog.getLines().get(latest.getStart());
+        if (header.startsWith(UNRELEASED_SECTION) || header.startsWith(UNRELEASED_SECTION_LINK)) {
+            throw new InvalidUserDataException(
+                    "The changelog already contains the unreleased section.");
+        }
 
-            if (insertUnreleasedLink) {
-                if (!lastLineEmpty) {
-                    writer.write("\n");
+        List<String> lines = new ArrayList<>(changelog.getLines());
+        List<String> unreleased =
+                List.of(
+                        unreleasedLink.isPresent() ? UNRELEASED_SECTION_LINK : UNRELEASED_SECTION,
+                        "",
+                        "");
+        lines.addAll(latest.getStart(), unreleased);
+
+        if (unreleasedLink.isPresent()) {
+            int linksStart = changelog.getLinksStart();
+            if (linksStart == -1) {
+                if (!lines.get(lines.size() - 1).isEmpty()) {
+                    lines.add("");
+                }
+                lines.add(buildUnreleasedLink());
+            } else {
+                if (linksStart >= latest.getStart()) {
+                    linksStart += unreleased.size();
                 }
-                writeUnreleaseLink(writer);
+                lines.add(linksStart, buildUnreleasedLink());
             }
         }
 
-        if (insertUnreleased) {
-            throw new InvalidUserDataException(
-                    "Failed to insert the unreleased section, no version section found.");
-        }
-
-        return updatedChangelog;
+        Files.writeString(changelogPath, Changelog.toText(lines));
     }
 
-    private void writeUnreleaseLink(Writer writer) throws IOException {
+    private String buildUnreleasedLink() {
         String link =
                 unreleasedLink.get().replace(currentVersionToken.get(), getCurrentVersion().get());
-        writer.write("[Unreleased]: " + link + "\n");
+        return "[Unreleased]: " + link;
     }
 }
@@ -20,54 +20,52 @@
 package org.zaproxy.gradle.addon.internal.tasks;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import javax.inject.Inject;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFiles;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.language.base.plugins.LifecycleBasePlugin;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.ls.DOMImplementationLS;
-import org.w3c.dom.ls.LSOutput;
-import org.xml.sax.SAXException;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 import org.zaproxy.gradle.addon.AddOnPluginException;
 import org.zaproxy.gradle.addon.internal.Constants;
 
 /**
  * A task to update {@code HelpSet}'s XML {@code lang} attribute based on the locale in the file
  * name.
+ *
+ * <p>The HelpSet files are read just until the {@code helpset} element and are changed only if the
+ * attribute has a different value, keeping the rest of the file as is.
  */
 public abstract class UpdateHelpSetXmlLangAttr extends DefaultTask {
 
-    private static final XPathExpression HELP_SET_NODE_XPATH_EXPRESSION;
-
-    static {
-        String expression = "/helpset";
-        try {
-            HELP_SET_NODE_XPATH_EXPRESSION =
-                    XPathFactory.newInstance().newXPath().compile(expression);
-        } catch (XPathExpressionException e) {
-            throw new RuntimeException(
-                    "Failed to compile valid XPath expression: " + expression, e);
-        }
-    }
+    private static final Pattern HELP_SET_LANG_ATTR_PATTERN =
+            Pattern.compile("(<helpset\\b[^>]*?\\bxml:lang\\s*=\\s*)([\"'])(.*?)\\2");
 
     public UpdateHelpSetXmlLangAttr() {
         setGroup(LifecycleBasePlugin.BUILD_GROUP);
@@ -76,85 +74,144 @@ public abstract class UpdateHelpSetXmlLangAttr extends DefaultTask {
         getFileNameLocalePattern().convention(Constants.HELPSET_LOCALE_PATTERN);
     }
 
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
     @Input
     public abstract Property<String> getFileNameLocalePattern();
 
     @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
     public abstract ConfigurableFileCollection getHelpSets();
 
-    @TaskAction
-    void update() {
-        Pattern extractLocalePattern = Pattern.compile(getFileNameLocalePattern().get());
-        getHelpSets()
-                .getFiles()
-                .forEach(e -> updateHelpSetLangAttribute(extractLocalePattern, e.toPath()));
+    /**
+     * Gets the HelpSet files, as outputs, the files are updated in place.
+     *
+     * @return the HelpSet files.
+     */
+    @OutputFiles
+    protected FileCollection getUpdatedHelpSets() {
+        return getHelpSets();
     }
 
-    private static void updateHelpSetLangAttribute(Pattern extractLocalePattern, Path helpSetFile) {
-        String language =
-                extractLanguage(extractLocalePattern, helpSetFile.getFileName().toString());
-        if (language == null) {
-            return;
+    @TaskAction
+    void update() {
+        WorkQueue workQueue = getWorkerExecutor().noIsolation();
+        for (File helpSet : getHelpSets().getFiles()) {
+            workQueue.submit(
+                    UpdateHelpSetAction.class,
+                    params -> {
+                        params.getHelpSet().set(helpSet);
+                        params.getFileNameLocalePattern().set(getFileNameLocalePattern());
+                    });
         }
-        updateHelpSetFileLangAttribute(helpSetFile, language);
     }
 
-    private static String extractLanguage(Pattern extractLocalePattern, String helpSetFileName) {
-        Matcher matcher = extractLocalePattern.matcher(helpSetFileName);
-        if (matcher.matches()) {
-            return matcher.group(1).replace('_', '-');
-        }
-        return null;
+    public interface UpdateHelpSetParameters extends WorkParameters {
+
+        RegularFileProperty getHelpSet();
+
+        Property<String> getFileNameLocalePattern();
     }
 
-    private static void updateHelpSetFileLangAttribute(Path helpSetFile, String language) {
-        if (!Files.exists(helpSetFile)) {
-            throw new AddOnPluginException(
-                    "Specified HelpSet file does not exist: "
-                            + helpSetFile.toAbsolutePath().toString());
+    public abstract static class UpdateHelpSetAction
+            implements WorkAction<UpdateHelpSetParameters> {
+
+        private static final Logger LOGGER = Logging.getLogger(UpdateHelpSetAction.class);
+
+        private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+        @Override
+        public void execute() {
+            Pattern extractLocalePattern =
+                    Pattern.compile(getParameters().getFileNameLocalePattern().get());
+            Path helpSetFile = getParameters().getHelpSet().getAsFile().get().toPath();
+            String language =
+                    extractLanguage(extractLocalePattern, helpSetFile.getFileName().toString());
+            if (language == null) {
+                return;
+            }
+            updateHelpSetFileLangAttribute(helpSetFile, language);
         }
 
-        Document doc;
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(helpSetFile))) {
-            DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
-            builderFactory.setValidating(false);
-            builderFactory.setFeature(
-                    "http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            DocumentBuilder builder = builderFactory.newDocumentBuilder();
-            doc = builder.parse(inputStream);
-        } catch (SAXException | ParserConfigurationException | IOException e) {
-            throw new AddOnPluginException("Failed to parse HelpSet file: " + e.getMessage(), e);
+        private static XMLInputFactory createXmlInputFactory() {
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return factory;
         }
 
-        Node node;
-        try {
-            node = (Node) HELP_SET_NODE_XPATH_EXPRESSION.evaluate(doc, XPathConstants.NODE);
-        } catch (XPathExpressionException e) {
-            throw new AddOnPluginException("Failed to get helpset element: " + e.getMessage(), e);
+        private static String extractLanguage(
+                Pattern extractLocalePattern, String helpSetFileName) {
+            Matcher matcher = extractLocalePattern.matcher(helpSetFileName);
+            if (matcher.matches()) {
+                return matcher.group(1).replace('_', '-');
+            }
+            return null;
         }
 
-        NamedNodeMap attributes = node.getAttributes();
-        if (attributes == null) {
-            throw new AddOnPluginException("Element helpset does not contain attributes.");
+        private static void updateHelpSetFileLangAttribute(Path helpSetFile, String language) {
+            if (!Files.exists(helpSetFile)) {
+                throw new AddOnPluginException(
+                        "Specified HelpSet file does not exist: "
+                                + helpSetFile.toAbsolutePath().toString());
+            }
+
+            if (language.equals(readLangAttribute(helpSetFile))) {
+                LOGGER.debug("HelpSet {} already has the xml:lang {}", helpSetFile, language);
+                return;
+            }
+
+            try {
+                // Byte to char mapping, keeps the contents as is whatever the encoding of the file.
+                String contents = Files.readString(helpSetFile, StandardCharsets.ISO_8859_1);
+                Matcher matcher = HELP_SET_LANG_ATTR_PATTERN.matcher(contents);
+                if (!matcher.find()) {
+                    throw new AddOnPluginException(
+                            "Required xml:lang attribute not found in helpset element.");
+                }
+                String updatedContents =
+                        contents.substring(0, matcher.start(3))
+                                + language
+                                + contents.substring(matcher.end(3));
+                Files.writeString(helpSetFile, updatedContents, StandardCharsets.ISO_8859_1);
+            } catch (IOException e) {
+                throw new AddOnPluginException(
+                        "Failed to change xml:lang attribute:" + e.getMessage(), e);
+            }
         }
 
-        Node langAttribute = attributes.getNamedItem("xml:lang");
-        if (langAttribute == null) {
-            throw new AddOnPluginException(
-                    "Required xml:lang attribute not found in helpset element.");
+        private static String readLangAttribute(Path helpSetFile) {
+            try (InputStream inputStream =
+                    new BufferedInputStream(Files.newInputStream(helpSetFile))) {
+                XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+                try {
+                    while (reader.hasNext()) {
+                        if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                            return readLangAttribute(reader);
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            } catch (XMLStreamException | IOException e) {
+                throw new AddOnPluginException(
+                        "Failed to parse HelpSet file: " + e.getMessage(), e);
+            }
+            throw new AddOnPluginException("Failed to get helpset element.");
         }
 
-        langAttribute.setNodeValue(language);
-
-        DOMImplementationLS domImpLS =
-                (DOMImplementationLS) doc.getImplementation().getFeature("LS", "3.0");
-        try (OutputStream outputStream = Files.newOutputStream(helpSetFile)) {
-            LSOutput lsOutput = domImpLS.createLSOutput();
-            lsOutput.setByteStream(outputStream);
-            domImpLS.createLSSerializer().write(doc, lsOutput);
-        } catch (IOException e) {
-            throw new AddOnPluginException(
-                    "Failed to change xml:lang attribute:" + e.getMessage(), e);
+        private static String readLangAttribute(XMLStreamReader reader) {
+            if (!"helpset".equals(reader.getLocalName())) {
+                throw new AddOnPluginException(
+                        "Failed to get helpset element, found: " + reader.getLocalName());
+            }
+            String lang = reader.getAttributeValue(XMLConstants.XML_NS_URI, "lang");
+            if (lang == null) {
+                throw new AddOnPluginException(
+                        "Required xml:lang attribute not found in helpset element.");
+            }
+            return lang;
         }
     }
 }
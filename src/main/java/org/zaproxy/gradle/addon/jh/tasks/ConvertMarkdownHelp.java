@@ -0,0 +1,308 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.jh.tasks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.inject.Inject;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileType;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+import org.zaproxy.gradle.addon.AddOnPluginException;
+import org.zaproxy.gradle.addon.internal.Constants;
+import org.zaproxy.gradle.addon.internal.MarkdownService;
+
+/**
+ * A task that converts help pages written in markdown to the HTML pages of JavaHelp.
+ *
+ * <p>The source directory has the same layout as the JavaHelp directory, the markdown files
+ * ({@code .md}) are converted to HTML files and the other files (e.g. helpsets, images) are copied
+ * as is. For each helpset directory, the {@code map.jhm} and {@code toc.xml} files are generated
+ * from the pages, if not provided. The map IDs are the map ID prefix followed by the path of the
+ * page, relative to the {@code contents} directory, and the TOC text is the first heading of the
+ * page.
+ *
+ * <p>The task is incremental, only the changed files are converted or copied.
+ */
+@CacheableTask
+public abstract class ConvertMarkdownHelp extends DefaultTask {
+
+    private static final String MARKDOWN_EXTENSION = ".md";
+    private static final String HTML_EXTENSION = ".html";
+    private static final String CONTENTS_DIR = "contents/";
+    private static final String MAP_FILE = "map.jhm";
+    private static final String TOC_FILE = "toc.xml";
+
+    public ConvertMarkdownHelp() {
+        Provider<MarkdownService> markdownService = MarkdownService.register(getProject());
+        getMarkdownService().convention(markdownService);
+        usesService(markdownService);
+
+        setDescription("Converts the markdown help pages to JavaHelp.");
+    }
+
+    @Inject
+    protected abstract FileSystemOperations getFs();
+
+    @Incremental
+    @InputDirectory
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getSource();
+
+    @Input
+    public abstract Property<String> getMapIdPrefix();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @Internal
+    public abstract Property<MarkdownService> getMarkdownService();
+
+    @TaskAction
+    void convert(InputChanges inputChanges) throws IOException {
+        Path sourceDir = getSource().getAsFile().get().toPath();
+        Path outputDir = getOutputDir().getAsFile().get().toPath();
+        if (!inputChanges.isIncremental()) {
+            getFs().delete(spec -> spec.delete(outputDir.toFile()));
+            Files.createDirectories(outputDir);
+        }
+
+        Map<Path, String> titles = new HashMap<>();
+        for (FileChange change : inputChanges.getFileChanges(getSource())) {
+            if (change.getFileType() == FileType.DIRECTORY) {
+                continue;
+            }
+            String path = change.getNormalizedPath();
+            boolean markdown = path.endsWith(MARKDOWN_EXTENSION);
+            Path target = outputDir.resolve(markdown ? toHtmlPath(path) : path);
+            if (change.getChangeType() == ChangeType.REMOVED) {
+                Files.deleteIfExists(target);
+                continue;
+            }
+
+            Files.createDirectories(target.getParent());
+            if (markdown) {
+                Path file = change.getFile().toPath();
+                titles.put(file.toAbsolutePath(), convertPage(file, target));
+            } else {
+                Files.copy(
+                        change.getFile().toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        for (Path helpsetDir : findHelpsetDirs(sourceDir)) {
+            generateMapAndToc(
+                    sourceDir.resolve(helpsetDir),
+                    outputDir.resolve(helpsetDir),
+                    helpsetDir,
+                    titles);
+        }
+    }
+
+    private static String toHtmlPath(String path) {
+        return path.substring(0, path.length() - MARKDOWN_EXTENSION.length()) + HTML_EXTENSION;
+    }
+
+    private String convertPage(Path markdownFile, Path htmlFile) throws IOException {
+        String markdown = Files.readString(markdownFile);
+        String title = extractTitle(markdownFile, markdown);
+        try (Writer writer = Files.newBufferedWriter(htmlFile, StandardCharsets.UTF_8)) {
+            writer.write("<!DOCTYPE HTML PUBLIC \"-//W3C//DTD HTML 3.2 Final//EN\">\n");
+            writer.write("<HTML>\n<HEAD>\n");
+            writer.write(
+                    "<META HTTP-EQUIV=\"Content-Type\" CONTENT=\"text/html; charset=utf-8\">\n");
+            writer.write("<TITLE>" + escape(title) + "</TITLE>\n");
+            writer.write("</HEAD>\n<BODY>\n");
+            getMarkdownService().get().toHtml(markdown, writer);
+            writer.write("</BODY>\n</HTML>\n");
+        }
+        return title;
+    }
+
+    private static List<Path> findHelpsetDirs(Path sourceDir) throws IOException {
+        try (Stream<Path> stream = Files.walk(sourceDir)) {
+            return stream.filter(
+                            file ->
+                                    file.getFileName()
+                                            .toString()
+                                            .endsWith(Constants.HELPSET_FILE_EXTENSION))
+                    .map(file -> sourceDir.relativize(file.getParent()))
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private void generateMapAndToc(
+            Path sourceHelpsetDir,
+            Path outputHelpsetDir,
+            Path helpsetDir,
+            Map<Path, String> titles)
+            throws IOException {
+        boolean generateMap = !Files.exists(sourceHelpsetDir.resolve(MAP_FILE));
+        boolean generateToc = !Files.exists(sourceHelpsetDir.resolve(TOC_FILE));
+        if (!generateMap && !generateToc) {
+            return;
+        }
+
+        List<Page> pages = findPages(sourceHelpsetDir, titles);
+        if (pages.isEmpty()) {
+            if (generateMap) {
+                Files.deleteIfExists(outputHelpsetDir.resolve(MAP_FILE));
+            }
+            if (generateToc) {
+                Files.deleteIfExists(outputHelpsetDir.resolve(TOC_FILE));
+            }
+            return;
+        }
+
+        if (generateMap) {
+            StringBuilder map = new StringBuilder(200 + pages.size() * 80);
+            map.append("<?xml version='1.0' encoding='UTF-8' ?>\n")
+                    .append("<!DOCTYPE map\n")
+                    .append("  PUBLIC ")
+                    .append("\"-//Sun Microsystems Inc.//DTD JavaHelp Map Version 1.0//EN\"\n")
+                    .append("         \"http://java.sun.com/products/javahelp/map_1_0.dtd\">\n")
+                    .append("<map version=\"1.0\">\n");
+            for (Page page : pages) {
+                map.append("  <mapID target=\"")
+                        .append(escape(page.mapId))
+                        .append("\" url=\"")
+                        .append(escape(page.url))
+                        .append("\" />\n");
+            }
+            map.append("</map>\n");
+            writeIfChanged(outputHelpsetDir.resolve(MAP_FILE), map.toString());
+        }
+
+        if (generateToc) {
+            StringBuilder toc = new StringBuilder(300 + pages.size() * 80);
+            toc.append("<?xml version='1.0' encoding='UTF-8' ?>\n")
+                    .append("<!DOCTYPE toc\n")
+                    .append("  PUBLIC ")
+                    .append("\"-//Sun Microsystems Inc.//DTD JavaHelp TOC Version 2.0//EN\"\n")
+                    .append("         \"http://java.sun.com/products/javahelp/toc_2_0.dtd\">\n")
+                    .append("<toc version=\"2.0\">\n")
+                    .append("  <tocitem text=\"ZAP User Guide\" tocid=\"toplevelitem\">\n")
+                    .append("    <tocitem text=\"Add Ons\" tocid=\"addons\">\n");
+            for (Page page : pages) {
+                toc.append("      <tocitem text=\"")
+                        .append(escape(page.title))
+                        .append("\" target=\"")
+                        .append(escape(page.mapId))
+                        .append("\"/>\n");
+            }
+            toc.append("    </tocitem>\n").append("  </tocitem>\n").append("</toc>\n");
+            writeIfChanged(outputHelpsetDir.resolve(TOC_FILE), toc.toString());
+        }
+
+        getLogger().info("Generated map/TOC with {} pages for {}", pages.size(), helpsetDir);
+    }
+
+    private List<Page> findPages(Path helpsetDir, Map<Path, String> titles) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(helpsetDir)) {
+            files =
+                    stream.filter(file -> file.toString().endsWith(MARKDOWN_EXTENSION))
+                            .sorted()
+                            .collect(Collectors.toList());
+        }
+
+        List<Page> pages = new ArrayList<>(files.size());
+        for (Path file : files) {
+            String url = toHtmlPath(helpsetDir.relativize(file).toString().replace('\\', '/'));
+            String id = url.startsWith(CONTENTS_DIR) ? url.substring(CONTENTS_DIR.length()) : url;
+            id = id.substring(0, id.length() - HTML_EXTENSION.length()).replace('/', '.');
+            String title = titles.get(file.toAbsolutePath());
+            if (title == null) {
+                title = extractTitle(file, Files.readString(file));
+            }
+            pages.add(new Page(getMapIdPrefix().get() + "." + id, url, title));
+        }
+        return pages;
+    }
+
+    private static String extractTitle(Path markdownFile, String markdown) {
+        for (String line : markdown.lines().toList()) {
+            if (line.startsWith("# ")) {
+                return line.substring(2).trim();
+            }
+        }
+        String name = markdownFile.getFileName().toString();
+        return name.substring(0, name.length() - MARKDOWN_EXTENSION.length());
+    }
+
+    private static void writeIfChanged(Path file, String contents) throws IOException {
+        if (Files.exists(file) && contents.equals(Files.readString(file))) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, contents);
+        } catch (IOException e) {
+            throw new AddOnPluginException("Failed to write: " + file, e);
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+
+    private static class Page {
+
+        private final String mapId;
+        private final String url;
+        private final String title;
+
+        Page(String mapId, String url, String title) {
+            this.mapId = mapId;
+            this.url = url;
+            this.title = title;
+        }
+    }
+}
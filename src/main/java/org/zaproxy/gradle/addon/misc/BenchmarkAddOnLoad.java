@@ -0,0 +1,368 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
+import org.zaproxy.clientapi.core.ClientApi;
+import org.zaproxy.clientapi.core.ClientApiException;
+import org.zaproxy.gradle.addon.AddOnPluginException;
+
+/**
+ * A task that benchmarks the load of the add-on in ZAP.
+ *
+ * <p>Starts ZAP (in daemon mode, using the given classpath) several times with and without the
+ * add-on installed, alternating between the two, and measures the time until the ZAP API is ready
+ * and the heap used after load. The results are written to a JSON report, with the percentiles of
+ * each measurement.
+ *
+ * <p>The heap is read through JMX, after requesting a garbage collection, as the ZAP API does not
+ * expose it.
+ */
+public class BenchmarkAddOnLoad extends ZapApiTask {
+
+    private static final String ZAP_MAIN_CLASS = "org.zaproxy.zap.ZAP";
+    private static final String PLUGIN_DIR = "plugin";
+    private static final String JMX_URL = "service:jmx:rmi:///jndi/rmi://%s:%d/jmxrmi";
+    private static final long API_POLL_INTERVAL_MS = 250;
+    private static final long PROCESS_DESTROY_TIMEOUT_S = 10;
+    private static final int[] PERCENTILES = {50, 90, 95, 99};
+
+    private final ConfigurableFileCollection classpath;
+    private final RegularFileProperty addOn;
+    private final Property<Integer> runs;
+    private final Property<Integer> startTimeout;
+    private final ListProperty<String> jvmArgs;
+    private final ListProperty<String> zapArgs;
+    private final RegularFileProperty report;
+
+    public BenchmarkAddOnLoad() {
+        ObjectFactory objects = getProject().getObjects();
+        classpath = objects.fileCollection();
+        addOn = objects.fileProperty();
+        runs = objects.property(Integer.class).value(5);
+        startTimeout = objects.property(Integer.class).value(120);
+        jvmArgs = objects.listProperty(String.class);
+        zapArgs = objects.listProperty(String.class);
+        report = objects.fileProperty();
+
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @Inject
+    protected FileSystemOperations getFs() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Classpath
+    public ConfigurableFileCollection getClasspath() {
+        return classpath;
+    }
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public RegularFileProperty getAddOn() {
+        return addOn;
+    }
+
+    @Input
+    public Property<Integer> getRuns() {
+        return runs;
+    }
+
+    @Option(option = "runs", description = "The number of times ZAP is started for each case.")
+    public void optionRuns(String value) {
+        runs.set(Integer.valueOf(value));
+    }
+
+    /**
+     * Gets the time, in seconds, to wait for the ZAP API to be ready, in each run.
+     *
+     * @return the property with the start timeout.
+     */
+    @Input
+    public Property<Integer> getStartTimeout() {
+        return startTimeout;
+    }
+
+    @Input
+    public ListProperty<String> getJvmArgs() {
+        return jvmArgs;
+    }
+
+    @Input
+    public ListProperty<String> getZapArgs() {
+        return zapArgs;
+    }
+
+    @OutputFile
+    public RegularFileProperty getReport() {
+        return report;
+    }
+
+    @TaskAction
+    public void benchmark() throws IOException {
+        int count = runs.get();
+        if (count <= 0) {
+            throw new IllegalArgumentException(
+                    "The number of runs must be greater than zero: " + count);
+        }
+
+        Path homeDir = getTemporaryDir().toPath().resolve("home");
+        List<Measurement> withoutAddOn = new ArrayList<>(count);
+        List<Measurement> withAddOn = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            getLogger().lifecycle("Run {} of {}", i, count);
+            withoutAddOn.add(run(homeDir, false));
+            withAddOn.add(run(homeDir, true));
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("addOn", addOn.get().getAsFile().getName());
+        results.put("runs", count);
+        results.put("withoutAddOn", summarise(withoutAddOn));
+        results.put("withAddOn", summarise(withAddOn));
+
+        File reportFile = report.get().getAsFile();
+        Files.createDirectories(reportFile.toPath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, results);
+    }
+
+    private Measurement run(Path homeDir, boolean installAddOn) {
+        getFs().delete(spec -> spec.delete(homeDir));
+        if (installAddOn) {
+            getFs().copy(
+                            spec -> {
+                                spec.from(addOn);
+                                spec.into(homeDir.resolve(PLUGIN_DIR));
+                            });
+        }
+
+        String address = getAddress().get();
+        int jmxPort = findFreePort();
+        long start = System.nanoTime();
+        Process zap = startZap(homeDir, jmxPort);
+        try {
+            ClientApi client = createClient();
+            waitForApi(client, zap, start + TimeUnit.SECONDS.toNanos(startTimeout.get()));
+            long timeToApiReady = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long heapUsed = readHeapUsed(address, jmxPort);
+
+            try {
+                client.core.shutdown();
+            } catch (ClientApiException e) {
+                throw new AddOnPluginException("Failed to shutdown ZAP: " + e.getMessage(), e);
+            }
+            if (!zap.waitFor(startTimeout.get(), TimeUnit.SECONDS)) {
+                throw new AddOnPluginException("ZAP did not terminate as expected.");
+            }
+
+            return new Measurement(timeToApiReady, heapUsed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AddOnPluginException("Interrupted while running ZAP.", e);
+        } finally {
+            // Always stop ZAP, otherwise it would keep the API port for the next runs.
+            destroy(zap);
+        }
+    }
+
+    private Process startZap(Path homeDir, int jmxPort) {
+        String address = getAddress().get();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs.get());
+        command.addAll(
+                Arrays.asList(
+                        "-Dcom.sun.management.jmxremote.port=" + jmxPort,
+                        "-Dcom.sun.management.jmxremote.host=" + address,
+                        "-Dcom.sun.management.jmxremote.authenticate=false",
+                        "-Dcom.sun.management.jmxremote.ssl=false",
+                        "-cp",
+                        classpath.getAsPath(),
+                        ZAP_MAIN_CLASS,
+                        "-daemon",
+                        "-silent",
+                        "-host",
+                        address,
+                        "-port",
+                        String.valueOf(getPort().get()),
+                        "-dir",
+                        homeDir.toString()));
+        if (getApiKey().isPresent()) {
+            command.addAll(Arrays.asList("-config", "api.key=" + getApiKey().get()));
+        } else {
+            command.addAll(Arrays.asList("-config", "api.disablekey=true"));
+        }
+        command.addAll(zapArgs.get());
+
+        try {
+            return new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+        } catch (IOException e) {
+            throw new AddOnPluginException("Failed to start ZAP: " + e.getMessage(), e);
+        }
+    }
+
+    private void destroy(Process zap) {
+        if (!zap.isAlive()) {
+            return;
+        }
+        zap.descendants().forEach(ProcessHandle::destroyForcibly);
+        zap.destroy();
+        try {
+            if (!zap.waitFor(PROCESS_DESTROY_TIMEOUT_S, TimeUnit.SECONDS)) {
+                zap.destroyForcibly().waitFor(PROCESS_DESTROY_TIMEOUT_S, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            zap.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        if (zap.isAlive()) {
+            getLogger().warn("Failed to stop ZAP, process {} still running.", zap.pid());
+        }
+    }
+
+    private static void waitForApi(ClientApi client, Process zap, long deadline)
+            throws InterruptedException {
+        while (true) {
+            if (!zap.isAlive()) {
+                throw new AddOnPluginException(
+                        "ZAP terminated before the API was ready, exit value: "
+                                + zap.exitValue());
+            }
+            try {
+                client.core.version();
+                return;
+            } catch (ClientApiException e) {
+                // Not ready yet.
+            }
+            if (System.nanoTime() > deadline) {
+                throw new AddOnPluginException("Timed out while waiting for the ZAP API.");
+            }
+            Thread.sleep(API_POLL_INTERVAL_MS);
+        }
+    }
+
+    private static long readHeapUsed(String address, int jmxPort) {
+        try (JMXConnector connector =
+                JMXConnectorFactory.connect(
+                        new JMXServiceURL(String.format(JMX_URL, address, jmxPort)))) {
+            MBeanServerConnection connection = connector.getMBeanServerConnection();
+            MemoryMXBean memory =
+                    ManagementFactory.newPlatformMXBeanProxy(
+                            connection, ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+            memory.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        } catch (IOException e) {
+            throw new AddOnPluginException("Failed to read the heap of ZAP: " + e.getMessage(), e);
+        }
+    }
+
+    private static int findFreePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new AddOnPluginException("Failed to find a free port: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> summarise(List<Measurement> measurements) {
+        List<Long> times = new ArrayList<>(measurements.size());
+        List<Long> heaps = new ArrayList<>(measurements.size());
+        measurements.forEach(
+                e -> {
+                    times.add(e.timeToApiReady);
+                    heaps.add(e.heapUsed);
+                });
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("timeToApiReadyMs", stats(times));
+        summary.put("heapUsedBytes", stats(heaps));
+        return summary;
+    }
+
+    private static Map<String, Object> stats(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("min", sorted.get(0));
+        stats.put("max", sorted.get(sorted.size() - 1));
+        stats.put("mean", sorted.stream().mapToLong(Long::longValue).average().orElse(0));
+        for (int percentile : PERCENTILES) {
+            stats.put("p" + percentile, percentile(sorted, percentile));
+        }
+        stats.put("values", values);
+        return stats;
+    }
+
+    /** Nearest-rank percentile of the given sorted values. */
+    private static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+
+    private static class Measurement {
+
+        private final long timeToApiReady;
+        private final long heapUsed;
+
+        Measurement(long timeToApiReady, long heapUsed) {
+            this.timeToApiReady = timeToApiReady;
+            this.heapUsed = heapUsed;
+        }
+    }
+}
@@ -19,69 +19,139 @@
  */
 package org.zaproxy.gradle.addon.misc;
 
-import com.vladsch.flexmark.ext.gfm.strikethrough.StrikethroughSubscriptExtension;
-import com.vladsch.flexmark.ext.gfm.tasklist.TaskListExtension;
-import com.vladsch.flexmark.ext.tables.TablesExtension;
-import com.vladsch.flexmark.html.HtmlRenderer;
-import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.data.MutableDataSet;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Files;
-import java.util.Arrays;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.addon.internal.MarkdownService;
 
-/** A task that converts markdown to HTML. */
+/**
+ * A task that converts markdown to HTML.
+ *
+ * <p>Converts the {@link #getMarkdown() markdown file} and/or all the {@link #getConversions()
+ * conversions}, for example, the latest changes of several add-ons. The markdown file and the
+ * {@link #getHtml() HTML file} must be set together, and are required if there are no conversions.
+ */
+@CacheableTask
 public class ConvertMarkdownToHtml extends DefaultTask {
 
     private final RegularFileProperty markdown;
     private final RegularFileProperty html;
+    private final ListProperty<Conversion> conversions;
+    private final Property<MarkdownService> markdownService;
 
     public ConvertMarkdownToHtml() {
         ObjectFactory objects = getProject().getObjects();
         markdown = objects.fileProperty();
         html = objects.fileProperty();
+        conversions = objects.listProperty(Conversion.class);
+        Provider<MarkdownService> service = MarkdownService.register(getProject());
+        markdownService = objects.property(MarkdownService.class).value(service);
+        usesService(service);
     }
 
     @InputFile
+    @Optional
     @PathSensitive(PathSensitivity.NONE)
     public RegularFileProperty getMarkdown() {
         return markdown;
     }
 
     @OutputFile
+    @Optional
     public RegularFileProperty getHtml() {
         return html;
     }
 
+    @Nested
+    public ListProperty<Conversion> getConversions() {
+        return conversions;
+    }
+
+    /**
+     * Adds a conversion of the given markdown file to the given HTML file.
+     *
+     * @param markdown the markdown file, as accepted by {@code Project.file(Object)}.
+     * @param html the HTML file, as accepted by {@code Project.file(Object)}.
+     */
+    public void addConversion(Object markdown, Object html) {
+        Conversion conversion = getProject().getObjects().newInstance(Conversion.class);
+        conversion.getMarkdown().set(getProject().file(markdown));
+        conversion.getHtml().set(getProject().file(html));
+        conversions.add(conversion);
+    }
+
+    @Internal
+    public Property<MarkdownService> getMarkdownService() {
+        return markdownService;
+    }
+
     @TaskAction
     public void convert() throws IOException {
-        MutableDataSet options =
-                new MutableDataSet()
-                        .set(TablesExtension.COLUMN_SPANS, false)
-                        .set(TablesExtension.APPEND_MISSING_COLUMNS, true)
-                        .set(TablesExtension.DISCARD_EXTRA_COLUMNS, true)
-                        .set(TablesExtension.HEADER_SEPARATOR_COLUMN_MATCH, true)
-                        .set(
-                                Parser.EXTENSIONS,
-                                Arrays.asList(
-                                        StrikethroughSubscriptExtension.create(),
-                                        TablesExtension.create(),
-                                        TaskListExtension.create()));
-
-        Parser parser = Parser.builder(options).build();
-        HtmlRenderer renderer = HtmlRenderer.builder(options).build();
-
-        String changes = Files.readString(markdown.get().getAsFile().toPath());
-        try (Writer writer = Files.newBufferedWriter(html.get().getAsFile().toPath())) {
-            renderer.render(parser.parse(changes), writer);
+        validateFile();
+
+        if (markdown.isPresent()) {
+            convertFile(markdown.get().getAsFile().toPath(), html.get().getAsFile().toPath());
         }
+        for (Conversion conversion : conversions.get()) {
+            convertFile(
+                    conversion.getMarkdown().get().getAsFile().toPath(),
+                    conversion.getHtml().get().getAsFile().toPath());
+        }
+    }
+
+    private void validateFile() {
+        if (markdown.isPresent() == html.isPresent()
+                && (markdown.isPresent() || !conversions.get().isEmpty())) {
+            return;
+        }
+
+        List<String> missing = new ArrayList<>(2);
+        if (!markdown.isPresent()) {
+            missing.add("'markdown'");
+        }
+        if (!html.isPresent()) {
+            missing.add("'html'");
+        }
+        throw new InvalidUserDataException(
+                "The properties 'markdown' and 'html' must be set together, or conversions added, missing: "
+                        + String.join(", ", missing));
+    }
+
+    private void convertFile(Path markdownFile, Path htmlFile) throws IOException {
+        String contents = Files.readString(markdownFile);
+        Files.createDirectories(htmlFile.getParent());
+        try (Writer writer = Files.newBufferedWriter(htmlFile)) {
+            markdownService.get().toHtml(contents, writer);
+        }
+    }
+
+    /** A conversion of a markdown file to an HTML file. */
+    public abstract static class Conversion {
+
+        @InputFile
+        @PathSensitive(PathSensitivity.NONE)
+        public abstract RegularFileProperty getMarkdown();
+
+        @OutputFile
+        public abstract RegularFileProperty getHtml();
     }
 }
@@ -0,0 +1,251 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import javax.inject.Inject;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.OutputFiles;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.options.Option;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+import org.zaproxy.gradle.addon.AddOnPluginException;
+import org.zaproxy.gradle.addon.internal.AddOnVariants;
+import org.zaproxy.gradle.addon.internal.Constants;
+import org.zaproxy.gradle.addon.internal.FileContents;
+import org.zaproxy.gradle.addon.internal.model.AddOnInfo;
+
+/**
+ * A task to copy the add-ons of a multi-project build to a directory, in parallel.
+ *
+ * <p>Defaults to {@code $rootDir/../zaproxy/zap/src/main/dist/plugin/}.
+ *
+ * <p>As with {@link CopyAddOn}, existing add-ons with the same ID are removed from the destination
+ * directory. Add-ons already present with the same contents are not copied again and, optionally,
+ * the add-ons are hard linked instead of copied, when supported by the file system.
+ *
+ * <p>The add-ons of the projects declared in the configuration {@value
+ * AddOnVariants#DEPENDENCIES_CONFIGURATION_NAME} are automatically added to the tasks of this type,
+ * usually registered in the root project.
+ *
+ * @see AddOnVariants
+ */
+public abstract class CopyAddOns extends DefaultTask {
+
+    private static final String DEFAULT_DIR_PATH = "../zaproxy/zap/src/main/dist/plugin/";
+
+    private final FileCollection copiedAddOns;
+
+    public CopyAddOns() {
+        getDestinationDir().set(new File(getProject().getRootDir(), DEFAULT_DIR_PATH));
+        getHardLink().convention(false);
+        copiedAddOns = getProject().files((Callable<List<File>>) this::getCopiedAddOnFiles);
+
+        Project project = getProject();
+        AddOnVariants.eachAddOn(project, path -> getAddOns().add(AddOn.from(project, path)));
+
+        setGroup("ZAP Add-On Misc");
+        setDescription(
+                "Copies the add-ons to zaproxy project (defaults to \"$rootDir/"
+                        + DEFAULT_DIR_PATH
+                        + "\").");
+    }
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @Nested
+    public abstract ListProperty<AddOn> getAddOns();
+
+    @Internal
+    public abstract DirectoryProperty getDestinationDir();
+
+    @Option(option = "into", description = "The file system path to the directory.")
+    public void optionInto(String dir) {
+        getDestinationDir().set(getProject().file(dir));
+    }
+
+    @Input
+    public abstract Property<Boolean> getHardLink();
+
+    @Option(
+            option = "hard-link",
+            description = "If the add-ons should be hard linked, when possible. Default: false.")
+    public void optionHardLink(String value) {
+        getHardLink().set(Boolean.valueOf(value));
+    }
+
+    @OutputFiles
+    protected FileCollection getCopiedAddOns() {
+        return copiedAddOns;
+    }
+
+    @TaskAction
+    void copy() {
+        List<AddOn> addOns = getAddOns().get();
+        Set<String> ids = new HashSet<>();
+        for (AddOn addOn : addOns) {
+            if (!ids.add(addOn.getAddOnId().get())) {
+                throw new AddOnPluginException(
+                        "More than one add-on with the same ID to copy: "
+                                + addOn.getAddOnId().get());
+            }
+        }
+
+        Path destDir = getDestinationDir().getAsFile().get().toPath();
+        try {
+            Files.createDirectories(destDir);
+        } catch (IOException e) {
+            throw new AddOnPluginException(
+                    "Failed to create the destination directory: " + destDir, e);
+        }
+
+        WorkQueue workQueue = getWorkerExecutor().noIsolation();
+        for (AddOn addOn : addOns) {
+            workQueue.submit(
+                    CopyAddOnAction.class,
+                    params -> {
+                        params.getAddOnId().set(addOn.getAddOnId());
+                        params.getAddOn().set(addOn.getFile());
+                        params.getDestinationDir().set(destDir.toFile());
+                        params.getHardLink().set(getHardLink());
+                    });
+        }
+    }
+
+    private List<File> getCopiedAddOnFiles() {
+        File destDir = getDestinationDir().getAsFile().get();
+        List<File> files = new ArrayList<>();
+        for (AddOn addOn : getAddOns().get()) {
+            files.add(new File(destDir, addOn.getFile().getAsFile().get().getName()));
+        }
+        return files;
+    }
+
+    /** An add-on to copy. */
+    public abstract static class AddOn {
+
+        @Input
+        public abstract Property<String> getAddOnId();
+
+        @InputFile
+        @PathSensitive(PathSensitivity.NAME_ONLY)
+        public abstract RegularFileProperty getFile();
+
+        /**
+         * Creates an {@code AddOn} with the ID and the file of the add-on of the given project.
+         *
+         * @param project the project that copies the add-ons.
+         * @param projectPath the path of the project of the add-on.
+         * @return the add-on.
+         */
+        public static AddOn from(Project project, String projectPath) {
+            AddOn addOn = project.getObjects().newInstance(AddOn.class);
+            addOn.getAddOnId()
+                    .set(AddOnVariants.info(project, projectPath).map(AddOnInfo::getId));
+            addOn.getFile()
+                    .set(AddOnVariants.file(project, projectPath, AddOnVariants.Artifact.ADD_ON));
+            return addOn;
+        }
+    }
+
+    public interface CopyAddOnParameters extends WorkParameters {
+
+        Property<String> getAddOnId();
+
+        RegularFileProperty getAddOn();
+
+        DirectoryProperty getDestinationDir();
+
+        Property<Boolean> getHardLink();
+    }
+
+    public abstract static class CopyAddOnAction implements WorkAction<CopyAddOnParameters> {
+
+        private static final Logger LOGGER = Logging.getLogger(CopyAddOnAction.class);
+
+        @Override
+        public void execute() {
+            Path addOn = getParameters().getAddOn().getAsFile().get().toPath();
+            Path destDir = getParameters().getDestinationDir().getAsFile().get().toPath();
+            String fileName = addOn.getFileName().toString();
+            Path target = destDir.resolve(fileName);
+
+            try {
+                deleteOtherVersions(destDir, getParameters().getAddOnId().get(), fileName);
+
+                if (FileContents.hasSameContents(addOn, target)) {
+                    LOGGER.info("Add-on {} not changed, skipping.", fileName);
+                    return;
+                }
+
+                Files.deleteIfExists(target);
+                if (getParameters().getHardLink().get() && FileContents.createLink(addOn, target)) {
+                    LOGGER.info("Add-on {} linked.", fileName);
+                    return;
+                }
+                Files.copy(addOn, target, StandardCopyOption.REPLACE_EXISTING);
+                LOGGER.info("Add-on {} copied.", fileName);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to copy the add-on " + fileName, e);
+            }
+        }
+
+        private static void deleteOtherVersions(Path dir, String addOnId, String fileName)
+                throws IOException {
+            String glob = addOnId + "-*." + Constants.ADD_ON_FILE_EXTENSION;
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+                for (Path file : stream) {
+                    if (!fileName.equals(file.getFileName().toString())) {
+                        Files.delete(file);
+                    }
+                }
+            }
+        }
+    }
+}
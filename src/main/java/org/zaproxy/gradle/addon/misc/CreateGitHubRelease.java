@@ -24,6 +24,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.gradle.api.Action;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.InvalidUserDataException;
@@ -33,6 +35,7 @@ import org.gradle.api.Project;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.Internal;
@@ -41,36 +44,56 @@ import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
-import org.kohsuke.github.GHFileNotFoundException;
-import org.kohsuke.github.GHRelease;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
+import org.zaproxy.gradle.addon.internal.GitHubHttpService;
+import org.zaproxy.gradle.addon.internal.GitHubReleases;
 
-/** A task that creates a GitHub release. */
+/**
+ * A task that creates a GitHub release.
+ *
+ * <p>The assets are uploaded concurrently. The task can be re-run after a failure, the draft
+ * release is resumed and the assets already uploaded are not uploaded again.
+ */
 public class CreateGitHubRelease extends DefaultTask {
 
+    private final Property<String> apiUrl;
     private final Property<String> repo;
     private final Property<String> authToken;
     private final Property<String> tag;
     private final Property<String> title;
     private final Property<String> body;
     private final RegularFileProperty bodyFile;
+    private final Property<Integer> maxConcurrentUploads;
+    private final Property<GitHubHttpService> gitHubHttpService;
     private NamedDomainObjectContainer<Asset> assets;
 
     public CreateGitHubRelease() {
         ObjectFactory objects = getProject().getObjects();
+        this.apiUrl = objects.property(String.class).value(GitHubHttpService.DEFAULT_API_URL);
         this.repo = objects.property(String.class);
         this.authToken = objects.property(String.class);
         this.tag = objects.property(String.class);
         this.title = objects.property(String.class);
         this.body = objects.property(String.class);
         this.bodyFile = objects.fileProperty();
+        this.maxConcurrentUploads =
+                objects.property(Integer.class)
+                        .value(GitHubReleases.DEFAULT_MAX_CONCURRENT_UPLOADS);
         this.assets = getProject().container(Asset.class, label -> new Asset(label, getProject()));
 
+        Provider<GitHubHttpService> service = GitHubHttpService.register(getProject());
+        this.gitHubHttpService = objects.property(GitHubHttpService.class).value(service);
+        usesService(service);
+
         setGroup("ZAP Add-On Misc");
         setDescription("Creates a GitHub release.");
     }
 
+    @Input
+    public Property<String> getApiUrl() {
+        return apiUrl;
+    }
+
     @Input
     public Property<String> getRepo() {
         return repo;
@@ -104,6 +127,16 @@ public class CreateGitHubRelease extends DefaultTask {
         return bodyFile;
     }
 
+    @Internal
+    public Property<Integer> getMaxConcurrentUploads() {
+        return maxConcurrentUploads;
+    }
+
+    @Internal
+    public Property<GitHubHttpService> getGitHubHttpService() {
+        return gitHubHttpService;
+    }
+
     @Nested
     @Optional
     public Iterable<Asset> getAssets() {
@@ -124,45 +157,35 @@ public class CreateGitHubRelease extends DefaultTask {
             throw new InvalidUserDataException("Only one type of body property must be set.");
         }
 
-        GHRepository ghRepo = GitHub.connect("", authToken.get()).getRepository(repo.get());
-
-        validateTagExists(ghRepo, tag.get());
-        validateReleaseDoesNotExist(ghRepo, tag.get());
+        GHRepository ghRepo =
+                GitHubReleases.connect(
+                        apiUrl.get(),
+                        "",
+                        authToken.get(),
+                        repo.get(),
+                        gitHubHttpService.get().createConnector("release"));
 
         String releaseBody =
                 getBodyFile().isPresent()
                         ? readContents(getBodyFile().getAsFile().get().toPath())
                         : body.get();
 
-        GHRelease release =
-                ghRepo.createRelease(tag.get())
-                        .name(title.get())
-                        .body(releaseBody)
-                        .draft(true)
-                        .create();
-
-        for (Asset asset : assets) {
-            release.uploadAsset(asset.getFile().getAsFile().get(), asset.getContentType().get());
-        }
-
-        release.update().draft(false).update();
-    }
-
-    private static void validateTagExists(GHRepository repo, String tag) throws IOException {
-        try {
-            repo.getRef("tags/" + tag);
-        } catch (GHFileNotFoundException e) {
-            throw new InvalidUserDataException("Tag does not exist: " + tag, e);
-        }
-    }
-
-    private static void validateReleaseDoesNotExist(GHRepository repo, String tag)
-            throws IOException {
-        GHRelease release = repo.getReleaseByTagName(tag);
-        if (release != null) {
-            throw new InvalidUserDataException(
-                    "Release for tag " + tag + " already exists: " + release.getHtmlUrl());
-        }
+        List<GitHubReleases.Asset> releaseAssets =
+                assets.stream()
+                        .map(
+                                asset ->
+                                        new GitHubReleases.Asset(
+                                                asset.getFile().getAsFile().get(),
+                                                asset.getContentType().get()))
+                        .collect(Collectors.toList());
+
+        GitHubReleases.createRelease(
+                ghRepo,
+                tag.get(),
+                title.get(),
+                releaseBody,
+                releaseAssets,
+                maxConcurrentUploads.get());
     }
 
     private static String readContents(Path file) throws IOException {
@@ -19,13 +19,14 @@
  */
 package org.zaproxy.gradle.addon.misc;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
@@ -34,6 +35,7 @@ import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.addon.internal.model.Changelog;
 
 /**
  * A task that extracts the changes from the latest version (unreleased or not) from a changelog (in
@@ -41,11 +43,6 @@ import org.gradle.api.tasks.TaskAction;
  */
 public class ExtractLatestChangesFromChangelog extends DefaultTask {
 
-    private static final int CHANGELOG_CHUNK_SIZE = 20_000;
-
-    private static final Pattern VERSION_PATTERN = Pattern.compile("(?m)^## \\[?.+]?.*\\R");
-    private static final Pattern VERSION_LINK_PATTERN = Pattern.compile("(?m)^\\[.+]:");
-
     private final RegularFileProperty changelog;
     private final RegularFileProperty latestChanges;
 
@@ -71,48 +68,87 @@ public class ExtractLatestChangesFromChangelog extends DefaultTask {
 
     @TaskAction
     public void extract() throws IOException {
-        try (Writer writer = Files.newBufferedWriter(latestChanges.get().getAsFile().toPath())) {
-            writer.write(getChanges(changelog.get().getAsFile().toPath()).trim());
+        Path changelogPath = changelog.get().getAsFile().toPath();
+        try (BufferedReader reader = Files.newBufferedReader(changelogPath);
+                BufferedWriter writer =
+                        Files.newBufferedWriter(latestChanges.get().getAsFile().toPath())) {
+            if (!extractChangesLatestVersion(reader, writer)) {
+                throw new IllegalArgumentException(
+                        "No version section was found in changelog: " + changelogPath);
+            }
         }
     }
 
-    private String getChanges(Path changelog) throws IOException {
-        return extractChangesLatestVersion(readChunk(changelog));
-    }
+    /**
+     * Extracts the changes of the first version section, reading just until the next version
+     * section or the links.
+     *
+     * <p>The changes are trimmed as they are read, the blank lines and the last line with changes
+     * are kept until known if they are at the end.
+     */
+    private boolean extractChangesLatestVersion(BufferedReader reader, Writer writer)
+            throws IOException {
+        boolean versionFound = false;
+        String pendingLine = null;
+        List<String> pendingBlankLines = new ArrayList<>();
 
-    private static String readChunk(Path changelog) throws IOException {
-        char[] chars = new char[CHANGELOG_CHUNK_SIZE];
-        int n;
-        try (Reader reader = Files.newBufferedReader(changelog)) {
-            n = reader.read(chars);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (Changelog.isVersionSection(line)) {
+                if (versionFound) {
+                    break;
+                }
+                versionFound = true;
+                continue;
+            }
+            if (!versionFound) {
+                continue;
+            }
+            if (Changelog.isLink(line)) {
+                getLogger().debug("Second version not found, using version link.");
+                break;
+            }
+
+            if (line.trim().isEmpty()) {
+                if (pendingLine != null) {
+                    pendingBlankLines.add(line);
+                }
+                continue;
+            }
+
+            if (pendingLine == null) {
+                line = trimStart(line);
+            } else {
+                writer.write(pendingLine);
+                writer.write('\n');
+                for (String blankLine : pendingBlankLines) {
+                    writer.write(blankLine);
+                    writer.write('\n');
+                }
+                pendingBlankLines.clear();
+            }
+            pendingLine = line;
         }
-        if (n == -1) {
-            throw new IOException("Failed to read any characters from: " + changelog);
+
+        if (pendingLine != null) {
+            writer.write(trimEnd(pendingLine));
         }
-        return new String(chars, 0, n);
+        return versionFound;
     }
 
-    private String extractChangesLatestVersion(String contents) {
-        Matcher matcher = VERSION_PATTERN.matcher(contents);
-        if (!matcher.find()) {
-            throw new IllegalArgumentException(
-                    String.format(
-                            "No version matching '%1s' was found in changelog:%n%2s",
-                            VERSION_PATTERN, contents));
+    private static String trimStart(String line) {
+        int i = 0;
+        while (i < line.length() && line.charAt(i) <= ' ') {
+            i++;
         }
-        int changesStart = matcher.end();
-        int changesEnd = contents.length();
-        if (matcher.find()) {
-            changesEnd = matcher.start();
-        } else {
-            getLogger().debug("Second version not found, using version link.");
-            matcher = VERSION_LINK_PATTERN.matcher(contents);
-            if (matcher.find()) {
-                changesEnd = matcher.start();
-            } else {
-                getLogger().debug("Version link not found, defaulting to end of contents.");
-            }
+        return line.substring(i);
+    }
+
+    private static String trimEnd(String line) {
+        int i = line.length();
+        while (i > 0 && line.charAt(i - 1) <= ' ') {
+            i--;
         }
-        return contents.substring(changesStart, changesEnd);
+        return line.substring(0, i);
     }
 }
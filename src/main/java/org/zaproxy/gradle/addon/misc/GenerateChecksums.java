@@ -0,0 +1,133 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import javax.inject.Inject;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.addon.internal.ChecksumService;
+
+/**
+ * A task that generates the checksums of the add-on.
+ *
+ * <p>The checksums of all the algorithms are computed with a single read of the add-on and are
+ * written into sidecar files, one per algorithm (e.g. {@code addon-alpha-1.zap.sha256}), in the
+ * format of {@code sha256sum}, and into a JSON index (e.g. {@code addon-alpha-1.zap.json}), with
+ * the name, the size, and the checksums of the add-on.
+ *
+ * @see GenerateChecksumsIndex
+ */
+@CacheableTask
+public abstract class GenerateChecksums extends DefaultTask {
+
+    private static final String INDEX_EXTENSION = ".json";
+
+    public GenerateChecksums() {
+        Provider<ChecksumService> checksumService = ChecksumService.register(getProject());
+        getChecksumService().convention(checksumService);
+        usesService(checksumService);
+
+        getAlgorithms().convention(Arrays.asList("SHA-256", "SHA-512"));
+
+        setGroup("ZAP Add-On Misc");
+        setDescription("Generates the checksums of the add-on.");
+    }
+
+    @Inject
+    protected abstract FileSystemOperations getFs();
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract RegularFileProperty getAddOn();
+
+    @Input
+    public abstract ListProperty<String> getAlgorithms();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @Internal
+    public abstract Property<ChecksumService> getChecksumService();
+
+    /**
+     * Gets the JSON index with the checksums of the add-on.
+     *
+     * @return the provider of the index.
+     */
+    @Internal
+    public Provider<RegularFile> getIndex() {
+        return getOutputDir()
+                .zip(
+                        getAddOn(),
+                        (dir, addOn) -> dir.file(addOn.getAsFile().getName() + INDEX_EXTENSION));
+    }
+
+    @TaskAction
+    void generate() throws IOException {
+        Path addOn = getAddOn().getAsFile().get().toPath();
+        String fileName = addOn.getFileName().toString();
+        Map<String, String> checksums =
+                getChecksumService().get().checksums(addOn, getAlgorithms().get());
+
+        Path outputDir = getOutputDir().getAsFile().get().toPath();
+        getFs().delete(spec -> spec.delete(outputDir.toFile()));
+        Files.createDirectories(outputDir);
+
+        for (Map.Entry<String, String> entry : checksums.entrySet()) {
+            Files.writeString(
+                    outputDir.resolve(fileName + "." + toExtension(entry.getKey())),
+                    entry.getValue() + "  " + fileName + "\n");
+        }
+
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("file", fileName);
+        index.put("size", Files.size(addOn));
+        index.put("checksums", checksums);
+        new ObjectMapper()
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(outputDir.resolve(fileName + INDEX_EXTENSION).toFile(), index);
+    }
+
+    private static String toExtension(String algorithm) {
+        return algorithm.replace("-", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.addon.internal.AddOnVariants;
+
+/**
+ * A task that generates a JSON index with the checksums of all the add-ons of a multi-project
+ * build, from the indexes generated by {@link GenerateChecksums}.
+ *
+ * <p>The add-ons of the projects declared in the configuration {@value
+ * AddOnVariants#DEPENDENCIES_CONFIGURATION_NAME} are automatically added to the tasks of this type,
+ * usually registered in the root project.
+ *
+ * @see AddOnVariants
+ */
+@CacheableTask
+public abstract class GenerateChecksumsIndex extends DefaultTask {
+
+    public GenerateChecksumsIndex() {
+        getChecksums()
+                .from(AddOnVariants.files(getProject(), AddOnVariants.Artifact.CHECKSUMS));
+
+        getIndex()
+                .convention(
+                        getProject()
+                                .getLayout()
+                                .getBuildDirectory()
+                                .file("zapAddOn/checksums.json"));
+
+        setGroup("ZAP Add-On Misc");
+        setDescription("Generates the index with the checksums of all add-ons.");
+    }
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract ConfigurableFileCollection getChecksums();
+
+    @OutputFile
+    public abstract RegularFileProperty getIndex();
+
+    @TaskAction
+    void generate() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> addOns = new ArrayList<>();
+        for (File file : getChecksums().getFiles()) {
+            addOns.add(mapper.readTree(file));
+        }
+        addOns.sort(Comparator.comparing(e -> e.path("file").asText()));
+
+        ObjectNode index = mapper.createObjectNode();
+        ArrayNode addOnsNode = index.putArray("addons");
+        addOns.forEach(addOnsNode::add);
+
+        Path indexFile = getIndex().getAsFile().get().toPath();
+        Files.createDirectories(indexFile.getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(indexFile.toFile(), index);
+    }
+}
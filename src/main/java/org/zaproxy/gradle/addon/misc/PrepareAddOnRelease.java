@@ -19,26 +19,27 @@
  */
 package org.zaproxy.gradle.addon.misc;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
+import org.zaproxy.gradle.addon.internal.ChangelogService;
+import org.zaproxy.gradle.addon.internal.model.Changelog;
+import org.zaproxy.gradle.addon.internal.model.Changelog.VersionSection;
 
 /**
  * A task that prepares the release of an add-on.
@@ -48,23 +49,17 @@ import org.gradle.api.tasks.TaskAction;
  * <p>The release link can have tokens to refer to current and previous versions, which are replaced
  * when adding the link.
  */
-public class PrepareAddOnRelease extends DefaultTask {
+public abstract class PrepareAddOnRelease extends DefaultTask {
 
     public static final String CURRENT_VERSION_TOKEN = "@CURRENT_VERSION@";
     public static final String PREVIOUS_VERSION_TOKEN = "@PREVIOUS_VERSION@";
 
-    private static final Pattern UNRELEASED_VERSION_PATTERN =
-            Pattern.compile("^## \\[?Unreleased]?");
-    private static final Pattern VERSION_SECTION_PATTERN = Pattern.compile("^## \\[?(.+?)]? -");
-    private static final Pattern VERSION_LINK_PATTERN = Pattern.compile("^\\[.+]:");
-
     private final Property<String> currentVersion;
     private final Property<String> currentVersionToken;
     private final Property<String> previousVersionToken;
     private final Property<String> releaseLink;
     private final Property<String> releaseDate;
     private final RegularFileProperty changelog;
-    private String previousVersion;
 
     public PrepareAddOnRelease() {
         ObjectFactory objects = getProject().getObjects();
@@ -74,6 +69,9 @@ public class PrepareAddOnRelease extends DefaultTask {
         this.releaseLink = objects.property(String.class);
         this.releaseDate = objects.property(String.class).value(LocalDate.now().toString());
         this.changelog = objects.fileProperty();
+        Provider<ChangelogService> changelogService = ChangelogService.register(getProject());
+        getChangelogService().convention(changelogService);
+        usesService(changelogService);
 
         setGroup("ZAP Add-On Misc");
         setDescription("Prepares the release of the add-on.");
@@ -110,68 +108,48 @@ public class PrepareAddOnRelease extends DefaultTask {
         return changelog;
     }
 
+    @Internal
+    public abstract Property<ChangelogService> getChangelogService();
+
     @TaskAction
     public void prepare() throws IOException {
         Path changelogPath = changelog.getAsFile().get().toPath();
-        Path updatedChangelog =
-                getTemporaryDir().toPath().resolve("updated-" + changelogPath.getFileName());
-
-        boolean replaceUnreleased = true;
-
-        try (BufferedReader reader = Files.newBufferedReader(changelogPath);
-                BufferedWriter writer = Files.newBufferedWriter(updatedChangelog)) {
-            boolean lastLineEmpty = false;
-            boolean insertLink = true;
-            boolean extractPreviousVersion = releaseLink.get().contains(previousVersionToken.get());
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (extractPreviousVersion) {
-                    Matcher version = VERSION_SECTION_PATTERN.matcher(line);
-                    if (version.find()) {
-                        previousVersion = version.group(1).trim();
-                        extractPreviousVersion = false;
-                    }
-                }
-                if (insertLink && VERSION_LINK_PATTERN.matcher(line).find()) {
-                    if (line.startsWith("[Unreleased]:")) {
-                        line = buildReleaseLink();
-                    } else {
-                        writeReleaseLink(writer);
-                    }
-                    insertLink = false;
-                } else if (replaceUnreleased && UNRELEASED_VERSION_PATTERN.matcher(line).find()) {
-                    line = "## [" + currentVersion.get() + "] - " + releaseDate.get();
-                    replaceUnreleased = false;
-                }
-                writer.write(line);
-                writer.write("\n");
-                lastLineEmpty = line.isEmpty();
-            }
-
-            if (insertLink) {
-                if (!lastLineEmpty) {
-                    writer.write("\n");
-                }
-                writeReleaseLink(writer);
-            }
-        }
+        Changelog parsedChangelog = getChangelogService().get().parse(changelogPath);
 
-        if (replaceUnreleased) {
+        VersionSection unreleased = parsedChangelog.getUnreleasedSection();
+        if (unreleased == null) {
             throw new InvalidUserDataException("Changelog does not have the unreleased section.");
         }
 
-        Files.copy(updatedChangelog, changelogPath, StandardCopyOption.REPLACE_EXISTING);
-    }
+        VersionSection released = parsedChangelog.getLatestReleasedSection();
+        String link = buildReleaseLink(released != null ? released.getVersion() : null);
+
+        List<String> lines = new ArrayList<>(parsedChangelog.getLines());
+        lines.set(
+                unreleased.getStart(), "## [" + currentVersion.get() + "] - " + releaseDate.get());
+        int linksStart = parsedChangelog.getLinksStart();
+        if (linksStart == -1) {
+            if (!lines.isEmpty() && !lines.get(lines.size() - 1).isEmpty()) {
+                lines.add("");
+            }
+            lines.add(link);
+        } else if (lines.get(linksStart).startsWith("[Unreleased]:")) {
+            lines.set(linksStart, link);
+        } else {
+            lines.add(linksStart, link);
+        }
 
-    private String buildReleaseLink() {
-        return "[" + currentVersion.get() + "]: " + replaceVersionTokens(releaseLink.get());
+        Files.writeString(changelogPath, Changelog.toText(lines));
     }
 
-    private void writeReleaseLink(Writer writer) throws IOException {
-        writer.write(buildReleaseLink() + "\n");
+    private String buildReleaseLink(String previousVersion) {
+        return "["
+                + currentVersion.get()
+                + "]: "
+                + replaceVersionTokens(releaseLink.get(), previousVersion);
     }
 
-    private String replaceVersionTokens(String link) {
+    private String replaceVersionTokens(String link, String previousVersion) {
         String replacedLink = link.replace(currentVersionToken.get(), currentVersion.get());
         if (link.contains(previousVersionToken.get())) {
             if (previousVersion == null) {
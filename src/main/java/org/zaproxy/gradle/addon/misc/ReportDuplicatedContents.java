@@ -0,0 +1,153 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * A task that reports the entries of the add-on with the same contents.
+ *
+ * <p>The entries are grouped by the SHA-256 of the contents and the groups are ordered by the
+ * bytes that would be saved if the contents were stored just once, written into a Markdown
+ * report.
+ */
+@CacheableTask
+public abstract class ReportDuplicatedContents extends DefaultTask {
+
+    public ReportDuplicatedContents() {
+        setGroup("ZAP Add-On Misc");
+        setDescription("Reports the entries of the add-on with the same contents.");
+    }
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NAME_ONLY)
+    public abstract RegularFileProperty getAddOn();
+
+    @OutputFile
+    public abstract RegularFileProperty getReport();
+
+    @TaskAction
+    void report() throws IOException {
+        Path addOn = getAddOn().getAsFile().get().toPath();
+        List<List<ZipEntry>> duplicates = findDuplicates(addOn);
+
+        long saving = 0;
+        long compressedSaving = 0;
+        for (List<ZipEntry> entries : duplicates) {
+            saving += wasted(entries, ZipEntry::getSize);
+            compressedSaving += wasted(entries, ZipEntry::getCompressedSize);
+        }
+
+        Path report = getReport().getAsFile().get().toPath();
+        Files.createDirectories(report.getParent());
+        try (Writer writer = Files.newBufferedWriter(report)) {
+            writer.write("# Duplicated Contents\n\n");
+            writer.write("Add-on: " + addOn.getFileName() + "\n\n");
+            if (duplicates.isEmpty()) {
+                writer.write("No duplicated contents.\n");
+                return;
+            }
+
+            writer.write(
+                    duplicates.size()
+                            + " contents stored more than once, "
+                            + saving
+                            + " bytes ("
+                            + compressedSaving
+                            + " compressed) would be saved storing them once.\n");
+            for (List<ZipEntry> entries : duplicates) {
+                writer.write(
+                        "\n## "
+                                + entries.size()
+                                + " entries with "
+                                + entries.get(0).getSize()
+                                + " bytes\n\n");
+                for (ZipEntry entry : entries) {
+                    writer.write("- " + entry.getName() + "\n");
+                }
+            }
+        }
+        getLogger()
+                .lifecycle(
+                        "{} contents stored more than once, {} bytes would be saved.",
+                        duplicates.size(),
+                        saving);
+    }
+
+    private static List<List<ZipEntry>> findDuplicates(Path addOn) throws IOException {
+        Map<String, List<ZipEntry>> entriesByHash = new LinkedHashMap<>();
+        try (ZipFile zip = new ZipFile(addOn.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory() || entry.getSize() == 0) {
+                    continue;
+                }
+                String hash;
+                try (InputStream is = zip.getInputStream(entry)) {
+                    hash = DigestUtils.sha256Hex(is);
+                }
+                entriesByHash.computeIfAbsent(hash, k -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        List<List<ZipEntry>> duplicates = new ArrayList<>();
+        for (List<ZipEntry> entries : entriesByHash.values()) {
+            if (entries.size() > 1) {
+                duplicates.add(entries);
+            }
+        }
+        duplicates.sort(
+                Comparator.comparingLong((List<ZipEntry> e) -> wasted(e, ZipEntry::getSize))
+                        .reversed()
+                        .thenComparing(e -> e.get(0).getName()));
+        return duplicates;
+    }
+
+    private static long wasted(List<ZipEntry> entries, ToLongFunction<ZipEntry> size) {
+        long total = 0;
+        for (int i = 1; i < entries.size(); i++) {
+            total += size.applyAsLong(entries.get(i));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Zed Attack Proxy (ZAP) and its related class files.
+ *
+ * ZAP is an HTTP/HTTPS proxy for assessing web application security.
+ *
+ * Copyright 2026 The ZAP Development Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.zaproxy.gradle.addon.misc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+import org.zaproxy.gradle.addon.internal.AddOnVariants;
+import org.zaproxy.gradle.addon.internal.ChangelogService;
+import org.zaproxy.gradle.addon.internal.model.AddOnInfo;
+import org.zaproxy.gradle.addon.internal.model.Changelog;
+import org.zaproxy.gradle.addon.internal.model.Changelog.VersionSection;
+
+/**
+ * A task that reports the unreleased changes of the add-ons of a multi-project build.
+ *
+ * <p>The changelogs are read in parallel and the changes of each add-on are written into a single
+ * Markdown report, ordered by add-on ID.
+ *
+ * <p>The add-ons of the projects declared in the configuration {@value
+ * AddOnVariants#DEPENDENCIES_CONFIGURATION_NAME} are automatically added to the tasks of this type,
+ * usually registered in the root project.
+ *
+ * @see AddOnVariants
+ */
+public abstract class ReportUnreleasedChanges extends DefaultTask {
+
+    public ReportUnreleasedChanges() {
+        Provider<ChangelogService> changelogService = ChangelogService.register(getProject());
+        getChangelogService().convention(changelogService);
+        usesService(changelogService);
+
+        Project project = getProject();
+        AddOnVariants.eachAddOn(
+                project, path -> getChangelogs().add(AddOnChangelog.from(project, path)));
+
+        getReport()
+                .convention(
+                        getProject()
+                                .getLayout()
+                                .getBuildDirectory()
+                                .file("reports/zapAddOn/unreleased-changes.md"));
+
+        setGroup("ZAP Add-On Misc");
+        setDescription("Reports the unreleased changes of all add-ons.");
+    }
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @Nested
+    public abstract ListProperty<AddOnChangelog> getChangelogs();
+
+    @Internal
+    public abstract Property<ChangelogService> getChangelogService();
+
+    @OutputFile
+    public abstract RegularFileProperty getReport();
+
+    @TaskAction
+    void report() throws IOException {
+        List<AddOnChangelog> changelogs =
+                getChangelogs().get().stream()
+                        .sorted(Comparator.comparing(e -> e.getAddOnId().get()))
+                        .collect(Collectors.toList());
+
+        Path changesDir = getTemporaryDir().toPath();
+        WorkQueue workQueue = getWorkerExecutor().noIsolation();
+        for (AddOnChangelog changelog : changelogs) {
+            workQueue.submit(
+                    ExtractUnreleasedChanges.class,
+                    params -> {
+                        params.getChangelog().set(changelog.getChangelog());
+                        params.getChangelogService().set(getChangelogService());
+                        params.getChanges()
+                                .set(changesDir.resolve(changelog.getAddOnId().get()).toFile());
+                    });
+        }
+        workQueue.await();
+
+        Path report = getReport().getAsFile().get().toPath();
+        Files.createDirectories(report.getParent());
+        try (Writer writer = Files.newBufferedWriter(report)) {
+            writer.write("# Unreleased Changes\n");
+            for (AddOnChangelog changelog : changelogs) {
+                String addOnId = changelog.getAddOnId().get();
+                String changes = Files.readString(changesDir.resolve(addOnId));
+                writer.write("\n## " + addOnId + "\n");
+                writer.write(changes.isEmpty() ? "No unreleased changes.\n" : changes + "\n");
+            }
+        }
+    }
+
+    /** The changelog of an add-on. */
+    public abstract static class AddOnChangelog {
+
+        @Input
+        public abstract Property<String> getAddOnId();
+
+        @InputFile
+        @Optional
+        @PathSensitive(PathSensitivity.NONE)
+        public abstract RegularFileProperty getChangelog();
+
+        /**
+         * Creates an {@code AddOnChangelog} with the ID and the changelog of the add-on of the
+         * given project.
+         *
+         * <p>The changelog is not set if the file does not exist.
+         *
+         * @param project the project that reports the changes.
+         * @param projectPath the path of the project of the add-on.
+         * @return the changelog of the add-on.
+         */
+        public static AddOnChangelog from(Project project, String projectPath) {
+            AddOnChangelog changelog = project.getObjects().newInstance(AddOnChangelog.class);
+            changelog
+                    .getAddOnId()
+                    .set(AddOnVariants.info(project, projectPath).map(AddOnInfo::getId));
+            changelog
+                    .getChangelog()
+                    .set(
+                            AddOnVariants.file(
+                                            project,
+                                            projectPath,
+                                            AddOnVariants.Artifact.CHANGELOG)
+                                    .filter(file -> file.getAsFile().isFile()));
+            return changelog;
+        }
+    }
+
+    public interface ExtractUnreleasedChangesParameters extends WorkParameters {
+
+        RegularFileProperty getChangelog();
+
+        Property<ChangelogService> getChangelogService();
+
+        RegularFileProperty getChanges();
+    }
+
+    public abstract static class ExtractUnreleasedChanges
+            implements WorkAction<ExtractUnreleasedChangesParameters> {
+
+        @Override
+        public void execute() {
+            ExtractUnreleasedChangesParameters params = getParameters();
+            try {
+                Files.writeString(params.getChanges().getAsFile().get().toPath(), extract());
+            } catch (IOException e) {
+                throw new UncheckedIOException(
+                        "Failed to extract the unreleased changes of "
+                                + params.getChangelog().getAsFile().getOrNull(),
+                        e);
+            }
+        }
+
+        private String extract() throws IOException {
+            if (!getParameters().getChangelog().isPresent()) {
+                return "";
+            }
+            Changelog changelog =
+                    getParameters()
+                            .getChangelogService()
+                            .get()
+                            .parse(getParameters().getChangelog().getAsFile().get().toPath());
+            VersionSection unreleased = changelog.getUnreleasedSection();
+            if (unreleased == null) {
+                return "";
+            }
+            return changelog
+                    .getText(unreleased.getStart() + 1, unreleased.getChangesEnd())
+                    .trim();
+        }
+    }
+}
@@ -19,14 +19,19 @@
  */
 package org.zaproxy.gradle.addon.misc;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
@@ -35,12 +40,16 @@ import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.options.Option;
+import org.zaproxy.gradle.addon.internal.ChangelogService;
+import org.zaproxy.gradle.addon.internal.model.Changelog;
+import org.zaproxy.gradle.addon.internal.model.Changelog.VersionSection;
 
-/** A task that updates the latest version of the changelog with a change. */
-public class UpdateChangelog extends DefaultTask {
+/** A task that updates the latest version of the changelog with one or more changes. */
+public abstract class UpdateChangelog extends DefaultTask {
 
     public enum ChangeType {
         ADDED,
@@ -59,18 +68,11 @@ public class UpdateChangelog extends DefaultTask {
         }
     }
 
-    private enum ParseState {
-        FIND_VERSION,
-        CONSUME_VERSION,
-        WRITE
-    }
-
-    private static final Pattern VERSION_SECTION_PATTERN = Pattern.compile("^##[^#]");
-
     private final RegularFileProperty changelog;
     private final Property<ChangeType> changeType;
     private final Property<String> change;
     private final Property<Boolean> duplicate;
+    private final RegularFileProperty changesFile;
 
     public UpdateChangelog() {
         ObjectFactory objects = getProject().getObjects();
@@ -78,9 +80,13 @@ public class UpdateChangelog extends DefaultTask {
         this.changeType = objects.property(ChangeType.class).convention(ChangeType.CHANGED);
         this.change = objects.property(String.class);
         this.duplicate = objects.property(Boolean.class).convention(Boolean.FALSE);
+        this.changesFile = objects.fileProperty();
+        Provider<ChangelogService> changelogService = ChangelogService.register(getProject());
+        getChangelogService().convention(changelogService);
+        usesService(changelogService);
 
         setGroup("ZAP Add-On Misc");
-        setDescription("Updates the latest version of the changelog with a change.");
+        setDescription("Updates the latest version of the changelog with one or more changes.");
     }
 
     @Option(option = "changelog", description = "The path to the changelog file.")
@@ -97,13 +103,7 @@ public class UpdateChangelog extends DefaultTask {
             option = "change-type",
             description = "The type of change (case-insensitive), e.g. Added, Changed, Removed...")
     public void optionChangeType(String type) {
-        try {
-            changeType.set(ChangeType.valueOf(type.toUpperCase(Locale.ROOT)));
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(
-                    "The specified change type is not in the supported set: "
-                            + Arrays.toString(ChangeType.values()));
-        }
+        changeType.set(parseChangeType(type));
     }
 
     @Internal
@@ -133,89 +133,176 @@ public class UpdateChangelog extends DefaultTask {
         return duplicate;
     }
 
+    @Option(option = "changes-file", description = "The path to a JSON file with the changes.")
+    public void optionChangesFile(String path) {
+        changesFile.set(getProject().file(path));
+    }
+
+    /**
+     * Gets the file with the changes to add, in batch.
+     *
+     * <p>The file contains a JSON array of objects with the {@code change} and, optionally, the
+     * {@code type}, which defaults to {@link #getChangeType()}. For example:
+     *
+     * <pre>{@code
+     * [
+     *   {"type": "added", "change": "- Scan rule A."},
+     *   {"change": "- Update dependency B."}
+     * ]
+     * }</pre>
+     *
+     * @return the property that holds the file.
+     */
+    @Internal
+    public RegularFileProperty getChangesFile() {
+        return changesFile;
+    }
+
+    @Internal
+    public abstract Property<ChangelogService> getChangelogService();
+
     @TaskAction
     public void update() throws IOException {
+        List<ChangeEntry> entries = readEntries();
+
         Path changelogPath = changelog.getAsFile().get().toPath();
-        Path updatedChangelog = updateChangelog(changelogPath);
-
-        Files.copy(updatedChangelog, changelogPath, StandardCopyOption.REPLACE_EXISTING);
-    }
-
-    private Path updateChangelog(Path changelogPath) throws IOException {
-        Path updatedChangelog =
-                getTemporaryDir().toPath().resolve("updated-" + changelogPath.getFileName());
-
-        try (BufferedReader reader = Files.newBufferedReader(changelogPath);
-                BufferedWriter writer = Files.newBufferedWriter(updatedChangelog)) {
-
-            ParseState parseState = ParseState.FIND_VERSION;
-            StringBuilder versionContents = new StringBuilder();
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                switch (parseState) {
-                    case FIND_VERSION:
-                        writer.append(line).append('\n');
-                        if (isVersionStart(line)) {
-                            parseState = ParseState.CONSUME_VERSION;
-                        }
-                        break;
-                    case CONSUME_VERSION:
-                        if (isVersionStart(line)) {
-                            writer.write(addChange(versionContents));
-                            writer.append(line).append('\n');
-                            parseState = ParseState.WRITE;
-                        } else {
-                            versionContents.append(line).append('\n');
-                        }
-                        break;
-                    case WRITE:
-                    default:
-                        writer.append(line).append('\n');
-                }
-            }
+        Changelog parsedChangelog = getChangelogService().get().parse(changelogPath);
 
-            switch (parseState) {
-                case FIND_VERSION:
-                    throw new InvalidUserDataException(
-                            "Changelog does not have a version section.");
-                case CONSUME_VERSION:
-                    writer.write(addChange(versionContents));
-                    break;
-                default:
-            }
+        List<VersionSection> sections = parsedChangelog.getVersionSections();
+        if (sections.isEmpty()) {
+            throw new InvalidUserDataException("Changelog does not have a version section.");
         }
+        VersionSection section = sections.get(0);
+        int lineCount = parsedChangelog.getLines().size();
+
+        String versionContents = parsedChangelog.getText(section.getStart() + 1, section.getEnd());
+        String updatedVersionContents = addChanges(versionContents, entries);
+        if (updatedVersionContents == null) {
+            getLogger().lifecycle("All the changes are already present in the changelog.");
+            return;
+        }
+
+        String updatedChangelog =
+                parsedChangelog.getText(0, section.getStart() + 1)
+                        + updatedVersionContents
+                        + parsedChangelog.getText(section.getEnd(), lineCount);
 
-        return updatedChangelog;
+        Files.writeString(changelogPath, updatedChangelog);
     }
 
-    private static boolean isVersionStart(String line) {
-        return VERSION_SECTION_PATTERN.matcher(line).find();
+    private List<ChangeEntry> readEntries() throws IOException {
+        List<ChangeEntry> entries = new ArrayList<>();
+        if (changesFile.isPresent()) {
+            Path file = changesFile.getAsFile().get().toPath();
+            JsonNode root = new ObjectMapper().readTree(file.toFile());
+            if (root == null || !root.isArray()) {
+                throw new InvalidUserDataException(
+                        "The changes file does not contain a JSON array: " + file);
+            }
+            for (JsonNode node : root) {
+                JsonNode entryChange = node.get("change");
+                if (entryChange == null || !entryChange.isTextual()) {
+                    throw new InvalidUserDataException(
+                            "The changes file contains an entry without the change: " + node);
+                }
+                JsonNode entryType = node.get("type");
+                entries.add(
+                        new ChangeEntry(
+                                entryType != null
+                                        ? parseChangeType(entryType.asText())
+                                        : changeType.get(),
+                                entryChange.asText()));
+            }
+        }
+        if (change.isPresent() || !changesFile.isPresent()) {
+            entries.add(new ChangeEntry(changeType.get(), change.get()));
+        }
+        return entries;
     }
 
-    private String addChange(StringBuilder versionContents) {
-        String normalisedChange = change.get().replaceAll("\r?\n", "\n") + '\n';
-        if (!isDuplicate()) {
-            String contents = versionContents.toString();
-            if (contents.contains(normalisedChange)) {
-                return contents;
+    /**
+     * Adds the changes to the contents of the version, in a single pass.
+     *
+     * <p>The changes are added at the top of the section of their type, in the order given, the
+     * sections not yet present are added at the top of the version.
+     *
+     * @return the updated contents, or {@code null} if all the changes are duplicated.
+     */
+    private String addChanges(String versionContents, List<ChangeEntry> entries) {
+        Set<String> existingLines = new HashSet<>();
+        versionContents.lines().forEach(existingLines::add);
+
+        Set<String> acceptedChanges = new HashSet<>();
+        Map<ChangeType, StringBuilder> changes = new EnumMap<>(ChangeType.class);
+        for (ChangeEntry entry : entries) {
+            String normalisedChange = entry.change.replaceAll("\r?\n", "\n") + '\n';
+            if (!isDuplicate()
+                    && (acceptedChanges.contains(normalisedChange)
+                            || isPresent(normalisedChange, versionContents, existingLines))) {
+                continue;
             }
+            acceptedChanges.add(normalisedChange);
+            normalisedChange.lines().forEach(existingLines::add);
+            changes.computeIfAbsent(entry.type, k -> new StringBuilder()).append(normalisedChange);
         }
 
-        int insertPosition = 0;
-        Pattern pattern = changeType.get().pattern();
-        Matcher matcher = pattern.matcher(versionContents);
-        if (matcher.find()) {
-            insertPosition = matcher.end();
-        } else {
-            normalisedChange = changeType.get().markdown() + normalisedChange + '\n';
+        if (changes.isEmpty()) {
+            return null;
         }
-        versionContents.insert(insertPosition, normalisedChange);
 
-        return versionContents.toString().trim() + "\n\n";
+        StringBuilder contents = new StringBuilder(versionContents);
+        StringBuilder newSections = new StringBuilder();
+        changes.forEach(
+                (type, typeChanges) -> {
+                    Matcher matcher = type.pattern().matcher(contents);
+                    if (matcher.find()) {
+                        contents.insert(matcher.end(), typeChanges);
+                    } else {
+                        newSections.append(type.markdown()).append(typeChanges).append('\n');
+                    }
+                });
+        contents.insert(0, newSections);
+
+        return contents.toString().trim() + "\n\n";
+    }
+
+    /**
+     * Tells whether or not the change is already present, by checking the hash set of lines for
+     * single line changes, or the contents for multi-line changes.
+     *
+     * <p>The changes accepted in the same run are not in the contents, they are checked apart.
+     */
+    private static boolean isPresent(
+            String normalisedChange, String versionContents, Set<String> existingLines) {
+        String changeLine = normalisedChange.substring(0, normalisedChange.length() - 1);
+        if (changeLine.indexOf('\n') == -1) {
+            return existingLines.contains(changeLine);
+        }
+        return versionContents.contains(normalisedChange);
     }
 
     private boolean isDuplicate() {
         return duplicate.get();
     }
+
+    private static ChangeType parseChangeType(String type) {
+        try {
+            return ChangeType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "The specified change type is not in the supported set: "
+                            + Arrays.toString(ChangeType.values()));
+        }
+    }
+
+    private static class ChangeEntry {
+
+        private final ChangeType type;
+        private final String change;
+
+        ChangeEntry(ChangeType type, String change) {
+            this.type = type;
+            this.change = change;
+        }
+    }
 }